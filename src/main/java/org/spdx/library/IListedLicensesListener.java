@@ -0,0 +1,38 @@
+/**
+ * Copyright (c) 2026 agent
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package org.spdx.library;
+
+/**
+ * Listener notified when the listed license stores held by {@link ListedLicenses} are replaced, either
+ * by a background load of a newer license list or by {@link ListedLicenses#resetListedLicenses()}
+ *
+ * Listeners should invalidate any caches derived from the previous license list.  Listeners are
+ * called on the thread which replaced the stores and should return quickly.
+ *
+ * @author agent
+ *
+ */
+public interface IListedLicensesListener {
+
+	/**
+	 * Called after the listed license stores have been replaced
+	 * @param listedLicenses the listed licenses holding the new stores
+	 * @param previousLicenseListVersion version of the license list which was replaced
+	 */
+	void listedLicensesChanged(ListedLicenses listedLicenses, String previousLicenseListVersion);
+}
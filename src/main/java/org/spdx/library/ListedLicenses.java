@@ -19,15 +19,34 @@ package org.spdx.library;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Properties;
-import java.util.concurrent.locks.ReadWriteLock;
-import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+import javax.annotation.Nullable;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.spdx.Configuration;
 import org.spdx.core.InvalidSPDXAnalysisException;
 import org.spdx.core.SpdxIdNotFoundException;
 import org.spdx.library.model.v2.SpdxConstantsCompatV2;
@@ -38,8 +57,10 @@ import org.spdx.library.model.v3_0_1.expandedlicensing.ListedLicense;
 import org.spdx.library.model.v3_0_1.expandedlicensing.ListedLicenseException;
 import org.spdx.storage.IModelStore;
 import org.spdx.storage.listedlicense.IListedLicenseStore;
+import org.spdx.storage.listedlicense.LicenseListDiff;
 import org.spdx.storage.listedlicense.SpdxListedLicenseLocalStore;
 import org.spdx.storage.listedlicense.SpdxListedLicenseModelStore;
+import org.spdx.storage.listedlicense.SpdxListedLicensePathStore;
 import org.spdx.storage.listedlicense.SpdxListedLicenseWebStore;
 import org.spdx.storage.listedlicense.SpdxV2ListedLicenseModelStore;
 import org.spdx.storage.listedlicense.SpdxV3ListedLicenseModelStore;
@@ -55,17 +76,84 @@ public class ListedLicenses {
 	static final Logger logger = LoggerFactory.getLogger(ListedLicenses.class.getName());
 	private static final String PROPERTIES_DIR = "resources";
 	private static final String LISTED_LICENSE_PROPERTIES_FILENAME = PROPERTIES_DIR + "/" + "licenses.properties";
+	static final String CONFIG_PROPERTY_BACKGROUND_LOAD = "org.spdx.listedLicenseBackgroundLoad";
+	static final String CONFIG_PROPERTY_LISTED_LICENSE_PATH = "org.spdx.listedLicensePath";
+	static final String CONFIG_PROPERTY_LISTED_LICENSE_VERSIONS_PATH = "org.spdx.listedLicenseVersionsPath";
+	static final String CONFIG_PROPERTY_INIT_TIMEOUT_MILLIS = "org.spdx.listedLicenseInitTimeoutMillis";
+	static final String CONFIG_PROPERTY_INIT_RETRY_INTERVAL_SECS = "org.spdx.listedLicenseInitRetryIntervalSecs";
+	static final long DEFAULT_INIT_TIMEOUT_MILLIS = 0;
+	static final long DEFAULT_INIT_RETRY_INTERVAL_SECS = 0;
 
 	Properties licenseProperties;
     boolean onlyUseLocalLicenses;
-	private IListedLicenseStore baseModelStore;
-	private SpdxV2ListedLicenseModelStore licenseStoreV2;
-	private SpdxV3ListedLicenseModelStore licenseStoreV3;
-	private static ListedLicenses listedLicenses = null;
+    boolean backgroundLoad;
+    String listedLicensePath;
+    long initTimeoutMillis;
+    long initRetryIntervalSecs;
+    /**
+     * Set once this instance has been replaced by <code>resetListedLicenses</code> - any pending load of the web store is discarded
+     */
+    private volatile boolean superseded = false;
+	/**
+	 * Current listed license stores - read without locking and replaced as a whole when the stores change
+	 */
+	private volatile Snapshot snapshot;
+	private static volatile ListedLicenses listedLicenses = null;
 	/**
-	 * Lock for any modifications to the underlying licenseModelStore
+	 * Listeners notified when the listed license stores are replaced
 	 */
-	private static final ReadWriteLock listedLicenseModificationLock = new ReentrantReadWriteLock();
+	private static final List<IListedLicensesListener> listeners = new CopyOnWriteArrayList<>();
+	/**
+	 * Listed licenses for specific license list versions keyed by the license list version - these are
+	 * loaded side by side with the default listed licenses and share identical license texts through
+	 * the license text pool
+	 */
+	private static final ConcurrentMap<String, ListedLicenses> versionedListedLicenses = new ConcurrentHashMap<>();
+	/**
+	 * Lock for any modifications to the listed licenses or the snapshot - readers do not lock
+	 */
+	private static final Lock listedLicenseModificationLock = new ReentrantLock();
+	/**
+	 * Lock serializing the creation of the default listed licenses - held while waiting for the web store
+	 * so that <code>listedLicenseModificationLock</code> is only held to publish the new instance
+	 */
+	private static final Lock listedLicenseInitLock = new ReentrantLock();
+	/**
+	 * Daemon executor for loading the web store in the background after the initial load fails or times out - created on first use
+	 */
+	private static volatile ScheduledExecutorService backgroundExecutor = null;
+	
+	/**
+	 * Immutable set of listed license stores and the license list version they were created for
+	 * 
+	 * The snapshot also holds the model objects created for the stores keyed by the requested ID so that a
+	 * single instance is shared for each listed license or exception.  Model objects read and write all property
+	 * values through the store, so a shared instance behaves the same as a new instance - callers should not
+	 * change the strict setting of a shared instance.  The model objects are discarded with the snapshot.
+	 */
+	private static final class Snapshot {
+		final IListedLicenseStore baseModelStore;
+		final SpdxV2ListedLicenseModelStore licenseStoreV2;
+		final SpdxV3ListedLicenseModelStore licenseStoreV3;
+		final String licenseListVersion;
+		final ConcurrentMap<String, ListedLicense> listedLicenses = new ConcurrentHashMap<>();
+		final ConcurrentMap<String, ListedLicenseException> listedExceptions = new ConcurrentHashMap<>();
+		final ConcurrentMap<String, SpdxListedLicense> listedLicensesCompatV2 = new ConcurrentHashMap<>();
+		final ConcurrentMap<String, org.spdx.library.model.v2.license.ListedLicenseException> listedExceptionsCompatV2 = new ConcurrentHashMap<>();
+		
+		Snapshot(IListedLicenseStore baseModelStore) {
+			this(baseModelStore, new SpdxV2ListedLicenseModelStore(baseModelStore), 
+					new SpdxV3ListedLicenseModelStore(baseModelStore));
+		}
+		
+		Snapshot(IListedLicenseStore baseModelStore, SpdxV2ListedLicenseModelStore licenseStoreV2,
+				SpdxV3ListedLicenseModelStore licenseStoreV3) {
+			this.baseModelStore = baseModelStore;
+			this.licenseStoreV2 = licenseStoreV2;
+			this.licenseStoreV3 = licenseStoreV3;
+			this.licenseListVersion = baseModelStore.getLicenseListVersion();
+		}
+	}
 	
 	/**
 	 * This constructor should only be called by the getListedLicenses method
@@ -74,9 +162,45 @@ public class ListedLicenses {
 		licenseProperties = loadLicenseProperties();
 		onlyUseLocalLicenses = Boolean.parseBoolean(
 	            System.getProperty("SPDXParser.OnlyUseLocalLicenses", licenseProperties.getProperty("OnlyUseLocalLicenses", "false")));
+		backgroundLoad = Boolean.parseBoolean(Configuration.getInstance().getProperty(CONFIG_PROPERTY_BACKGROUND_LOAD, "false"));
+		listedLicensePath = Configuration.getInstance().getProperty(CONFIG_PROPERTY_LISTED_LICENSE_PATH);
+		initTimeoutMillis = getLongProperty(CONFIG_PROPERTY_INIT_TIMEOUT_MILLIS, DEFAULT_INIT_TIMEOUT_MILLIS);
+		initRetryIntervalSecs = getLongProperty(CONFIG_PROPERTY_INIT_RETRY_INTERVAL_SECS, DEFAULT_INIT_RETRY_INTERVAL_SECS);
 		initializeLicenseModelStore();
 	}
 	
+	/**
+	 * This constructor should only be called when registering a specific license list version
+	 * @param baseModelStore store for the license list version
+	 */
+	private ListedLicenses(IListedLicenseStore baseModelStore) {
+		licenseProperties = new Properties();
+		onlyUseLocalLicenses = true;
+		backgroundLoad = false;
+		listedLicensePath = null;
+		initTimeoutMillis = DEFAULT_INIT_TIMEOUT_MILLIS;
+		initRetryIntervalSecs = 0;
+		snapshot = new Snapshot(baseModelStore);
+	}
+	
+	/**
+	 * @param propertyName configuration property name
+	 * @param defaultValue value used if the property is not set or is not a valid number
+	 * @return the value of the configuration property
+	 */
+	private static long getLongProperty(String propertyName, long defaultValue) {
+		String value = Configuration.getInstance().getProperty(propertyName);
+		if (Objects.isNull(value)) {
+			return defaultValue;
+		}
+		try {
+			return Long.parseLong(value.trim());
+		} catch(NumberFormatException ex) {
+			logger.warn("Invalid value for "+propertyName+": "+value+" - using default "+defaultValue);
+			return defaultValue;
+		}
+	}
+	
 	/**
 	 * Tries to load properties from LISTED_LICENSE_PROPERTIES_FILENAME, ignoring errors
 	 * encountered during the process (e.g., the properties file doesn't exist, etc.).
@@ -84,7 +208,7 @@ public class ListedLicenses {
 	 * @return a (possibly empty) set of properties
 	 */
     private static Properties loadLicenseProperties() {
-        listedLicenseModificationLock.writeLock().lock();
+        listedLicenseModificationLock.lock();
         try {
             Properties licenseProperties = new Properties();
             InputStream in = null;
@@ -107,61 +231,393 @@ public class ListedLicenses {
             }
             return licenseProperties;
         } finally {
-            listedLicenseModificationLock.writeLock().unlock();
+            listedLicenseModificationLock.unlock();
         }
     }
 	
+    /**
+     * Load the stores for this instance - the web store is loaded without holding <code>listedLicenseModificationLock</code>
+     */
     private void initializeLicenseModelStore() {
-        listedLicenseModificationLock.writeLock().lock();
-        try {
-        	if (!this.onlyUseLocalLicenses) {
-        		try {
-        			baseModelStore = new SpdxListedLicenseWebStore();
-        		} catch(InvalidSPDXAnalysisException ex) {
-        			logger.error("Unable to access the most current listed licenses from https://spdx.org/licenses - using locally cached licenses: "+ex.getMessage());
-        			baseModelStore = null;
-        		}
+        IListedLicenseStore baseModelStore = null;
+        CompletableFuture<IListedLicenseStore> pendingWebStore = null;
+        if (Objects.nonNull(this.listedLicensePath)) {
+        	try {
+        		baseModelStore = new SpdxListedLicensePathStore(Paths.get(this.listedLicensePath));
+        	} catch(InvalidSPDXAnalysisException ex) {
+        		logger.error("Unable to load the listed licenses from "+this.listedLicensePath+" - using locally cached licenses: "+ex.getMessage());
+        		baseModelStore = null;
         	}
-        	if (baseModelStore == null) {
-        		try {
-        			baseModelStore = new SpdxListedLicenseLocalStore();
-        		} catch(InvalidSPDXAnalysisException ex) {
-        			logger.error("Error loading cached SPDX licenses");
-        			throw new RuntimeException("Unexpected error loading SPDX Listed Licenses");
-        		}
+        } else if (!this.onlyUseLocalLicenses && !this.backgroundLoad) {
+        	pendingWebStore = loadWebStoreWithDeadline();
+        	if (Objects.nonNull(pendingWebStore) && pendingWebStore.isDone() && !pendingWebStore.isCompletedExceptionally()) {
+        		baseModelStore = pendingWebStore.join();
+        		pendingWebStore = null;
+        	}
+        }
+        if (baseModelStore == null) {
+        	try {
+        		baseModelStore = new SpdxListedLicenseLocalStore();
+        	} catch(InvalidSPDXAnalysisException ex) {
+        		logger.error("Error loading cached SPDX licenses");
+        		throw new RuntimeException("Unexpected error loading SPDX Listed Licenses");
         	}
-        	licenseStoreV2 = new SpdxV2ListedLicenseModelStore(baseModelStore);
-        	licenseStoreV3 = new SpdxV3ListedLicenseModelStore(baseModelStore);
+        }
+        listedLicenseModificationLock.lock();
+        try {
+        	snapshot = new Snapshot(baseModelStore);
         } finally {
-            listedLicenseModificationLock.writeLock().unlock();
+            listedLicenseModificationLock.unlock();
+        }
+        if (Objects.nonNull(pendingWebStore)) {
+        	// the deadline passed - replace the local stores once the web store is loaded, or retry if the load failed
+        	pendingWebStore.whenCompleteAsync((webStore, loadEx) -> {
+        		if (Objects.isNull(loadEx)) {
+        			replaceWithWebStore(webStore);
+        		} else {
+        			logger.error("Unable to access the most current listed licenses from https://spdx.org/licenses - continuing to use locally cached licenses: "+loadEx.getMessage());
+        			scheduleWebStoreRetry();
+        		}
+        	}, getBackgroundExecutor());
+        }
+        if (!this.onlyUseLocalLicenses && this.backgroundLoad && Objects.isNull(this.listedLicensePath)) {
+        	Thread loader = new Thread(() -> {
+        		if (!loadWebStore()) {
+        			scheduleWebStoreRetry();
+        		}
+        	}, "spdx-listed-license-loader");
+        	loader.setDaemon(true);
+        	loader.start();
         }
 	}
+    
+    /**
+     * Load the listed licenses from the web waiting at most <code>initTimeoutMillis</code>.  If the deadline passes,
+     * the returned future may not yet be complete and the load continues in the background - the caller is responsible
+     * for handling its completion, including a failure.  If the load fails before the deadline, it is retried in the
+     * background every <code>initRetryIntervalSecs</code> seconds.
+     * @return future for the web store or null if the load failed before the deadline
+     */
+    private CompletableFuture<IListedLicenseStore> loadWebStoreWithDeadline() {
+    	CompletableFuture<IListedLicenseStore> webStoreFuture = new CompletableFuture<>();
+    	if (this.initTimeoutMillis <= 0) {
+    		try {
+    			webStoreFuture.complete(new SpdxListedLicenseWebStore());
+    		} catch(InvalidSPDXAnalysisException ex) {
+    			logger.error("Unable to access the most current listed licenses from https://spdx.org/licenses - using locally cached licenses: "+ex.getMessage());
+    			scheduleWebStoreRetry();
+    			return null;
+    		}
+    		return webStoreFuture;
+    	}
+    	Thread loader = new Thread(() -> {
+    		try {
+    			webStoreFuture.complete(new SpdxListedLicenseWebStore());
+    		} catch(Throwable ex) {
+    			webStoreFuture.completeExceptionally(ex);
+    		}
+    	}, "spdx-listed-license-loader");
+    	loader.setDaemon(true);
+    	loader.start();
+    	try {
+    		webStoreFuture.get(this.initTimeoutMillis, TimeUnit.MILLISECONDS);
+    	} catch (TimeoutException ex) {
+    		logger.warn("Timed out after "+this.initTimeoutMillis+" milliseconds accessing the most current listed licenses from https://spdx.org/licenses - using locally cached licenses until loaded");
+    	} catch (ExecutionException ex) {
+    		logger.error("Unable to access the most current listed licenses from https://spdx.org/licenses - using locally cached licenses: "+ex.getCause().getMessage());
+    		scheduleWebStoreRetry();
+    		return null;
+    	} catch (InterruptedException ex) {
+    		Thread.currentThread().interrupt();
+    		logger.warn("Interrupted accessing the most current listed licenses from https://spdx.org/licenses - using locally cached licenses");
+    		webStoreFuture.thenAccept(ListedLicenses::closeStore);
+    		return null;
+    	}
+    	return webStoreFuture;
+    }
+    
+    /**
+     * Load the listed licenses from the web and replace the local stores once loaded
+     * @return true if the web store was loaded
+     */
+    private boolean loadWebStore() {
+    	if (superseded) {
+    		return true;
+    	}
+    	IListedLicenseStore webStore;
+    	try {
+    		webStore = new SpdxListedLicenseWebStore();
+    	} catch(InvalidSPDXAnalysisException ex) {
+    		logger.error("Unable to access the most current listed licenses from https://spdx.org/licenses - continuing to use locally cached licenses: "+ex.getMessage());
+    		return false;
+    	}
+    	replaceWithWebStore(webStore);
+    	return true;
+    }
+    
+    /**
+     * Replace the current stores with the web store unless this instance has been superseded, in which case the web store is closed
+     * @param webStore store for the listed licenses loaded from the web
+     */
+    private void replaceWithWebStore(IListedLicenseStore webStore) {
+    	String previousVersion = null;
+    	boolean replaced = false;
+    	listedLicenseModificationLock.lock();
+    	try {
+    		if (!superseded) {
+    			replaced = true;
+    			previousVersion = snapshot.licenseListVersion;
+    			snapshot = new Snapshot(webStore);
+    		}
+    	} finally {
+    		listedLicenseModificationLock.unlock();
+    	}
+    	if (!replaced) {
+    		// the listed licenses were reset while we were loading - the web store is not used
+    		closeStore(webStore);
+    		return;
+    	}
+    	logger.info("Replaced locally cached listed licenses version "+previousVersion+" with version "+webStore.getLicenseListVersion());
+    	notifyListeners(this, previousVersion);
+    }
+    
+    /**
+     * Retry loading the web store after <code>initRetryIntervalSecs</code> seconds, repeating until it is loaded
+     * or this instance is superseded
+     */
+    private void scheduleWebStoreRetry() {
+    	if (this.initRetryIntervalSecs <= 0 || superseded) {
+    		return;
+    	}
+    	getBackgroundExecutor().schedule(() -> {
+    		if (!loadWebStore()) {
+    			scheduleWebStoreRetry();
+    		}
+    	}, this.initRetryIntervalSecs, TimeUnit.SECONDS);
+    }
+    
+    private static ScheduledExecutorService getBackgroundExecutor() {
+    	ScheduledExecutorService retval = backgroundExecutor;
+    	if (Objects.isNull(retval)) {
+    		listedLicenseModificationLock.lock();
+    		try {
+    			if (Objects.isNull(backgroundExecutor)) {
+    				backgroundExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+    					Thread thread = new Thread(runnable, "spdx-listed-license-background");
+    					thread.setDaemon(true);
+    					return thread;
+    				});
+    			}
+    			retval = backgroundExecutor;
+    		} finally {
+    			listedLicenseModificationLock.unlock();
+    		}
+    	}
+    	return retval;
+    }
+    
+    /**
+     * @param listedLicenses listed licenses holding the new stores
+     * @param previousVersion version of the license list which was replaced
+     */
+    private static void notifyListeners(ListedLicenses listedLicenses, String previousVersion) {
+    	try {
+    		SpdxListedLicenseModelStore.getMetrics().licenseListReplaced(previousVersion, listedLicenses.getLicenseListVersion());
+    	} catch(RuntimeException ex) {
+    		logger.warn("Error reporting listed license metrics", ex);
+    	}
+    	for (IListedLicensesListener listener:listeners) {
+    		try {
+    			listener.listedLicensesChanged(listedLicenses, previousVersion);
+    		} catch(RuntimeException ex) {
+    			logger.warn("Error notifying listed license listener", ex);
+    		}
+    	}
+    }
+    
+    /**
+     * @param listener listener to be notified when the listed license stores are replaced
+     */
+    public static void addListener(IListedLicensesListener listener) {
+    	Objects.requireNonNull(listener, "Listener can not be null");
+    	listeners.add(listener);
+    }
+    
+    /**
+     * @param listener listener to remove
+     * @return true if the listener was registered
+     */
+    public static boolean removeListener(IListedLicensesListener listener) {
+    	return listeners.remove(listener);
+    }
 
 
 
 	public static ListedLicenses getListedLicenses() {
 	    
-	    ListedLicenses retval = null;
-	    listedLicenseModificationLock.readLock().lock();
-	    try {
-	        retval = listedLicenses;
-	    } finally {
-	        listedLicenseModificationLock.readLock().unlock();
-	    }
+	    ListedLicenses retval = listedLicenses;
 	    if (Objects.isNull(retval)) {
-	        listedLicenseModificationLock.writeLock().lock();
+	        listedLicenseInitLock.lock();
 	        try {
 	            if (listedLicenses == null) {
-	                listedLicenses = new ListedLicenses();
+	                ListedLicenses created = new ListedLicenses();
+	                listedLicenseModificationLock.lock();
+	                try {
+	                    listedLicenses = created;
+	                } finally {
+	                    listedLicenseModificationLock.unlock();
+	                }
 	            }
 	            retval = listedLicenses;
 	        } finally {
-	            listedLicenseModificationLock.writeLock().unlock();
+	            listedLicenseInitLock.unlock();
 	        }
 	    }
         return retval;
     }
 	
+	/**
+	 * Get the listed licenses for a specific license list version
+	 * 
+	 * Versions registered with <code>registerLicenseListVersion</code> are returned first, followed by the default
+	 * listed licenses if they are the requested version.  Otherwise, if the <code>org.spdx.listedLicenseVersionsPath</code>
+	 * configuration property is set, a directory or zip file named for the version is loaded from that directory and registered.
+	 * @param licenseListVersion license list version in the form M.N
+	 * @return the listed licenses for the version or null if the version is not available
+	 * @throws InvalidSPDXAnalysisException on errors loading the license list version
+	 */
+	public static @Nullable ListedLicenses getListedLicenses(String licenseListVersion) throws InvalidSPDXAnalysisException {
+		Objects.requireNonNull(licenseListVersion, "License list version can not be null");
+		ListedLicenses retval = versionedListedLicenses.get(licenseListVersion);
+		if (Objects.nonNull(retval)) {
+			return retval;
+		}
+		retval = getListedLicenses();
+		if (licenseListVersion.equals(retval.getLicenseListVersion())) {
+			return retval;
+		}
+		String versionsPath = Configuration.getInstance().getProperty(CONFIG_PROPERTY_LISTED_LICENSE_VERSIONS_PATH);
+		if (Objects.isNull(versionsPath)) {
+			return null;
+		}
+		Path versionPath = findLicenseListVersion(Paths.get(versionsPath), licenseListVersion);
+		if (Objects.isNull(versionPath)) {
+			return null;
+		}
+		// the store is loaded without holding the lock - if another thread registers the version first, its
+		// listed licenses are used and this store is closed
+		IListedLicenseStore store = new SpdxListedLicensePathStore(versionPath);
+		String storeVersion = store.getLicenseListVersion();
+		if (!licenseListVersion.equals(storeVersion)) {
+			closeStore(store);
+			logger.error("License list at "+versionPath+" is version "+storeVersion+" - expected version "+licenseListVersion);
+			throw new InvalidSPDXAnalysisException("License list at "+versionPath+" is version "+storeVersion+
+					" - expected version "+licenseListVersion);
+		}
+		ListedLicenses loaded = new ListedLicenses(store);
+		listedLicenseModificationLock.lock();
+		try {
+			retval = versionedListedLicenses.putIfAbsent(licenseListVersion, loaded);
+		} finally {
+			listedLicenseModificationLock.unlock();
+		}
+		if (Objects.nonNull(retval)) {
+			closeStore(store);
+			return retval;
+		}
+		return loaded;
+	}
+	
+	/**
+	 * @param versionsDir directory containing license list versions
+	 * @param licenseListVersion license list version
+	 * @return a directory or zip file in <code>versionsDir</code> named for the version (e.g. <code>3.24</code>,
+	 * <code>3.24.zip</code> or <code>license-list-data-3.24.zip</code>) or null if none is found
+	 */
+	private static @Nullable Path findLicenseListVersion(Path versionsDir, String licenseListVersion) {
+		if (!Files.isDirectory(versionsDir)) {
+			logger.warn("Listed license versions path "+versionsDir+" is not a directory");
+			return null;
+		}
+		try (DirectoryStream<Path> entries = Files.newDirectoryStream(versionsDir)) {
+			for (Path entry:entries) {
+				String name = entry.getFileName().toString();
+				if (name.endsWith(".zip")) {
+					name = name.substring(0, name.length() - ".zip".length());
+				}
+				if (name.equals(licenseListVersion) || name.endsWith("-" + licenseListVersion)) {
+					return entry;
+				}
+			}
+		} catch (IOException e) {
+			logger.warn("IO Exception reading listed license versions path "+versionsDir+": "+e.getMessage());
+		}
+		return null;
+	}
+	
+	/**
+	 * Register the listed licenses held by a store so that they can be retrieved by their license list version
+	 * 
+	 * Any listed licenses previously registered for the same version are replaced and their store is closed.  Listed
+	 * licenses and model objects already obtained from the replaced store throw <code>InvalidSPDXAnalysisException</code>
+	 * if they need to read license data which has not yet been loaded.
+	 * @param baseModelStore store for the license list version
+	 * @return the listed licenses for the store
+	 */
+	public static ListedLicenses registerLicenseListVersion(IListedLicenseStore baseModelStore) {
+		Objects.requireNonNull(baseModelStore, "Model store can not be null");
+		ListedLicenses retval = new ListedLicenses(baseModelStore);
+		ListedLicenses replaced;
+		listedLicenseModificationLock.lock();
+		try {
+			replaced = versionedListedLicenses.put(retval.getLicenseListVersion(), retval);
+		} finally {
+			listedLicenseModificationLock.unlock();
+		}
+		if (Objects.nonNull(replaced) && replaced.snapshot.baseModelStore != baseModelStore) {
+			closeStore(replaced.snapshot.baseModelStore);
+		}
+		return retval;
+	}
+	
+	/**
+	 * Remove a registered license list version and close its store
+	 * 
+	 * Listed licenses and model objects already obtained for the version throw <code>InvalidSPDXAnalysisException</code>
+	 * if they need to read license data which has not yet been loaded.
+	 * @param licenseListVersion license list version
+	 * @return true if the version was registered
+	 */
+	public static boolean unregisterLicenseListVersion(String licenseListVersion) {
+		ListedLicenses removed;
+		listedLicenseModificationLock.lock();
+		try {
+			removed = versionedListedLicenses.remove(licenseListVersion);
+		} finally {
+			listedLicenseModificationLock.unlock();
+		}
+		if (Objects.isNull(removed)) {
+			return false;
+		}
+		closeStore(removed.snapshot.baseModelStore);
+		return true;
+	}
+	
+	/**
+	 * @return sorted unmodifiable set of the registered license list versions
+	 */
+	public static Set<String> getRegisteredLicenseListVersions() {
+		return Collections.unmodifiableSet(new TreeSet<>(versionedListedLicenses.keySet()));
+	}
+	
+	private static void closeStore(IListedLicenseStore store) {
+		try {
+			store.close();
+		} catch (Exception e) {
+			logger.warn("Error closing listed license store: "+e.getMessage());
+		}
+	}
+	
 	/**
 	 * Resets all of the cached license information and reloads the license IDs
 	 * NOTE: This method should be used with caution, it will negatively impact
@@ -169,22 +625,64 @@ public class ListedLicenses {
 	 * @return
 	 */
     public static ListedLicenses resetListedLicenses() {
-        listedLicenseModificationLock.writeLock().lock();
-        try {
-            listedLicenses = new ListedLicenses();
-            return listedLicenses;
-        } finally {
-            listedLicenseModificationLock.writeLock().unlock();
+    	String previousVersion = null;
+    	ListedLicenses retval;
+    	listedLicenseInitLock.lock();
+    	try {
+    		retval = new ListedLicenses();
+    		listedLicenseModificationLock.lock();
+    		try {
+    			if (Objects.nonNull(listedLicenses)) {
+    				previousVersion = listedLicenses.getLicenseListVersion();
+    				listedLicenses.superseded = true;
+    			}
+    			listedLicenses = retval;
+    		} finally {
+    			listedLicenseModificationLock.unlock();
+    		}
+    	} finally {
+    		listedLicenseInitLock.unlock();
+    	}
+        if (Objects.nonNull(previousVersion)) {
+        	notifyListeners(retval, previousVersion);
         }
+        return retval;
     }
 	
 
+    /**
+     * Update the listed licenses to the license list currently available from the listed license store,
+     * keeping the already read licenses and exceptions which did not change since the license list was loaded.
+     * Listeners are notified if the license list changed.
+     * @return differences between the previously loaded and the current license list
+     * @throws InvalidSPDXAnalysisException on errors reading the license list
+     */
+    public LicenseListDiff updateListedLicenses() throws InvalidSPDXAnalysisException {
+    	Snapshot current = snapshot;
+    	if (!(current.baseModelStore instanceof SpdxListedLicenseModelStore)) {
+    		throw new InvalidSPDXAnalysisException("Listed license store does not support incremental updates");
+    	}
+    	LicenseListDiff retval = ((SpdxListedLicenseModelStore)current.baseModelStore).updateLicenseList();
+    	if (retval.hasChanges()) {
+    		listedLicenseModificationLock.lock();
+    		try {
+    			if (snapshot == current) {
+    				snapshot = new Snapshot(current.baseModelStore, current.licenseStoreV2, current.licenseStoreV3);
+    			}
+    		} finally {
+    			listedLicenseModificationLock.unlock();
+    		}
+    		notifyListeners(this, retval.getPreviousVersion());
+    	}
+    	return retval;
+    }
+
 	/**
 	 * @param licenseId case insensitive
 	 * @return true if the licenseId belongs to an SPDX listed license
 	 */
     public boolean isSpdxListedLicenseId(String licenseId) {
-		return baseModelStore.isSpdxListedLicenseId(SpdxConstantsCompatV2.LISTED_LICENSE_NAMESPACE_PREFIX, licenseId);
+		return snapshot.baseModelStore.isSpdxListedLicenseId(SpdxConstantsCompatV2.LISTED_LICENSE_NAMESPACE_PREFIX, licenseId);
 	}
     
     /**
@@ -192,7 +690,7 @@ public class ListedLicenses {
      * @return true if the exceptionId belongs to an SPDX listed exception
      */
     public boolean isSpdxListedExceptionId(String exceptionId) {
-    	return this.baseModelStore.isSpdxListedExceptionId(SpdxConstantsCompatV2.LISTED_LICENSE_NAMESPACE_PREFIX, exceptionId);
+    	return snapshot.baseModelStore.isSpdxListedExceptionId(SpdxConstantsCompatV2.LISTED_LICENSE_NAMESPACE_PREFIX, exceptionId);
     }
 	
 	/**
@@ -201,13 +699,28 @@ public class ListedLicenses {
 	 * @throws InvalidSPDXAnalysisException
 	 */
 	public SpdxListedLicense getListedLicenseByIdCompatV2(String licenseId) throws InvalidSPDXAnalysisException {
-		try {
-			return (SpdxListedLicense)SpdxModelFactoryCompatV2.getModelObjectV2(this.licenseStoreV2, 
-					SpdxConstantsCompatV2.LISTED_LICENSE_NAMESPACE_PREFIX, licenseId, 
-					SpdxConstantsCompatV2.CLASS_SPDX_LISTED_LICENSE, null, false);
-		} catch (SpdxIdNotFoundException ex) {
+		Snapshot current = snapshot;
+		// flyweights are keyed by the case sensitive ID so that all case variants share one model object
+		Optional<String> caseSensitiveId = current.baseModelStore.listedLicenseIdCaseSensitive(licenseId);
+		if (!caseSensitiveId.isPresent()) {
 			return null;
 		}
+		licenseId = caseSensitiveId.get();
+		SpdxListedLicense retval = current.listedLicensesCompatV2.get(licenseId);
+		if (Objects.isNull(retval)) {
+			try {
+				retval = (SpdxListedLicense)SpdxModelFactoryCompatV2.getModelObjectV2(current.licenseStoreV2, 
+						SpdxConstantsCompatV2.LISTED_LICENSE_NAMESPACE_PREFIX, licenseId, 
+						SpdxConstantsCompatV2.CLASS_SPDX_LISTED_LICENSE, null, false);
+			} catch (SpdxIdNotFoundException ex) {
+				return null;
+			}
+			SpdxListedLicense existing = current.listedLicensesCompatV2.putIfAbsent(licenseId, retval);
+			if (Objects.nonNull(existing)) {
+				retval = existing;
+			}
+		}
+		return retval;
 	}
 	
 	/**
@@ -216,13 +729,28 @@ public class ListedLicenses {
 	 * @throws InvalidSPDXAnalysisException
 	 */
 	public org.spdx.library.model.v2.license.ListedLicenseException getListedExceptionByIdCompatV2(String exceptionId) throws InvalidSPDXAnalysisException {
-		try {
-			return (org.spdx.library.model.v2.license.ListedLicenseException)SpdxModelFactoryCompatV2.getModelObjectV2(
-					this.licenseStoreV2, SpdxConstantsCompatV2.LISTED_LICENSE_NAMESPACE_PREFIX, 
-					exceptionId, SpdxConstantsCompatV2.CLASS_SPDX_LISTED_LICENSE_EXCEPTION, null, false);
-		} catch (SpdxIdNotFoundException ex) {
+		Snapshot current = snapshot;
+		// flyweights are keyed by the case sensitive ID so that all case variants share one model object
+		Optional<String> caseSensitiveId = current.baseModelStore.listedExceptionIdCaseSensitive(exceptionId);
+		if (!caseSensitiveId.isPresent()) {
 			return null;
 		}
+		exceptionId = caseSensitiveId.get();
+		org.spdx.library.model.v2.license.ListedLicenseException retval = current.listedExceptionsCompatV2.get(exceptionId);
+		if (Objects.isNull(retval)) {
+			try {
+				retval = (org.spdx.library.model.v2.license.ListedLicenseException)SpdxModelFactoryCompatV2.getModelObjectV2(
+						current.licenseStoreV2, SpdxConstantsCompatV2.LISTED_LICENSE_NAMESPACE_PREFIX, 
+						exceptionId, SpdxConstantsCompatV2.CLASS_SPDX_LISTED_LICENSE_EXCEPTION, null, false);
+			} catch (SpdxIdNotFoundException ex) {
+				return null;
+			}
+			org.spdx.library.model.v2.license.ListedLicenseException existing = current.listedExceptionsCompatV2.putIfAbsent(exceptionId, retval);
+			if (Objects.nonNull(existing)) {
+				retval = existing;
+			}
+		}
+		return retval;
 	}
 	
 	/**
@@ -231,35 +759,63 @@ public class ListedLicenses {
 	 * @throws InvalidSPDXAnalysisException
 	 */
 	public ListedLicense getListedLicenseById(String licenseId) throws InvalidSPDXAnalysisException {
-		try {
-			return new ListedLicense(this.licenseStoreV3, SpdxListedLicenseModelStore.licenseOrExceptionIdToObjectUri(licenseId), null, 
-					false, SpdxConstantsCompatV2.LISTED_LICENSE_NAMESPACE_PREFIX);
-		} catch (SpdxIdNotFoundException ex) {
+		Snapshot current = snapshot;
+		// flyweights are keyed by the case sensitive ID so that all case variants share one model object
+		Optional<String> caseSensitiveId = current.baseModelStore.listedLicenseIdCaseSensitive(licenseId);
+		if (!caseSensitiveId.isPresent()) {
 			return null;
 		}
-		
+		licenseId = caseSensitiveId.get();
+		ListedLicense retval = current.listedLicenses.get(licenseId);
+		if (Objects.isNull(retval)) {
+			try {
+				retval = new ListedLicense(current.licenseStoreV3, SpdxListedLicenseModelStore.licenseOrExceptionIdToObjectUri(licenseId), null, 
+						false, SpdxConstantsCompatV2.LISTED_LICENSE_NAMESPACE_PREFIX);
+			} catch (SpdxIdNotFoundException ex) {
+				return null;
+			}
+			ListedLicense existing = current.listedLicenses.putIfAbsent(licenseId, retval);
+			if (Objects.nonNull(existing)) {
+				retval = existing;
+			}
+		}
+		return retval;
 	}
 	
+	/**
+	 * @param exceptionId SPDX Listed License Exception ID
+	 * @return SPDX listed license exception or null if the ID is not in the SPDX license list
+	 * @throws InvalidSPDXAnalysisException
+	 */
 	public ListedLicenseException getListedExceptionById(String exceptionId) throws InvalidSPDXAnalysisException {
-		try {
-			return new ListedLicenseException(this.licenseStoreV3, SpdxListedLicenseModelStore.licenseOrExceptionIdToObjectUri(exceptionId), null, 
-					false, SpdxConstantsCompatV2.LISTED_LICENSE_NAMESPACE_PREFIX);
-		} catch (SpdxIdNotFoundException ex) {
+		Snapshot current = snapshot;
+		// flyweights are keyed by the case sensitive ID so that all case variants share one model object
+		Optional<String> caseSensitiveId = current.baseModelStore.listedExceptionIdCaseSensitive(exceptionId);
+		if (!caseSensitiveId.isPresent()) {
 			return null;
 		}
-		
+		exceptionId = caseSensitiveId.get();
+		ListedLicenseException retval = current.listedExceptions.get(exceptionId);
+		if (Objects.isNull(retval)) {
+			try {
+				retval = new ListedLicenseException(current.licenseStoreV3, SpdxListedLicenseModelStore.licenseOrExceptionIdToObjectUri(exceptionId), null, 
+						false, SpdxConstantsCompatV2.LISTED_LICENSE_NAMESPACE_PREFIX);
+			} catch (SpdxIdNotFoundException ex) {
+				return null;
+			}
+			ListedLicenseException existing = current.listedExceptions.putIfAbsent(exceptionId, retval);
+			if (Objects.nonNull(existing)) {
+				retval = existing;
+			}
+		}
+		return retval;
 	}
 	
 	/**
-	 * @return List of all SPDX listed license IDs
+	 * @return unmodifiable list of all SPDX listed license IDs
 	 */
     public List<String> getSpdxListedLicenseIds() {
-        listedLicenseModificationLock.readLock().lock();
-        try {
-            return this.baseModelStore.getSpdxListedLicenseIds();
-        } finally {
-			listedLicenseModificationLock.readLock().unlock();
-        }
+        return snapshot.baseModelStore.getSpdxListedLicenseIds();
     }
     
 	/**
@@ -267,14 +823,14 @@ public class ListedLicenses {
 	 * If no license list is loaded, returns {@link org.spdx.storage.listedlicense.SpdxListedLicenseModelStore#DEFAULT_LICENSE_LIST_VERSION}.
 	 */
 	public String getLicenseListVersion() {
-		return this.baseModelStore.getLicenseListVersion();
+		return snapshot.licenseListVersion;
 	}
 
 	/**
-	 * @return list of SPDX exception IDs
+	 * @return unmodifiable list of SPDX exception IDs
 	 */
 	public List<String> getSpdxListedExceptionIds() {
-		return this.baseModelStore.getSpdxListedExceptionIds();
+		return snapshot.baseModelStore.getSpdxListedExceptionIds();
 	}
 
 	/**
@@ -282,7 +838,7 @@ public class ListedLicenses {
 	 * @return the case sensitive license ID
 	 */
 	public Optional<String> listedLicenseIdCaseSensitive(String licenseId) {
-		return this.baseModelStore.listedLicenseIdCaseSensitive(licenseId);
+		return snapshot.baseModelStore.listedLicenseIdCaseSensitive(licenseId);
 	}
 
 	/**
@@ -290,18 +846,18 @@ public class ListedLicenses {
 	 * @return case sensitive ID
 	 */
 	public Optional<String> listedExceptionIdCaseSensitive(String exceptionId) {
-		return this.baseModelStore.listedExceptionIdCaseSensitive(exceptionId);
+		return snapshot.baseModelStore.listedExceptionIdCaseSensitive(exceptionId);
 	}
 	
 	/**
 	 * @return model store for listed licenses using the version 3 SPDX model
 	 */
 	public IModelStore getLicenseModelStore() {
-		return this.licenseStoreV3;
+		return snapshot.licenseStoreV3;
 	}
 	
 	public IModelStore getLicenseModelStoreCompatV2() {
-		return this.licenseStoreV2;
+		return snapshot.licenseStoreV2;
 	}
 
 	/**
@@ -309,7 +865,7 @@ public class ListedLicenses {
 	 * @throws InvalidSPDXAnalysisException on error inflating the creation info
 	 */
 	public CreationInfo getListedLicenseCreationInfo() throws InvalidSPDXAnalysisException {
-		return licenseStoreV3.getListedLicenseCreationInfo();
+		return snapshot.licenseStoreV3.getListedLicenseCreationInfo();
 	}
 
 }
\ No newline at end of file
@@ -18,6 +18,7 @@
 package org.spdx.storage.listedlicense;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -45,6 +46,41 @@ import org.spdx.storage.PropertyDescriptor;
  */
 public class ExceptionJson {
 
+	static final int LICENSE_EXCEPTION_TEXT = 0;
+	static final int EXCEPTION_TEXT_HTML = 1;
+	static final int NAME = 2;
+	static final int LICENSE_EXCEPTION_ID = 3;
+	static final int LICENSE_EXCEPTION_TEMPLATE = 4;
+	static final int EXAMPLE = 5;
+	static final int IS_DEPRECATED_LICENSE_ID = 6;
+	static final int DEPRECATED_VERSION = 7;
+	static final int COMMENT = 8;
+	static final int SEE_ALSO = 9;
+	static final int LICENSE_XML = 10;
+	static final int OBSOLETED_BY = 11;
+	static final int LIST_VERSION_ADDED = 12;
+	// The following are not implemented in the JSON - they are added so there is no errors when creating V3 object classes
+	static final int EXTERNAL_REF = 13;
+	static final int VERIFIED_USING = 14;
+	static final int EXTENSION = 15;
+	static final int EXTERNAL_IDENTIFIER = 16;
+	static final int CREATED_USING = 17;
+	static final int DESCRIPTION = 18;
+	static final int SUMMARY = 19;
+	
+	/**
+	 * Value (JSON field) names indexed by property ordinal
+	 */
+	static final String[] VALUE_NAMES = new String[] {"licenseExceptionText", "exceptionTextHtml", "name",
+			"licenseExceptionId", "licenseExceptionTemplate", "example", "isDeprecatedLicenseId", "deprecatedVersion",
+			"comment", "seeAlso", "licenseXml", "obsoletedBy", "listVersionAdded", "externalRef", "verifiedUsing",
+			"extension", "externalIdentifier", "createdUsing", "description", "summary"};
+	
+	/**
+	 * Property descriptors mapped to the ordinals used to dispatch property access
+	 */
+	static final PropertyDescriptorTable PROPERTY_TABLE;
+
 	/**
 	 * All property descriptors for Exceptions
 	 */
@@ -101,10 +137,34 @@ public class ExceptionJson {
 		collectionProperties.add(SpdxConstantsV3.PROP_CREATED_USING);
 		descriptorsToValue.put(SpdxConstantsV3.PROP_DESCRIPTION, "description");
 		descriptorsToValue.put(SpdxConstantsV3.PROP_SUMMARY, "summary");
+		List<String> valueNames = Arrays.asList(VALUE_NAMES);
+		Map<PropertyDescriptor, Integer> descriptorsToOrdinal = new HashMap<>();
+		descriptorsToValue.forEach((descriptor, valueName) -> {
+			int ordinal = valueNames.indexOf(valueName);
+			if (ordinal < 0) {
+				// would otherwise be indistinguishable from an unsupported property
+				throw new IllegalStateException("Value name "+valueName+" for "+descriptor+" is missing from the listed exception value names");
+			}
+			descriptorsToOrdinal.put(descriptor, ordinal);
+		});
+		PROPERTY_TABLE = new PropertyDescriptorTable(descriptorsToOrdinal);
 		PROPERTY_DESCRIPTOR_TO_VALUE_NAME = Collections.unmodifiableMap(descriptorsToValue);
 		ALL_PROPERTY_DESCRIPTORS = Collections.unmodifiableList(new ArrayList<>(descriptorsToValue.keySet()));
 		COLLECTION_PROPERTIES = Collections.unmodifiableSet(collectionProperties);
 	}
+	
+	/**
+	 * @param propertyDescriptor property descriptor
+	 * @return the ordinal for the property
+	 * @throws InvalidSpdxPropertyException if the property is not a listed exception property
+	 */
+	private static int requireOrdinal(PropertyDescriptor propertyDescriptor) throws InvalidSpdxPropertyException {
+		int ordinal = PROPERTY_TABLE.ordinalOf(propertyDescriptor);
+		if (ordinal == PropertyDescriptorTable.NOT_FOUND) {
+			throw new InvalidSpdxPropertyException("Invalid property for SPDX listed exception:"+propertyDescriptor.getName());
+		}
+		return ordinal;
+	}
 
 	Boolean isDeprecatedLicenseId;
 	String licenseExceptionText;
@@ -152,80 +212,77 @@ public class ExceptionJson {
 	 * @throws InvalidSpdxPropertyException on invalid property
 	 */
 	public void setPrimativeValue(PropertyDescriptor propertyDescriptor, Object value) throws InvalidSpdxPropertyException {
-		String propertyName = PROPERTY_DESCRIPTOR_TO_VALUE_NAME.get(propertyDescriptor);
-		if (Objects.isNull(propertyName)) {
-			throw new InvalidSpdxPropertyException("Invalid property for SPDX listed exception:"+propertyDescriptor.getName());
-		}
-		switch (propertyName) {
-			case "licenseExceptionText":
+		int ordinal = requireOrdinal(propertyDescriptor);
+		switch (ordinal) {
+			case LICENSE_EXCEPTION_TEXT:
 				if (!(value instanceof String)) {
 					throw new InvalidSpdxPropertyException("Expected string type for "+propertyDescriptor);
 				}
 				licenseExceptionText = (String)value;
 				break;
-			case "name":
+			case NAME:
 				if (!(value instanceof String)) {
 					throw new InvalidSpdxPropertyException("Expected string type for "+propertyDescriptor);
 				}
 				name = (String)value;
 				break;
-			case "seeAlso":throw new InvalidSpdxPropertyException("Expected list type for "+propertyDescriptor);
-			case "licenseExceptionTemplate":
+			case SEE_ALSO:throw new InvalidSpdxPropertyException("Expected list type for "+propertyDescriptor);
+			case LICENSE_EXCEPTION_TEMPLATE:
 				if (!(value instanceof String)) {
 					throw new InvalidSpdxPropertyException("Expected string type for "+propertyDescriptor);
 				}
 				licenseExceptionTemplate = (String)value;
 				break;
-			case "example":
+			case EXAMPLE:
 				if (!(value instanceof String)) {
 					throw new InvalidSpdxPropertyException("Expected string type for "+propertyDescriptor);
 				}
 				example = (String)value;
 				break;
-			case "isDeprecatedLicenseId":
+			case IS_DEPRECATED_LICENSE_ID:
 				if (!(value instanceof Boolean)) {
 				throw new InvalidSpdxPropertyException("Expected Boolean type for "+propertyDescriptor);
 				}
 				isDeprecatedLicenseId = (Boolean)value;
 				break;
-			case "deprecatedVersion":
+			case DEPRECATED_VERSION:
 				if (!(value instanceof String)) {
 					throw new InvalidSpdxPropertyException("Expected string type for "+propertyDescriptor);
 				}
 				deprecatedVersion = (String)value;
 				break;
-			case "comment":
+			case COMMENT:
 				if (!(value instanceof String)) {
 					throw new InvalidSpdxPropertyException("Expected string type for "+propertyDescriptor);
 				}
 				licenseComments = (String)value;
 				comment = (String)value;
 				break;
-			case "licenseExceptionId":
+			case LICENSE_EXCEPTION_ID:
 				if (!(value instanceof String)) {
 					throw new InvalidSpdxPropertyException("Expected string type for "+propertyDescriptor);
 				}
 				licenseExceptionId = (String)value;
 				break;
-			case "exceptionTextHtml":
+			case EXCEPTION_TEXT_HTML:
 				if (!(value instanceof String)) {
 					throw new InvalidSpdxPropertyException("Expected string type for "+propertyDescriptor);
 				}
 				exceptionTextHtml = (String)value;
 				break;
-			case "obsoletedBy":
+			case OBSOLETED_BY:
 				if (!(value instanceof String)) {
 					throw new InvalidSpdxPropertyException("Expected string type for "+propertyDescriptor);
 				}
 				obsoletedBy = (String)value;
 				break;
-			case "licenseXml":
+			case LICENSE_XML:
 				if (!(value instanceof String)) {
 					throw new InvalidSpdxPropertyException("Expected string type for "+propertyDescriptor);
 				}
 				licenseXml = (String)value;
 				break;
-			case "listVersionAdded":
+			case LIST_VERSION_ADDED:
 				if (!(value instanceof String)) {
 					throw new InvalidSpdxPropertyException("Expected string type for "+propertyDescriptor);
 				}
@@ -294,26 +351,22 @@ public class ExceptionJson {
 	 * @throws InvalidSpdxPropertyException if the property descriptor is not valid
 	 */
 	public Object getValue(PropertyDescriptor propertyDescriptor) throws InvalidSpdxPropertyException {
-		String propertyName = PROPERTY_DESCRIPTOR_TO_VALUE_NAME.get(propertyDescriptor);
-		if (Objects.isNull(propertyName)) {
-			return null; // unsupported property
-		}
-		switch (propertyName) {
-			case "licenseExceptionText": return licenseExceptionText;
-			case "name": return name;
-			case "seeAlso":return seeAlso;
-			case "licenseExceptionTemplate": return licenseExceptionTemplate;
-			case "example": return example;
-			case "isDeprecatedLicenseId": return isDeprecatedLicenseId;
-			case "deprecatedVersion": return deprecatedVersion;
-			case "comment": 
+		switch (PROPERTY_TABLE.ordinalOf(propertyDescriptor)) {
+			case LICENSE_EXCEPTION_TEXT: return licenseExceptionText;
+			case NAME: return name;
+			case SEE_ALSO:return seeAlso;
+			case LICENSE_EXCEPTION_TEMPLATE: return licenseExceptionTemplate;
+			case EXAMPLE: return example;
+			case IS_DEPRECATED_LICENSE_ID: return isDeprecatedLicenseId;
+			case DEPRECATED_VERSION: return deprecatedVersion;
+			case COMMENT: 
 				if (comment != null) return comment;
 				return licenseComments;
-			case "licenseExceptionId": return licenseExceptionId;
-			case "exceptionTextHtml": return exceptionTextHtml;
-			case "licenseXml": return licenseXml;
-			case "obsoletedBy": return obsoletedBy;
-			case "listVersionAdded": return listVersionAdded;
+			case LICENSE_EXCEPTION_ID: return licenseExceptionId;
+			case EXCEPTION_TEXT_HTML: return exceptionTextHtml;
+			case LICENSE_XML: return licenseXml;
+			case OBSOLETED_BY: return obsoletedBy;
+			case LIST_VERSION_ADDED: return listVersionAdded;
 			default: return null; // unsupported property
 		}
 	}
@@ -324,26 +377,23 @@ public class ExceptionJson {
 	 * @throws InvalidSpdxPropertyException if the property descriptor is not valid
 	 */
 	public void removeProperty(PropertyDescriptor propertyDescriptor) throws InvalidSpdxPropertyException  {
-		String propertyName = PROPERTY_DESCRIPTOR_TO_VALUE_NAME.get(propertyDescriptor);
-		if (Objects.isNull(propertyName)) {
-			throw new InvalidSpdxPropertyException("Invalid property for SPDX listed exception:"+propertyDescriptor.getName());
-		}
-		switch (propertyName) {
-		case "licenseExceptionText": licenseExceptionText = null; break;
-		case "name": name = null; break;
-		case "seeAlso":seeAlso.clear(); break;
-		case "licenseExceptionTemplate": licenseExceptionTemplate = null; break;
-		case "example": example = null; break;
-		case "isDeprecatedLicenseId": isDeprecatedLicenseId = null; break;
-		case "deprecatedVersion": deprecatedVersion = null; break;
-		case "comment": 
+		int ordinal = requireOrdinal(propertyDescriptor);
+		switch (ordinal) {
+		case LICENSE_EXCEPTION_TEXT: licenseExceptionText = null; break;
+		case NAME: name = null; break;
+		case SEE_ALSO:seeAlso.clear(); break;
+		case LICENSE_EXCEPTION_TEMPLATE: licenseExceptionTemplate = null; break;
+		case EXAMPLE: example = null; break;
+		case IS_DEPRECATED_LICENSE_ID: isDeprecatedLicenseId = null; break;
+		case DEPRECATED_VERSION: deprecatedVersion = null; break;
+		case COMMENT: 
 			comment = null;
 			licenseComments = null; break;
-		case "licenseExceptionId": licenseExceptionId = null; break;
-		case "exceptionTextHtml": exceptionTextHtml = null; break;
-		case "licenseXml": licenseXml = null; break;
-		case "obsoletedBy": obsoletedBy = null; break;
-		case "listVersionAdded": listVersionAdded = null; break;
+		case LICENSE_EXCEPTION_ID: licenseExceptionId = null; break;
+		case EXCEPTION_TEXT_HTML: exceptionTextHtml = null; break;
+		case LICENSE_XML: licenseXml = null; break;
+		case OBSOLETED_BY: obsoletedBy = null; break;
+		case LIST_VERSION_ADDED: listVersionAdded = null; break;
 		default: throw new InvalidSpdxPropertyException("Invalid property for SPDX listed license:"+propertyDescriptor);
 	}
 
@@ -430,24 +480,21 @@ public class ExceptionJson {
 	 * @throws InvalidSpdxPropertyException if the propertyDescriptor is not valid
 	 */
 	public boolean isPropertyValueAssignableTo(PropertyDescriptor propertyDescriptor, Class<?> clazz) throws InvalidSpdxPropertyException {
-		String propertyName = PROPERTY_DESCRIPTOR_TO_VALUE_NAME.get(propertyDescriptor);
-		if (Objects.isNull(propertyName)) {
-			throw new InvalidSpdxPropertyException("Invalid property for SPDX listed exception:"+propertyDescriptor.getName());
-		}
-		switch (propertyName) {
-		case "licenseExceptionText":
-		case "name":
-		case "licenseExceptionTemplate": 
-		case "example": 
-		case "comment": 
-		case "deprecatedVersion":
-		case "exceptionTextHtml":
-		case "obsoletedBy":
-		case "licenseXml":
-		case "listVersionAdded":
-		case "licenseExceptionId": return String.class.isAssignableFrom(clazz);
-		case "seeAlso": return false;
-		case "isDeprecatedLicenseId": return Boolean.class.isAssignableFrom(clazz);
+		int ordinal = requireOrdinal(propertyDescriptor);
+		switch (ordinal) {
+		case LICENSE_EXCEPTION_TEXT:
+		case NAME:
+		case LICENSE_EXCEPTION_TEMPLATE: 
+		case EXAMPLE: 
+		case COMMENT: 
+		case DEPRECATED_VERSION:
+		case EXCEPTION_TEXT_HTML:
+		case OBSOLETED_BY:
+		case LICENSE_XML:
+		case LIST_VERSION_ADDED:
+		case LICENSE_EXCEPTION_ID: return String.class.isAssignableFrom(clazz);
+		case SEE_ALSO: return false;
+		case IS_DEPRECATED_LICENSE_ID: return Boolean.class.isAssignableFrom(clazz);
 		default: throw new InvalidSpdxPropertyException("Invalid property for SPDX listed license:"+propertyDescriptor);
 		}
 	}
@@ -501,4 +548,35 @@ public class ExceptionJson {
 		return retval;
 	}
 
+	/**
+	 * @return estimated number of bytes of text held by this exception - used as the cache weight
+	 */
+	long estimatedTextBytes() {
+		long chars = 0;
+		for (String text:new String[] {licenseExceptionText, name, licenseComments, comment, licenseExceptionId,
+				licenseExceptionTemplate, example, deprecatedVersion, exceptionTextHtml, licenseXml,
+				obsoletedBy, listVersionAdded}) {
+			if (Objects.nonNull(text)) {
+				chars += text.length();
+			}
+		}
+		for (String sa:seeAlso) {
+			chars += sa.length();
+		}
+		return chars * Character.BYTES;
+	}
+
+	/**
+	 * Replace the exception texts with instances from the pool so that identical texts are shared between stores
+	 * @param pool pool of license texts
+	 */
+	void internText(LicenseTextPool pool) {
+		licenseExceptionText = pool.intern(licenseExceptionText);
+		licenseExceptionTemplate = pool.intern(licenseExceptionTemplate);
+		exceptionTextHtml = pool.intern(exceptionTextHtml);
+		licenseXml = pool.intern(licenseXml);
+		comment = pool.intern(comment);
+		licenseComments = pool.intern(licenseComments);
+	}
+
 }
@@ -21,6 +21,7 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 
 import javax.annotation.Nullable;
 
@@ -128,6 +129,21 @@ public class ExceptionJsonTOC {
 		public void setSeeAlso(List<String> seeAlso) {
 			this.seeAlso = seeAlso;
 		}
+		/**
+		 * The reference number is not compared since it is the position of the exception in the list
+		 * and changes whenever an exception is added or removed
+		 * @param other table of contents entry from another version of the exception list
+		 * @return true if the other entry has the same ID and listing details
+		 */
+		public boolean isSameListing(@Nullable ExceptionJson other) {
+			return Objects.nonNull(other) &&
+					Objects.equals(licenseExceptionId, other.licenseExceptionId) &&
+					Objects.equals(name, other.name) &&
+					isDeprecatedLicenseId == other.isDeprecatedLicenseId &&
+					Objects.equals(reference, other.reference) &&
+					Objects.equals(detailsUrl, other.detailsUrl) &&
+					Objects.equals(seeAlso, other.seeAlso);
+		}
 	}
 	
 
@@ -0,0 +1,105 @@
+/**
+ * Copyright (c) 2026 agent
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package org.spdx.storage.listedlicense;
+
+import javax.annotation.Nullable;
+
+/**
+ * Cache of parsed listed license or listed exception JSON objects keyed by the case sensitive ID
+ *
+ * Implementations may evict entries at any time other than pinned entries.  The listed license
+ * model store will transparently reload evicted entries from the underlying input stream
+ * (classpath, download cache or web).
+ *
+ * Implementations must be thread safe - <code>get</code> may be called concurrently by multiple
+ * readers.
+ *
+ * @author agent
+ *
+ * @param <V> type of the cached value
+ */
+public interface IListedLicenseCache<V> {
+
+	/**
+	 * @param id case sensitive license or exception ID
+	 * @return the cached value or null if it is not in the cache (never cached or evicted)
+	 */
+	@Nullable V get(String id);
+
+	/**
+	 * Look up a value without counting a hit or miss - used when the store checks the cache again for a value
+	 * whose lookup has already been counted.  Implementations which do not override this count the lookup.
+	 * @param id case sensitive license or exception ID
+	 * @return the cached value or null if it is not in the cache (never cached or evicted)
+	 */
+	default @Nullable V peek(String id) {
+		return get(id);
+	}
+
+	/**
+	 * Add or replace a value in the cache
+	 * @param id case sensitive license or exception ID
+	 * @param value value to cache
+	 */
+	void put(String id, V value);
+
+	/**
+	 * Add or replace a value in the cache and pin it so that it will not be evicted - used for values
+	 * which have been modified or created in the store and can not be reloaded from the underlying stream
+	 * @param id case sensitive license or exception ID
+	 * @param value value to cache
+	 */
+	void pin(String id, V value);
+
+	/**
+	 * @param id case sensitive license or exception ID
+	 * @return true if the value for the ID is pinned
+	 */
+	boolean isPinned(String id);
+
+	/**
+	 * @param id case sensitive license or exception ID
+	 * @return the removed value or null if it was not in the cache
+	 */
+	@Nullable V remove(String id);
+
+	/**
+	 * Remove all entries, including pinned entries
+	 */
+	void clear();
+
+	/**
+	 * @return number of entries currently held
+	 */
+	int size();
+
+	/**
+	 * @return number of times <code>get</code> found a value
+	 */
+	long getHitCount();
+
+	/**
+	 * @return number of times <code>get</code> did not find a value
+	 */
+	long getMissCount();
+
+	/**
+	 * @return number of entries evicted by the cache policy (including cleared soft references)
+	 */
+	long getEvictionCount();
+}
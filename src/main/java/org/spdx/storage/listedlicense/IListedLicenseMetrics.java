@@ -0,0 +1,117 @@
+/**
+ * Copyright (c) 2026 agent
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package org.spdx.storage.listedlicense;
+
+/**
+ * Receives metrics from the listed license stores
+ *
+ * Register an implementation with <code>SpdxListedLicenseModelStore.setMetrics</code> to export the metrics
+ * to an external metrics system.  All methods have no-op defaults so implementations only need to override
+ * the metrics they are interested in.
+ *
+ * Methods are called synchronously on the thread performing the operation, in some cases while holding
+ * store locks, so implementations must be thread safe, must return quickly and must not call back into
+ * the listed license stores.
+ *
+ * @author agent
+ *
+ */
+public interface IListedLicenseMetrics {
+
+	/**
+	 * Metrics implementation which ignores all metrics - used when no metrics are registered
+	 */
+	IListedLicenseMetrics NOOP = new IListedLicenseMetrics() {};
+
+	/**
+	 * Source of the license list JSON read by a store
+	 */
+	enum LoadSource {
+		/**
+		 * License list bundled in the library JAR
+		 */
+		CLASSPATH,
+		/**
+		 * License list directory or zip file on the local file system
+		 */
+		FILE,
+		/**
+		 * License list downloaded through the download cache
+		 */
+		DOWNLOAD_CACHE,
+		/**
+		 * License list downloaded directly from the license list URL
+		 */
+		HTTP,
+		/**
+		 * Any other source
+		 */
+		OTHER
+	}
+
+	/**
+	 * Called when a listed license or exception is found in the store's in-memory cache
+	 * @param store store holding the cache
+	 * @param id case sensitive license or exception ID
+	 * @param isException true if the ID is for a listed exception
+	 */
+	default void cacheHit(IListedLicenseStore store, String id, boolean isException) {
+		// no-op
+	}
+
+	/**
+	 * Called when a listed license or exception is not in the store's in-memory cache and must be loaded
+	 * @param store store holding the cache
+	 * @param id case sensitive license or exception ID
+	 * @param isException true if the ID is for a listed exception
+	 */
+	default void cacheMiss(IListedLicenseStore store, String id, boolean isException) {
+		// no-op
+	}
+
+	/**
+	 * Called after license list JSON has been read by a store
+	 * @param store store which read the JSON
+	 * @param resource license or exception ID, or the table of contents file name
+	 * @param source source the JSON was read from
+	 * @param durationNanos time taken to open and read the JSON in nanoseconds
+	 * @param bytesRead number of bytes read
+	 */
+	default void loaded(IListedLicenseStore store, String resource, LoadSource source, long durationNanos, long bytesRead) {
+		// no-op
+	}
+
+	/**
+	 * Called when a thread had to wait to acquire a store lock - not called when the lock was acquired without waiting
+	 * @param store store owning the lock
+	 * @param writeLock true if the write lock was requested, false for the read lock
+	 * @param waitNanos time spent waiting for the lock in nanoseconds
+	 */
+	default void lockWaited(IListedLicenseStore store, boolean writeLock, long waitNanos) {
+		// no-op
+	}
+
+	/**
+	 * Called when the listed licenses are replaced by a different or updated license list
+	 * @param previousVersion version of the license list which was replaced
+	 * @param newVersion version of the replacement license list
+	 */
+	default void licenseListReplaced(String previousVersion, String newVersion) {
+		// no-op
+	}
+}
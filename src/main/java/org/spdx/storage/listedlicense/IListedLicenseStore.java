@@ -33,7 +33,7 @@ import org.spdx.storage.IModelStore;
 public interface IListedLicenseStore extends IModelStore {
 
 	/**
-	 * @return List of all SPDX listed license IDs
+	 * @return unmodifiable list of all SPDX listed license IDs
 	 */
 	List<String> getSpdxListedLicenseIds();
 
@@ -57,7 +57,7 @@ public interface IListedLicenseStore extends IModelStore {
 	boolean isSpdxListedExceptionId(String listedLicenseDocumentUri, String exceptionId);
 
 	/**
-	 * @return list of SPDX exception IDs
+	 * @return unmodifiable list of SPDX exception IDs
 	 */
 	List<String> getSpdxListedExceptionIds();
 
@@ -18,6 +18,7 @@
 package org.spdx.storage.listedlicense;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -46,6 +47,49 @@ import org.spdx.storage.PropertyDescriptor;
  */
 public class LicenseJson {
 	
+	static final int LICENSE_TEXT = 0;
+	static final int LICENSE_TEXT_HTML = 1;
+	static final int NAME = 2;
+	static final int STANDARD_LICENSE_HEADER = 3;
+	static final int STANDARD_LICENSE_HEADER_TEMPLATE = 4;
+	static final int STANDARD_LICENSE_HEADER_HTML = 5;
+	static final int STANDARD_LICENSE_TEMPLATE = 6;
+	static final int IS_OSI_APPROVED = 7;
+	static final int IS_FSF_LIBRE = 8;
+	static final int EXAMPLE = 9;
+	static final int IS_DEPRECATED_LICENSE_ID = 10;
+	static final int DEPRECATED_VERSION = 11;
+	static final int COMMENT = 12;
+	static final int LICENSE_ID = 13;
+	static final int SEE_ALSO = 14;
+	static final int CROSS_REF = 15;
+	static final int LICENSE_XML = 16;
+	static final int OBSOLETED_BY = 17;
+	static final int LIST_VERSION_ADDED = 18;
+	static final int CREATION_INFO = 19;
+	// The following are not implemented in the JSON - they are added so there is no errors when creating V3 object classes
+	static final int EXTERNAL_REF = 20;
+	static final int VERIFIED_USING = 21;
+	static final int EXTENSION = 22;
+	static final int EXTERNAL_IDENTIFIER = 23;
+	static final int CREATED_USING = 24;
+	static final int DESCRIPTION = 25;
+	static final int SUMMARY = 26;
+	
+	/**
+	 * Value (JSON field) names indexed by property ordinal
+	 */
+	static final String[] VALUE_NAMES = new String[] {"licenseText", "licenseTextHtml", "name", "standardLicenseHeader",
+			"standardLicenseHeaderTemplate", "standardLicenseHeaderHtml", "standardLicenseTemplate", "isOsiApproved",
+			"isFsfLibre", "example", "isDeprecatedLicenseId", "deprecatedVersion", "comment", "licenseId", "seeAlso",
+			"crossRef", "licenseXml", "obsoletedBy", "listVersionAdded", "creationInfo", "externalRef", "verifiedUsing",
+			"extension", "externalIdentifier", "createdUsing", "description", "summary"};
+	
+	/**
+	 * Property descriptors mapped to the ordinals used to dispatch property access
+	 */
+	static final PropertyDescriptorTable PROPERTY_TABLE;
+
 	static final Map<PropertyDescriptor, String> PROPERTY_DESCRIPTOR_TO_VALUE_NAME;
 	static final List<PropertyDescriptor> ALL_PROPERTY_DESCRIPTORS;
 	static final Set<PropertyDescriptor> COLLECTION_PROPERTIES;
@@ -102,11 +146,35 @@ public class LicenseJson {
 		descriptorsToValue.put(SpdxConstantsV3.PROP_DESCRIPTION, "description");
 		descriptorsToValue.put(SpdxConstantsV3.PROP_SUMMARY, "summary");
 		
+		List<String> valueNames = Arrays.asList(VALUE_NAMES);
+		Map<PropertyDescriptor, Integer> descriptorsToOrdinal = new HashMap<>();
+		descriptorsToValue.forEach((descriptor, valueName) -> {
+			int ordinal = valueNames.indexOf(valueName);
+			if (ordinal < 0) {
+				// would otherwise be indistinguishable from an unsupported property
+				throw new IllegalStateException("Value name "+valueName+" for "+descriptor+" is missing from the listed license value names");
+			}
+			descriptorsToOrdinal.put(descriptor, ordinal);
+		});
+		PROPERTY_TABLE = new PropertyDescriptorTable(descriptorsToOrdinal);
 		PROPERTY_DESCRIPTOR_TO_VALUE_NAME = Collections.unmodifiableMap(descriptorsToValue);
 		ALL_PROPERTY_DESCRIPTORS = Collections.unmodifiableList(new ArrayList<>(descriptorsToValue.keySet()));
 		COLLECTION_PROPERTIES = Collections.unmodifiableSet(collectionProperties);
 	}
 	
+	/**
+	 * @param propertyDescriptor property descriptor
+	 * @return the ordinal for the property
+	 * @throws InvalidSpdxPropertyException if the property is not a listed license property
+	 */
+	private static int requireOrdinal(PropertyDescriptor propertyDescriptor) throws InvalidSpdxPropertyException {
+		int ordinal = PROPERTY_TABLE.ordinalOf(propertyDescriptor);
+		if (ordinal == PropertyDescriptorTable.NOT_FOUND) {
+			throw new InvalidSpdxPropertyException("Invalid property for SPDX listed license:"+propertyDescriptor.getName());
+		}
+		return ordinal;
+	}
+	
 	Boolean isDeprecatedLicenseId;
 	Boolean isFsfLibre;
 	String licenseText;
@@ -127,6 +195,11 @@ public class LicenseJson {
 	String obsoletedBy;
 	String licenseXml;
 	String listVersionAdded;
+	/**
+	 * Index for the next cross reference ID assigned by the store - never reused so that the ID of a removed
+	 * cross reference is not given to a cross reference added later.  Guarded by the license monitor.
+	 */
+	transient int nextCrossRefIndex = 0;
 	
 	public LicenseJson(String id) {
 		this.licenseId = id;
@@ -141,128 +214,122 @@ public class LicenseJson {
 	}
 
 	public void setPrimativeValue(PropertyDescriptor propertyDescriptor, Object value) throws InvalidSpdxPropertyException {
-		String propertyName = PROPERTY_DESCRIPTOR_TO_VALUE_NAME.get(propertyDescriptor);
-		if (Objects.isNull(propertyName)) {
-			throw new InvalidSpdxPropertyException("Invalid property for SPDX listed license:"+propertyDescriptor.getName());
-		}
-		switch (propertyName) {
-			case "licenseText":
+		int ordinal = requireOrdinal(propertyDescriptor);
+		switch (ordinal) {
+			case LICENSE_TEXT:
 				if (!(value instanceof String)) {
 					throw new InvalidSpdxPropertyException("Expected string type for "+propertyDescriptor);
 				}
 				licenseText = (String)value;
 				break;
-			case "licenseTextHtml":
+			case LICENSE_TEXT_HTML:
 				if (!(value instanceof String)) {
 					throw new InvalidSpdxPropertyException("Expected string type for "+propertyDescriptor);
 				}
 				licenseTextHtml = (String)value;
 				break;
-			case "name":
+			case NAME:
 				if (!(value instanceof String)) {
 					throw new InvalidSpdxPropertyException("Expected string type for "+propertyDescriptor);
 				}
 				name = (String)value;
 				break;
-			case "seeAlso":
-			case "crossRef": throw new InvalidSpdxPropertyException("Expected list type for "+propertyDescriptor);
-			case "standardLicenseHeader":
+			case SEE_ALSO:
+			case CROSS_REF: throw new InvalidSpdxPropertyException("Expected list type for "+propertyDescriptor);
+			case STANDARD_LICENSE_HEADER:
 				if (!(value instanceof String)) {
 					throw new InvalidSpdxPropertyException("Expected string type for "+propertyDescriptor);
 				}
 				standardLicenseHeader = (String)value;
 				break;
-			case "standardLicenseHeaderTemplate":
+			case STANDARD_LICENSE_HEADER_TEMPLATE:
 				if (!(value instanceof String)) {
 					throw new InvalidSpdxPropertyException("Expected string type for "+propertyDescriptor);
 				}
 				standardLicenseHeaderTemplate = (String)value;
 				break;
-			case "standardLicenseHeaderHtml":
+			case STANDARD_LICENSE_HEADER_HTML:
 				if (!(value instanceof String)) {
 					throw new InvalidSpdxPropertyException("Expected string type for "+propertyDescriptor);
 				}
 				standardLicenseHeaderHtml = (String)value;
 				break;
-			case "standardLicenseTemplate":
+			case STANDARD_LICENSE_TEMPLATE:
 				if (!(value instanceof String)) {
 					throw new InvalidSpdxPropertyException("Expected string type for "+propertyDescriptor);
 				}
 				standardLicenseTemplate = (String)value;
 				break;
-			case "isOsiApproved":
+			case IS_OSI_APPROVED:
 				if (!(value instanceof Boolean)) {
 				throw new InvalidSpdxPropertyException("Expected Boolean type for "+propertyDescriptor);
 				}
 				isOsiApproved = (Boolean)value;
 				break;
-			case "isFsfLibre":
+			case IS_FSF_LIBRE:
 				if (!(value instanceof Boolean)) {
 				throw new InvalidSpdxPropertyException("Expected Boolean type for "+propertyDescriptor);
 				}
 				isFsfLibre = (Boolean)value;
 				break;
-			case "example":
+			case EXAMPLE:
 				if (!(value instanceof String)) {
 					throw new InvalidSpdxPropertyException("Expected string type for "+propertyDescriptor);
 				}
 				example = (String)value;
 				break;
-			case "isDeprecatedLicenseId":
+			case IS_DEPRECATED_LICENSE_ID:
 				if (!(value instanceof Boolean)) {
 				throw new InvalidSpdxPropertyException("Expected Boolean type for "+propertyDescriptor);
 				}
 				isDeprecatedLicenseId = (Boolean)value;
 				break;
-			case "deprecatedVersion":
+			case DEPRECATED_VERSION:
 				if (!(value instanceof String)) {
 					throw new InvalidSpdxPropertyException("Expected string type for "+propertyDescriptor);
 				}
 				deprecatedVersion = (String)value;
 				break;
-			case "comment":
+			case COMMENT:
 				if (!(value instanceof String)) {
 					throw new InvalidSpdxPropertyException("Expected string type for "+propertyDescriptor);
 				}
 				licenseComments = (String)value;
 				comment = (String)value;
 				break;
-			case "licenseId":
+			case LICENSE_ID:
 				if (!(value instanceof String)) {
 					throw new InvalidSpdxPropertyException("Expected string type for "+propertyDescriptor);
 				}
 				licenseId = (String)value;
 				break;
-			case "obsoletedBy": if (!(value instanceof String)) {
+			case OBSOLETED_BY: if (!(value instanceof String)) {
 					throw new InvalidSpdxPropertyException("Expected string type for "+propertyDescriptor);
 				}
 				obsoletedBy = (String)value;
 				break;
-			case "licenseXml": if (!(value instanceof String)) {
+			case LICENSE_XML: if (!(value instanceof String)) {
 				throw new InvalidSpdxPropertyException("Expected string type for "+propertyDescriptor);
 			}
 			licenseXml = (String)value;
 			break;
-			case "listVersionAdded": if (!(value instanceof String)) {
+			case LIST_VERSION_ADDED: if (!(value instanceof String)) {
 				throw new InvalidSpdxPropertyException("Expected string type for "+propertyDescriptor);
 			}
 			listVersionAdded = (String)value;
 			break;
-			default: throw new InvalidSpdxPropertyException("Invalid property for SPDX listed license:"+propertyName);
+			default: throw new InvalidSpdxPropertyException("Invalid property for SPDX listed license:"+VALUE_NAMES[ordinal]);
 		}
 	}
 
 	public void clearPropertyValueList(PropertyDescriptor propertyDescriptor) throws InvalidSpdxPropertyException {
-		String propertyName = PROPERTY_DESCRIPTOR_TO_VALUE_NAME.get(propertyDescriptor);
-		if (Objects.isNull(propertyName)) {
-			throw new InvalidSpdxPropertyException("Invalid property for SPDX listed license:"+propertyDescriptor.getName());
-		}
-		if ("seeAlso".equals(propertyName)) {
+		int ordinal = requireOrdinal(propertyDescriptor);
+		if (ordinal == SEE_ALSO) {
 			seeAlso.clear();
-		} else if ("crossRef".equals(propertyName)) {
+		} else if (ordinal == CROSS_REF) {
 			crossRef.clear();
 		} else {
-			throw new InvalidSpdxPropertyException(propertyName + "is not a list type");
+			throw new InvalidSpdxPropertyException(VALUE_NAMES[ordinal] + "is not a list type");
 		}
 		
 	}
@@ -290,114 +357,101 @@ public class LicenseJson {
 	 * @throws InvalidSPDXAnalysisException
 	 */
 	public boolean addPrimitiveValueToList(PropertyDescriptor propertyDescriptor, Object value) throws InvalidSPDXAnalysisException {
-		String propertyName = PROPERTY_DESCRIPTOR_TO_VALUE_NAME.get(propertyDescriptor);
-		if (Objects.isNull(propertyName)) {
-			throw new InvalidSpdxPropertyException("Invalid property for SPDX listed license:"+propertyDescriptor.getName());
-		}
-		if ("seeAlso".equals(propertyName)) {
+		int ordinal = requireOrdinal(propertyDescriptor);
+		if (ordinal == SEE_ALSO) {
 			if (!(value instanceof String)) {
 				throw new InvalidSpdxPropertyException("Expected string type for "+propertyDescriptor);
 			}
 			return seeAlso.add((String)value);
-		} else if (SpdxConstantsCompatV2.PROP_CROSS_REF.getName().equals(propertyName)) {
+		} else if (ordinal == CROSS_REF) {
 			if (!(value instanceof CrossRefJson)) {
 				throw new InvalidSpdxPropertyException("Expected CrossRefJson type for "+propertyDescriptor);
 			}
 			return crossRef.add((CrossRefJson)value);
 		} else {
-			throw new InvalidSpdxPropertyException(propertyName + "is not a list type");
+			throw new InvalidSpdxPropertyException(VALUE_NAMES[ordinal] + "is not a list type");
 		}
 	}
 	
 	public boolean removePrimitiveValueToList(PropertyDescriptor propertyDescriptor, Object value) throws InvalidSpdxPropertyException {
-		String propertyName = PROPERTY_DESCRIPTOR_TO_VALUE_NAME.get(propertyDescriptor);
-		if (Objects.isNull(propertyName)) {
-			throw new InvalidSpdxPropertyException("Invalid property for SPDX listed license:"+propertyDescriptor.getName());
-		}
-		if ("seeAlso".equals(propertyName)) {
+		int ordinal = requireOrdinal(propertyDescriptor);
+		if (ordinal == SEE_ALSO) {
 			return seeAlso.remove(value);
-		} else if ("crossRef".equals(propertyName)) {
+		} else if (ordinal == CROSS_REF) {
 			return crossRef.remove(value);
 		} else {
-			throw new InvalidSpdxPropertyException(propertyName + "is not a list type");
+			throw new InvalidSpdxPropertyException(VALUE_NAMES[ordinal] + "is not a list type");
 		}
 	}
 
 	public List<?> getValueList(PropertyDescriptor propertyDescriptor) throws InvalidSpdxPropertyException {
-		String propertyName = PROPERTY_DESCRIPTOR_TO_VALUE_NAME.get(propertyDescriptor);
-		if (Objects.isNull(propertyName)) {
+		int ordinal = PROPERTY_TABLE.ordinalOf(propertyDescriptor);
+		if (ordinal == PropertyDescriptorTable.NOT_FOUND) {
 			return new ArrayList<>(); // unsupported property
 		}
-		if ("seeAlso".equals(propertyName)) {
+		if (ordinal == SEE_ALSO) {
 			return seeAlso;
-		} else if ("crossRef".equals(propertyName)) {
+		} else if (ordinal == CROSS_REF) {
 			return crossRef;
 		} else if (COLLECTION_PROPERTIES.contains(propertyDescriptor)) {
 			return new ArrayList<>();  // not supported in JSON - just return empty
 		} else {
-			throw new InvalidSpdxPropertyException(propertyName + "is not a list type");
+			throw new InvalidSpdxPropertyException(VALUE_NAMES[ordinal] + "is not a list type");
 		}
 	}
 
 	public Object getValue(PropertyDescriptor descriptor) throws InvalidSpdxPropertyException {
-		String propertyName = PROPERTY_DESCRIPTOR_TO_VALUE_NAME.get(descriptor);
-		if (Objects.isNull(propertyName)) {
-			return null; // unsupport property type
-		}
-		switch (propertyName) {
-			case "licenseText": return licenseText;
-			case "licenseTextHtml": return licenseTextHtml;
-			case "name": return name;
-			case "seeAlso": return seeAlso;
-			case "crossRef": return crossRef;
-			case "standardLicenseHeader": return standardLicenseHeader;
-			case "standardLicenseHeaderTemplate": return standardLicenseHeaderTemplate;
-			case "standardLicenseHeaderHtml": return standardLicenseHeaderHtml;
-			case "standardLicenseTemplate": return standardLicenseTemplate;
-			case "isOsiApproved": return isOsiApproved;
-			case "isFsfLibre": return isFsfLibre;
-			case "example": return example;
-			case "isDeprecatedLicenseId": return isDeprecatedLicenseId;
-			case "deprecatedVersion": return deprecatedVersion;
-			case "comment": 
+		switch (PROPERTY_TABLE.ordinalOf(descriptor)) {
+			case LICENSE_TEXT: return licenseText;
+			case LICENSE_TEXT_HTML: return licenseTextHtml;
+			case NAME: return name;
+			case SEE_ALSO: return seeAlso;
+			case CROSS_REF: return crossRef;
+			case STANDARD_LICENSE_HEADER: return standardLicenseHeader;
+			case STANDARD_LICENSE_HEADER_TEMPLATE: return standardLicenseHeaderTemplate;
+			case STANDARD_LICENSE_HEADER_HTML: return standardLicenseHeaderHtml;
+			case STANDARD_LICENSE_TEMPLATE: return standardLicenseTemplate;
+			case IS_OSI_APPROVED: return isOsiApproved;
+			case IS_FSF_LIBRE: return isFsfLibre;
+			case EXAMPLE: return example;
+			case IS_DEPRECATED_LICENSE_ID: return isDeprecatedLicenseId;
+			case DEPRECATED_VERSION: return deprecatedVersion;
+			case COMMENT: 
 				if (comment != null) return comment;
 				return licenseComments;
-			case "licenseId": return licenseId;
-			case "licenseXml": return licenseXml;
-			case "listVersionAdded": return listVersionAdded;
-			case "obsoletedBy": return obsoletedBy;
+			case LICENSE_ID: return licenseId;
+			case LICENSE_XML: return licenseXml;
+			case LIST_VERSION_ADDED: return listVersionAdded;
+			case OBSOLETED_BY: return obsoletedBy;
 			default: return null; // unsupportd property type
 		}
 	}
 
 	public void removeProperty(PropertyDescriptor propertyDescriptor) throws InvalidSpdxPropertyException {
-		String propertyName = PROPERTY_DESCRIPTOR_TO_VALUE_NAME.get(propertyDescriptor);
-		if (Objects.isNull(propertyName)) {
-			throw new InvalidSpdxPropertyException("Invalid property for SPDX listed license:"+propertyDescriptor.getName());
-		}
-		switch (propertyName) {
-		case "licenseText": licenseText = null; break;
-		case "licenseTextHtml": licenseTextHtml = null; break;
-		case "name": name = null; break;
-		case "seeAlso":seeAlso.clear(); break;
-		case "crossRef":crossRef.clear(); break;
-		case "standardLicenseHeader": standardLicenseHeader = null; break;
-		case "standardLicenseHeaderTemplate": standardLicenseHeaderTemplate = null; break;
-		case "standardLicenseHeaderHtml": standardLicenseHeaderHtml = null; break;
-		case "standardLicenseTemplate": standardLicenseTemplate = null; break;
-		case "isOsiApproved": isOsiApproved = null; break;
-		case "isFsfLibre": isFsfLibre = null; break;
-		case "example": example = null; break;
-		case "isDeprecatedLicenseId": isDeprecatedLicenseId = null; break;
-		case "deprecatedVersion": deprecatedVersion = null; break;
-		case "comment": 
+		int ordinal = requireOrdinal(propertyDescriptor);
+		switch (ordinal) {
+		case LICENSE_TEXT: licenseText = null; break;
+		case LICENSE_TEXT_HTML: licenseTextHtml = null; break;
+		case NAME: name = null; break;
+		case SEE_ALSO:seeAlso.clear(); break;
+		case CROSS_REF:crossRef.clear(); break;
+		case STANDARD_LICENSE_HEADER: standardLicenseHeader = null; break;
+		case STANDARD_LICENSE_HEADER_TEMPLATE: standardLicenseHeaderTemplate = null; break;
+		case STANDARD_LICENSE_HEADER_HTML: standardLicenseHeaderHtml = null; break;
+		case STANDARD_LICENSE_TEMPLATE: standardLicenseTemplate = null; break;
+		case IS_OSI_APPROVED: isOsiApproved = null; break;
+		case IS_FSF_LIBRE: isFsfLibre = null; break;
+		case EXAMPLE: example = null; break;
+		case IS_DEPRECATED_LICENSE_ID: isDeprecatedLicenseId = null; break;
+		case DEPRECATED_VERSION: deprecatedVersion = null; break;
+		case COMMENT: 
 			comment = null;
 			licenseComments = null; break;
-		case "licenseId": licenseId = null; break;
-		case "licenseXml": licenseXml = null; break;
-		case "listVersionAdded": listVersionAdded = null; break;
-		case "obsoletedBy": obsoletedBy = null; break;
-		default: throw new InvalidSpdxPropertyException("Invalid property for SPDX listed license:"+propertyName);
+		case LICENSE_ID: licenseId = null; break;
+		case LICENSE_XML: licenseXml = null; break;
+		case LIST_VERSION_ADDED: listVersionAdded = null; break;
+		case OBSOLETED_BY: obsoletedBy = null; break;
+		default: throw new InvalidSpdxPropertyException("Invalid property for SPDX listed license:"+VALUE_NAMES[ordinal]);
 	}
 	}
 	
@@ -480,43 +534,37 @@ public class LicenseJson {
 	}
 
 	public boolean isPropertyValueAssignableTo(PropertyDescriptor propertyDescriptor, Class<?> clazz) throws InvalidSpdxPropertyException {
-		String propertyName = PROPERTY_DESCRIPTOR_TO_VALUE_NAME.get(propertyDescriptor);
-		if (Objects.isNull(propertyName)) {
-			throw new InvalidSpdxPropertyException("Invalid property for SPDX listed license:"+propertyDescriptor.getName());
-		}
-		switch (propertyName) {
-		case "licenseText":
-		case "licenseTextHtml":
-		case "name":
-		case "standardLicenseHeader":
-		case "standardLicenseHeaderTemplate":
-		case "standardLicenseHeaderHtml":
-		case "standardLicenseTemplate":
-		case "example":
-		case "deprecatedVersion":
-		case "comment":
-		case "licenseXml":
-		case "listVersionAdded":
-		case "obsoletedBy":
-		case "licenseId": return String.class.isAssignableFrom(clazz);
-		case "seeAlso":
-		case "crossRef": return false;
-		case "isOsiApproved":
-		case "isFsfLibre":
-		case "isDeprecatedLicenseId": return Boolean.class.isAssignableFrom(clazz);
-		default: throw new InvalidSpdxPropertyException("Invalid property for SPDX listed license:"+propertyName);
+		int ordinal = requireOrdinal(propertyDescriptor);
+		switch (ordinal) {
+		case LICENSE_TEXT:
+		case LICENSE_TEXT_HTML:
+		case NAME:
+		case STANDARD_LICENSE_HEADER:
+		case STANDARD_LICENSE_HEADER_TEMPLATE:
+		case STANDARD_LICENSE_HEADER_HTML:
+		case STANDARD_LICENSE_TEMPLATE:
+		case EXAMPLE:
+		case DEPRECATED_VERSION:
+		case COMMENT:
+		case LICENSE_XML:
+		case LIST_VERSION_ADDED:
+		case OBSOLETED_BY:
+		case LICENSE_ID: return String.class.isAssignableFrom(clazz);
+		case SEE_ALSO:
+		case CROSS_REF: return false;
+		case IS_OSI_APPROVED:
+		case IS_FSF_LIBRE:
+		case IS_DEPRECATED_LICENSE_ID: return Boolean.class.isAssignableFrom(clazz);
+		default: throw new InvalidSpdxPropertyException("Invalid property for SPDX listed license:"+VALUE_NAMES[ordinal]);
 	}
 
 	}
 
 	public boolean isCollectionMembersAssignableTo(PropertyDescriptor propertyDescriptor, Class<?> clazz) throws InvalidSpdxPropertyException {
-		String propertyName = PROPERTY_DESCRIPTOR_TO_VALUE_NAME.get(propertyDescriptor);
-		if (Objects.isNull(propertyName)) {
-			throw new InvalidSpdxPropertyException("Invalid property for SPDX listed license:"+propertyDescriptor.getName());
-		}
-		if (SpdxConstantsCompatV2.RDFS_PROP_SEE_ALSO.getName().equals(propertyName)) {
+		int ordinal = requireOrdinal(propertyDescriptor);
+		if (ordinal == SEE_ALSO) {
 			return String.class.isAssignableFrom(clazz);
-		} else if (SpdxConstantsCompatV2.PROP_CROSS_REF.getName().equals(propertyName)) {
+		} else if (ordinal == CROSS_REF) {
 			return CrossRef.class.isAssignableFrom(clazz);
 		} else if (SpdxConstantsV3.PROP_EXTERNAL_REF.equals(propertyDescriptor)) {
 			return org.spdx.library.model.v3_0_1.core.ExternalRef.class.isAssignableFrom(clazz);
@@ -556,4 +604,49 @@ public class LicenseJson {
 		});
 		return retval;
 	}
+
+	/**
+	 * @return estimated number of bytes of text held by this license - used as the cache weight
+	 */
+	long estimatedTextBytes() {
+		long chars = 0;
+		for (String text:new String[] {licenseText, standardLicenseHeaderTemplate, standardLicenseTemplate,
+				name, licenseComments, comment, licenseId, standardLicenseHeader, licenseTextHtml,
+				standardLicenseHeaderHtml, example, deprecatedVersion, obsoletedBy, licenseXml, listVersionAdded}) {
+			if (Objects.nonNull(text)) {
+				chars += text.length();
+			}
+		}
+		for (String sa:seeAlso) {
+			chars += sa.length();
+		}
+		for (CrossRefJson cr:crossRef) {
+			if (Objects.nonNull(cr.url)) {
+				chars += cr.url.length();
+			}
+			if (Objects.nonNull(cr.match)) {
+				chars += cr.match.length();
+			}
+			if (Objects.nonNull(cr.timestamp)) {
+				chars += cr.timestamp.length();
+			}
+		}
+		return chars * Character.BYTES;
+	}
+
+	/**
+	 * Replace the license texts with instances from the pool so that identical texts are shared between stores
+	 * @param pool pool of license texts
+	 */
+	void internText(LicenseTextPool pool) {
+		licenseText = pool.intern(licenseText);
+		standardLicenseHeaderTemplate = pool.intern(standardLicenseHeaderTemplate);
+		standardLicenseTemplate = pool.intern(standardLicenseTemplate);
+		standardLicenseHeader = pool.intern(standardLicenseHeader);
+		licenseTextHtml = pool.intern(licenseTextHtml);
+		standardLicenseHeaderHtml = pool.intern(standardLicenseHeaderHtml);
+		licenseXml = pool.intern(licenseXml);
+		comment = pool.intern(comment);
+		licenseComments = pool.intern(licenseComments);
+	}
 }
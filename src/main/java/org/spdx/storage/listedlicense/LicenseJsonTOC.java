@@ -19,6 +19,7 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 
 import javax.annotation.Nullable;
 
@@ -155,6 +156,23 @@ public class LicenseJsonTOC {
 		public void setOsiApproved(boolean isOsiApproved) {
 			this.isOsiApproved = isOsiApproved;
 		}
+		/**
+		 * The reference number is not compared since it is the position of the license in the list
+		 * and changes whenever a license is added or removed
+		 * @param other table of contents entry from another version of the license list
+		 * @return true if the other entry has the same ID and listing details
+		 */
+		public boolean isSameListing(@Nullable LicenseJson other) {
+			return Objects.nonNull(other) &&
+					Objects.equals(licenseId, other.licenseId) &&
+					Objects.equals(name, other.name) &&
+					isDeprecatedLicenseId == other.isDeprecatedLicenseId &&
+					isOsiApproved == other.isOsiApproved &&
+					Objects.equals(isFsfLibre, other.isFsfLibre) &&
+					Objects.equals(reference, other.reference) &&
+					Objects.equals(detailsUrl, other.detailsUrl) &&
+					Objects.equals(seeAlso, other.seeAlso);
+		}
 	}
 	
 
@@ -0,0 +1,108 @@
+/**
+ * Copyright (c) 2026 agent
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package org.spdx.storage.listedlicense;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+import javax.annotation.Nullable;
+
+/**
+ * Differences between two versions of the license list as applied by
+ * {@link SpdxListedLicenseModelStore#updateLicenseList()}
+ *
+ * IDs are case sensitive and include both license and exception IDs.
+ *
+ * @author agent
+ *
+ */
+public class LicenseListDiff {
+
+	private final String previousVersion;
+	private final String version;
+	private final List<String> addedIds;
+	private final List<String> changedIds;
+	private final List<String> removedIds;
+
+	/**
+	 * @param previousVersion license list version before the update
+	 * @param version license list version after the update
+	 * @param addedIds IDs for licenses and exceptions added to the list
+	 * @param changedIds IDs for licenses and exceptions whose listing or JSON changed
+	 * @param removedIds IDs for licenses and exceptions removed from the list
+	 */
+	public LicenseListDiff(@Nullable String previousVersion, @Nullable String version,
+			List<String> addedIds, List<String> changedIds, List<String> removedIds) {
+		this.previousVersion = previousVersion;
+		this.version = version;
+		this.addedIds = Collections.unmodifiableList(new ArrayList<>(addedIds));
+		this.changedIds = Collections.unmodifiableList(new ArrayList<>(changedIds));
+		this.removedIds = Collections.unmodifiableList(new ArrayList<>(removedIds));
+	}
+
+	/**
+	 * @return license list version before the update
+	 */
+	public @Nullable String getPreviousVersion() {
+		return previousVersion;
+	}
+
+	/**
+	 * @return license list version after the update
+	 */
+	public @Nullable String getVersion() {
+		return version;
+	}
+
+	/**
+	 * @return IDs for licenses and exceptions added to the list
+	 */
+	public List<String> getAddedIds() {
+		return addedIds;
+	}
+
+	/**
+	 * @return IDs for licenses and exceptions whose listing or JSON changed
+	 */
+	public List<String> getChangedIds() {
+		return changedIds;
+	}
+
+	/**
+	 * @return IDs for licenses and exceptions removed from the list
+	 */
+	public List<String> getRemovedIds() {
+		return removedIds;
+	}
+
+	/**
+	 * @return true if the version or any of the licenses or exceptions changed
+	 */
+	public boolean hasChanges() {
+		return !Objects.equals(previousVersion, version) || !addedIds.isEmpty() ||
+				!changedIds.isEmpty() || !removedIds.isEmpty();
+	}
+
+	@Override
+	public String toString() {
+		return "License list " + previousVersion + " -> " + version + ": " + addedIds.size() + " added, " +
+				changedIds.size() + " changed, " + removedIds.size() + " removed";
+	}
+}
@@ -0,0 +1,114 @@
+/**
+ * Copyright (c) 2026 agent
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package org.spdx.storage.listedlicense;
+
+import java.lang.ref.WeakReference;
+import java.util.Map;
+import java.util.Objects;
+import java.util.WeakHashMap;
+
+import javax.annotation.Nullable;
+
+/**
+ * Pool of license and exception texts shared by all listed license stores
+ *
+ * Texts are keyed by their content so that identical texts read by stores for different license list
+ * versions (or reloaded after being evicted from a store's cache) share a single instance.  The pool only
+ * holds weak references - a text is dropped from the pool once no store references it.  The pool is split
+ * into independently locked segments so that concurrent parsing of licenses does not serialize on a single lock.
+ *
+ * Only texts of at least <code>MIN_TEXT_LENGTH</code> characters are pooled since the savings for short
+ * values such as names and IDs do not justify the lookup.
+ *
+ * @author agent
+ *
+ */
+public final class LicenseTextPool {
+
+	/**
+	 * Minimum length of a text to be pooled
+	 */
+	public static final int MIN_TEXT_LENGTH = 256;
+
+	private static final LicenseTextPool SHARED_POOL = new LicenseTextPool();
+
+	/**
+	 * Number of independently locked segments - texts are spread across the segments by hash so that
+	 * concurrent parsing threads rarely contend for the same lock
+	 */
+	private static final int SEGMENT_COUNT = 16;
+
+	private final Map<String, WeakReference<String>>[] segments;
+
+	@SuppressWarnings("unchecked")
+	public LicenseTextPool() {
+		segments = new Map[SEGMENT_COUNT];
+		for (int i = 0; i < SEGMENT_COUNT; i++) {
+			segments[i] = new WeakHashMap<>();
+		}
+	}
+
+	/**
+	 * @return the pool shared by all listed license stores
+	 */
+	public static LicenseTextPool getSharedPool() {
+		return SHARED_POOL;
+	}
+
+	/**
+	 * @param text text to pool
+	 * @return a pooled instance with the same content as <code>text</code>, or <code>text</code> if it is null or too short to be pooled
+	 */
+	public @Nullable String intern(@Nullable String text) {
+		if (Objects.isNull(text) || text.length() < MIN_TEXT_LENGTH) {
+			return text;
+		}
+		Map<String, WeakReference<String>> segment = segmentFor(text);
+		synchronized (segment) {
+			WeakReference<String> ref = segment.get(text);
+			String existing = Objects.isNull(ref) ? null : ref.get();
+			if (Objects.nonNull(existing)) {
+				return existing;
+			}
+			segment.put(text, new WeakReference<>(text));
+			return text;
+		}
+	}
+
+	/**
+	 * @return number of distinct texts currently in the pool
+	 */
+	public int size() {
+		int retval = 0;
+		for (Map<String, WeakReference<String>> segment:segments) {
+			synchronized (segment) {
+				retval += segment.size();
+			}
+		}
+		return retval;
+	}
+
+	/**
+	 * @param text text to be pooled
+	 * @return the segment holding the text
+	 */
+	private Map<String, WeakReference<String>> segmentFor(String text) {
+		int hash = text.hashCode();
+		return segments[(hash ^ (hash >>> 16)) & (SEGMENT_COUNT - 1)];
+	}
+}
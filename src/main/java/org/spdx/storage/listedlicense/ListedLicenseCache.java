@@ -0,0 +1,232 @@
+/**
+ * Copyright (c) 2026 agent
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package org.spdx.storage.listedlicense;
+
+import java.lang.ref.SoftReference;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.ToLongFunction;
+
+import javax.annotation.Nullable;
+
+/**
+ * Default cache for listed license and listed exception JSON objects
+ *
+ * Entries are evicted in least recently used order once the total weight (estimated bytes of
+ * text held) exceeds the maximum weight.  Optionally, values are held through soft references
+ * so that the garbage collector may reclaim them under memory pressure.
+ *
+ * Pinned entries are held strongly, are not counted against the maximum weight and are never evicted.
+ *
+ * @author agent
+ *
+ * @param <V> type of the cached value
+ */
+public class ListedLicenseCache<V> implements IListedLicenseCache<V> {
+
+	/**
+	 * Maximum weight for an unbounded cache
+	 */
+	public static final long UNBOUNDED = Long.MAX_VALUE;
+
+	private static class Entry<V> {
+		V strongValue;
+		SoftReference<V> softValue;
+		long weight;
+
+		Entry(V value, long weight, boolean soft) {
+			if (soft) {
+				this.softValue = new SoftReference<>(value);
+			} else {
+				this.strongValue = value;
+			}
+			this.weight = weight;
+		}
+
+		@Nullable V getValue() {
+			return Objects.nonNull(strongValue) ? strongValue : softValue.get();
+		}
+	}
+
+	private final long maxWeight;
+	private final boolean softReferences;
+	private final ToLongFunction<V> weigher;
+	private final LinkedHashMap<String, Entry<V>> entries = new LinkedHashMap<>(16, 0.75f, true);
+	private final Map<String, V> pinned = new HashMap<>();
+	private long totalWeight = 0;
+
+	private final AtomicLong hitCount = new AtomicLong();
+	private final AtomicLong missCount = new AtomicLong();
+	private final AtomicLong evictionCount = new AtomicLong();
+
+	/**
+	 * @param maxWeight maximum total weight of unpinned entries before the least recently used entries are evicted
+	 * @param softReferences if true, unpinned values are held through soft references
+	 * @param weigher function returning the weight (estimated bytes of text) of a value
+	 */
+	public ListedLicenseCache(long maxWeight, boolean softReferences, ToLongFunction<V> weigher) {
+		Objects.requireNonNull(weigher, "Weigher can not be null");
+		this.maxWeight = maxWeight < 0 ? UNBOUNDED : maxWeight;
+		this.softReferences = softReferences;
+		this.weigher = weigher;
+	}
+
+	@Override
+	public synchronized @Nullable V get(String id) {
+		V retval = peek(id);
+		if (Objects.isNull(retval)) {
+			missCount.incrementAndGet();
+		} else {
+			hitCount.incrementAndGet();
+		}
+		return retval;
+	}
+
+	@Override
+	public synchronized @Nullable V peek(String id) {
+		V retval = pinned.get(id);
+		if (Objects.isNull(retval)) {
+			Entry<V> entry = entries.get(id);
+			if (Objects.nonNull(entry)) {
+				retval = entry.getValue();
+				if (Objects.isNull(retval)) {
+					// reclaimed by the garbage collector
+					entries.remove(id);
+					totalWeight -= entry.weight;
+					evictionCount.incrementAndGet();
+				}
+			}
+		}
+		return retval;
+	}
+
+	@Override
+	public synchronized void put(String id, V value) {
+		Objects.requireNonNull(id, "ID can not be null");
+		Objects.requireNonNull(value, "Value can not be null");
+		if (pinned.containsKey(id)) {
+			pinned.put(id, value);
+			return;
+		}
+		long weight = Math.max(0, weigher.applyAsLong(value));
+		Entry<V> previous = entries.put(id, new Entry<>(value, weight, softReferences));
+		if (Objects.nonNull(previous)) {
+			totalWeight -= previous.weight;
+		}
+		totalWeight += weight;
+		evict(id);
+	}
+
+	/**
+	 * Evict least recently used entries until the total weight is within the maximum
+	 * @param keepId ID of the entry just added - it is kept even if it alone exceeds the maximum weight
+	 */
+	private void evict(String keepId) {
+		Iterator<Map.Entry<String, Entry<V>>> iter = entries.entrySet().iterator();
+		while (totalWeight > maxWeight && iter.hasNext()) {
+			Map.Entry<String, Entry<V>> eldest = iter.next();
+			if (eldest.getKey().equals(keepId)) {
+				continue;
+			}
+			iter.remove();
+			totalWeight -= eldest.getValue().weight;
+			evictionCount.incrementAndGet();
+		}
+	}
+
+	@Override
+	public synchronized void pin(String id, V value) {
+		Objects.requireNonNull(id, "ID can not be null");
+		Objects.requireNonNull(value, "Value can not be null");
+		Entry<V> entry = entries.remove(id);
+		if (Objects.nonNull(entry)) {
+			totalWeight -= entry.weight;
+		}
+		pinned.put(id, value);
+	}
+
+	@Override
+	public synchronized boolean isPinned(String id) {
+		return pinned.containsKey(id);
+	}
+
+	@Override
+	public synchronized @Nullable V remove(String id) {
+		V retval = pinned.remove(id);
+		Entry<V> entry = entries.remove(id);
+		if (Objects.nonNull(entry)) {
+			totalWeight -= entry.weight;
+			if (Objects.isNull(retval)) {
+				retval = entry.getValue();
+			}
+		}
+		return retval;
+	}
+
+	@Override
+	public synchronized void clear() {
+		entries.clear();
+		pinned.clear();
+		totalWeight = 0;
+	}
+
+	@Override
+	public synchronized int size() {
+		return entries.size() + pinned.size();
+	}
+
+	/**
+	 * @return total weight of the unpinned entries
+	 */
+	public synchronized long getTotalWeight() {
+		return totalWeight;
+	}
+
+	/**
+	 * @return the maximum weight for unpinned entries
+	 */
+	public long getMaxWeight() {
+		return maxWeight;
+	}
+
+	/**
+	 * @return true if unpinned values are held through soft references
+	 */
+	public boolean isSoftReferences() {
+		return softReferences;
+	}
+
+	@Override
+	public long getHitCount() {
+		return hitCount.get();
+	}
+
+	@Override
+	public long getMissCount() {
+		return missCount.get();
+	}
+
+	@Override
+	public long getEvictionCount() {
+		return evictionCount.get();
+	}
+}
@@ -0,0 +1,238 @@
+/**
+ * Copyright (c) 2026 agent
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package org.spdx.storage.listedlicense;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+import javax.annotation.Nullable;
+
+/**
+ * Immutable case insensitive index of listed license and listed exception IDs
+ *
+ * The index is an open addressing hash table keyed by the ASCII case folded ID.  A single probe answers
+ * whether an ID is listed, its case sensitive form and whether it is a license or an exception.  Lookups
+ * do not allocate and do not require any locks, and may be made on a region of a larger character
+ * sequence (e.g. the ID portion of an object URI).
+ *
+ * Only ASCII letters are case folded - SPDX license and exception IDs are restricted to ASCII letters,
+ * digits, "-", "." and "+".  If the same ID is used for both a license and an exception, the license is indexed.
+ *
+ * The index also holds unmodifiable lists of the indexed license and exception IDs which may be shared by all callers.
+ *
+ * @author agent
+ *
+ */
+public final class ListedLicenseIdIndex {
+
+	/**
+	 * Index containing no IDs
+	 */
+	public static final ListedLicenseIdIndex EMPTY = new ListedLicenseIdIndex(new String[1], new boolean[1], new int[1],
+			Collections.emptyList(), Collections.emptyList());
+
+	private final String[] ids;
+	private final boolean[] exceptions;
+	private final int[] hashes;
+	private final int mask;
+	private final List<String> licenseIds;
+	private final List<String> exceptionIds;
+
+	private ListedLicenseIdIndex(String[] ids, boolean[] exceptions, int[] hashes, 
+			List<String> licenseIds, List<String> exceptionIds) {
+		this.ids = ids;
+		this.exceptions = exceptions;
+		this.hashes = hashes;
+		this.mask = ids.length - 1;
+		this.licenseIds = Collections.unmodifiableList(licenseIds);
+		this.exceptionIds = Collections.unmodifiableList(exceptionIds);
+	}
+
+	/**
+	 * @param licenseIds case sensitive listed license IDs
+	 * @param exceptionIds case sensitive listed exception IDs
+	 * @return an index of the license and exception IDs
+	 */
+	public static ListedLicenseIdIndex build(Collection<String> licenseIds, Collection<String> exceptionIds) {
+		Objects.requireNonNull(licenseIds, "License IDs can not be null");
+		Objects.requireNonNull(exceptionIds, "Exception IDs can not be null");
+		int capacity = Integer.highestOneBit(Math.max(1, licenseIds.size() + exceptionIds.size()) * 2 - 1) << 1;
+		String[] ids = new String[capacity];
+		boolean[] exceptions = new boolean[capacity];
+		int[] hashes = new int[capacity];
+		List<String> indexedLicenseIds = new ArrayList<>(licenseIds.size());
+		for (String id:licenseIds) {
+			if (insert(ids, exceptions, hashes, id, false)) {
+				indexedLicenseIds.add(id);
+			}
+		}
+		List<String> indexedExceptionIds = new ArrayList<>(exceptionIds.size());
+		for (String id:exceptionIds) {
+			if (insert(ids, exceptions, hashes, id, true)) {
+				indexedExceptionIds.add(id);
+			}
+		}
+		return new ListedLicenseIdIndex(ids, exceptions, hashes, indexedLicenseIds, indexedExceptionIds);
+	}
+
+	/**
+	 * @return true if the ID was added, false if an ID which differs only in case is already present
+	 */
+	private static boolean insert(String[] ids, boolean[] exceptions, int[] hashes, String id, boolean isException) {
+		int hash = hash(id, 0, id.length());
+		int mask = ids.length - 1;
+		int slot = hash & mask;
+		while (Objects.nonNull(ids[slot])) {
+			if (hashes[slot] == hash && foldedEquals(ids[slot], id, 0, id.length())) {
+				return false;
+			}
+			slot = (slot + 1) & mask;
+		}
+		ids[slot] = id;
+		exceptions[slot] = isException;
+		hashes[slot] = hash;
+		return true;
+	}
+
+	private static char fold(char c) {
+		return c >= 'A' && c <= 'Z' ? (char)(c + ('a' - 'A')) : c;
+	}
+
+	private static int hash(CharSequence chars, int start, int end) {
+		int h = 0;
+		for (int i = start; i < end; i++) {
+			h = 31 * h + fold(chars.charAt(i));
+		}
+		return h ^ (h >>> 16);
+	}
+
+	private static boolean foldedEquals(String id, CharSequence chars, int start, int end) {
+		if (id.length() != end - start) {
+			return false;
+		}
+		for (int i = 0; i < id.length(); i++) {
+			if (fold(id.charAt(i)) != fold(chars.charAt(start + i))) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * @param chars character sequence containing the case insensitive ID
+	 * @param start index of the first character of the ID
+	 * @param end index after the last character of the ID
+	 * @return the position of the ID in the index or -1 if the ID is not a listed license or exception ID
+	 */
+	public int indexOf(CharSequence chars, int start, int end) {
+		int hash = hash(chars, start, end);
+		int slot = hash & mask;
+		String id;
+		while (Objects.nonNull(id = ids[slot])) {
+			if (hashes[slot] == hash && foldedEquals(id, chars, start, end)) {
+				return slot;
+			}
+			slot = (slot + 1) & mask;
+		}
+		return -1;
+	}
+
+	/**
+	 * @param id case insensitive ID
+	 * @return the position of the ID in the index or -1 if the ID is not a listed license or exception ID
+	 */
+	public int indexOf(CharSequence id) {
+		return indexOf(id, 0, id.length());
+	}
+
+	/**
+	 * @param index position returned by <code>indexOf</code>
+	 * @return the case sensitive ID
+	 */
+	public String idAt(int index) {
+		return ids[index];
+	}
+
+	/**
+	 * @param index position returned by <code>indexOf</code>
+	 * @return true if the ID is a listed exception ID, false if it is a listed license ID
+	 */
+	public boolean isExceptionAt(int index) {
+		return exceptions[index];
+	}
+
+	/**
+	 * @param id case insensitive ID
+	 * @return true if the ID is a listed license ID
+	 */
+	public boolean isLicenseId(CharSequence id) {
+		int index = indexOf(id);
+		return index >= 0 && !exceptions[index];
+	}
+
+	/**
+	 * @param id case insensitive ID
+	 * @return true if the ID is a listed exception ID
+	 */
+	public boolean isExceptionId(CharSequence id) {
+		int index = indexOf(id);
+		return index >= 0 && exceptions[index];
+	}
+
+	/**
+	 * @param id case insensitive ID
+	 * @return the case sensitive license ID or null if the ID is not a listed license ID
+	 */
+	public @Nullable String getLicenseId(CharSequence id) {
+		int index = indexOf(id);
+		return index >= 0 && !exceptions[index] ? ids[index] : null;
+	}
+
+	/**
+	 * @param id case insensitive ID
+	 * @return the case sensitive exception ID or null if the ID is not a listed exception ID
+	 */
+	public @Nullable String getExceptionId(CharSequence id) {
+		int index = indexOf(id);
+		return index >= 0 && exceptions[index] ? ids[index] : null;
+	}
+
+	/**
+	 * @return number of IDs in the index
+	 */
+	public int size() {
+		return licenseIds.size() + exceptionIds.size();
+	}
+
+	/**
+	 * @return unmodifiable list of the case sensitive license IDs
+	 */
+	public List<String> getLicenseIds() {
+		return licenseIds;
+	}
+
+	/**
+	 * @return unmodifiable list of the case sensitive exception IDs
+	 */
+	public List<String> getExceptionIds() {
+		return exceptionIds;
+	}
+}
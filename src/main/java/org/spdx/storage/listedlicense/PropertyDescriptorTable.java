@@ -0,0 +1,109 @@
+/**
+ * Copyright (c) 2026 agent
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package org.spdx.storage.listedlicense;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import org.spdx.storage.PropertyDescriptor;
+
+/**
+ * Immutable table mapping property descriptors to small integer ordinals
+ *
+ * The ordinals are computed once when the table is built so that property access can dispatch on an
+ * <code>int</code> rather than looking up and switching on property names.  Lookups are first made by
+ * identity, which covers the descriptor constants used by the model classes, and fall back to
+ * <code>PropertyDescriptor.equals</code> for equivalent descriptors constructed elsewhere.
+ *
+ * @author agent
+ *
+ */
+final class PropertyDescriptorTable {
+
+	/**
+	 * Ordinal returned for descriptors which are not in the table
+	 */
+	static final int NOT_FOUND = -1;
+
+	private final Map<PropertyDescriptor, Integer> identityOrdinals;
+	private final Map<PropertyDescriptor, Integer> ordinals;
+	private final List<PropertyDescriptor> descriptors;
+
+	/**
+	 * @param descriptorOrdinals map of each descriptor to its ordinal - the iteration order is preserved for <code>getDescriptors()</code>
+	 */
+	PropertyDescriptorTable(Map<PropertyDescriptor, Integer> descriptorOrdinals) {
+		Objects.requireNonNull(descriptorOrdinals, "Descriptor ordinals can not be null");
+		this.identityOrdinals = new IdentityHashMap<>(descriptorOrdinals);
+		this.ordinals = new HashMap<>(descriptorOrdinals);
+		this.descriptors = Collections.unmodifiableList(new ArrayList<>(descriptorOrdinals.keySet()));
+	}
+
+	/**
+	 * @param descriptors descriptors to include in the table - each distinct descriptor is assigned the next ordinal
+	 */
+	PropertyDescriptorTable(Collection<PropertyDescriptor> descriptors) {
+		this(sequentialOrdinals(descriptors));
+	}
+
+	private static Map<PropertyDescriptor, Integer> sequentialOrdinals(Collection<PropertyDescriptor> descriptors) {
+		Objects.requireNonNull(descriptors, "Descriptors can not be null");
+		Map<PropertyDescriptor, Integer> retval = new LinkedHashMap<>();
+		for (PropertyDescriptor descriptor:descriptors) {
+			retval.putIfAbsent(descriptor, retval.size());
+		}
+		return retval;
+	}
+
+	/**
+	 * @param descriptor property descriptor
+	 * @return the ordinal for the descriptor or <code>NOT_FOUND</code> if the descriptor is not in the table
+	 */
+	int ordinalOf(PropertyDescriptor descriptor) {
+		Integer retval = identityOrdinals.get(descriptor);
+		if (Objects.isNull(retval)) {
+			retval = ordinals.get(descriptor);
+			if (Objects.isNull(retval)) {
+				return NOT_FOUND;
+			}
+		}
+		return retval;
+	}
+
+	/**
+	 * @param descriptor property descriptor
+	 * @return true if the descriptor is in the table
+	 */
+	boolean contains(PropertyDescriptor descriptor) {
+		return ordinalOf(descriptor) != NOT_FOUND;
+	}
+
+	/**
+	 * @return unmodifiable list of the descriptors in the table
+	 */
+	List<PropertyDescriptor> getDescriptors() {
+		return descriptors;
+	}
+}
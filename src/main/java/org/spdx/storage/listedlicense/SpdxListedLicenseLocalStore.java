@@ -38,6 +38,11 @@ public class SpdxListedLicenseLocalStore extends SpdxListedLicenseModelStore {
 		super();
 	}
 
+	@Override
+	protected IListedLicenseMetrics.LoadSource getLoadSource() {
+		return IListedLicenseMetrics.LoadSource.CLASSPATH;
+	}
+
 	@Override
 	public InputStream getTocInputStream() throws IOException {
 		String fileName = LISTED_LICENSE_JSON_LOCAL_DIR + "/" + LICENSE_TOC_FILENAME;
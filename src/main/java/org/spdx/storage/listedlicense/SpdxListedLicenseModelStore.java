@@ -18,20 +18,26 @@
 package org.spdx.storage.listedlicense;
 
 import java.io.BufferedReader;
+import java.io.FilterInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.net.MalformedURLException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Map.Entry;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 import java.util.stream.Stream;
@@ -40,8 +46,10 @@ import javax.annotation.Nullable;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.spdx.Configuration;
 import org.spdx.core.DuplicateSpdxIdException;
 import org.spdx.core.InvalidSPDXAnalysisException;
+import org.spdx.core.RuntimeSpdxException;
 import org.spdx.core.SpdxIdNotFoundException;
 import org.spdx.core.TypedValue;
 import org.spdx.library.SpdxModelFactory;
@@ -61,7 +69,9 @@ import com.google.gson.Gson;
  * 
  * License information is stored in a LicenseJson file with the ID being Listed License ID
  * License Exception information is stored in an ExceptionJson file with the ID being the Listed Exception ID
- * CrossRef information is stored within the LicenseJson file.  Id's are anonymous and generated. 
+ * CrossRef information is stored within the LicenseJson file.  Id's are anonymous and are assigned when the
+ * license JSON is parsed based on the license ID and the position of the cross reference so that the same
+ * cross reference always has the same ID, even if the license is evicted from the cache and read again.
  * 
  * @author Gary O'Neall
  *
@@ -74,7 +84,15 @@ public abstract class SpdxListedLicenseModelStore implements IListedLicenseStore
 	static final String EXCEPTION_TOC_FILENAME = "exceptions.json";
 	static final String JSON_SUFFIX = ".json";
 	private static final String ANONYMOUS_ID_PREFIX = "SpdxLicenseGeneratedId-";
+	static final String CROSS_REF_ID_PREFIX = ANONYMOUS_ID_PREFIX + "crossRef-";
 	public static final String LISTED_LICENSE_NAMESPACE = SpdxConstantsCompatV2.LISTED_LICENSE_NAMESPACE_PREFIX;
+	static final String CONFIG_PROPERTY_CACHE_MAX_BYTES = "org.spdx.listedLicenseCacheMaxBytes";
+	static final String CONFIG_PROPERTY_CACHE_SOFT_REFERENCES = "org.spdx.listedLicenseCacheSoftReferences";
+	
+	/**
+	 * Metrics reported by all listed license stores
+	 */
+	private static volatile IListedLicenseMetrics metrics = IListedLicenseMetrics.NOOP;
 	
 	/**
 	 * Map of lower case to correct case license IDs
@@ -84,9 +102,33 @@ public abstract class SpdxListedLicenseModelStore implements IListedLicenseStore
 	 * Map of lower case to correct case exception IDs
 	 */
 	Map<String, String> exceptionIds = new HashMap<>();
-	Map<String, LicenseJson> listedLicenseCache = null;
-	Map<String, ExceptionJson> listedExceptionCache = null;
-	Map<String, CrossRefJson> crossRefs = new HashMap<>();
+	/**
+	 * Immutable index of the license and exception IDs - replaced whenever <code>licenseIds</code> or
+	 * <code>exceptionIds</code> change so that it can be read without holding a lock
+	 */
+	volatile ListedLicenseIdIndex idIndex = ListedLicenseIdIndex.EMPTY;
+	/**
+	 * Map of case sensitive license ID to the table of contents entry for the loaded license list
+	 */
+	Map<String, LicenseJsonTOC.LicenseJson> licenseTocEntries = new HashMap<>();
+	/**
+	 * Map of case sensitive exception ID to the table of contents entry for the loaded license list
+	 */
+	Map<String, ExceptionJsonTOC.ExceptionJson> exceptionTocEntries = new HashMap<>();
+	/**
+	 * Map of case sensitive license ID to the SHA-256 digest of the license JSON last read
+	 */
+	private final Map<String, byte[]> licenseDigests = new ConcurrentHashMap<>();
+	/**
+	 * Map of case sensitive exception ID to the SHA-256 digest of the exception JSON last read
+	 */
+	private final Map<String, byte[]> exceptionDigests = new ConcurrentHashMap<>();
+	IListedLicenseCache<LicenseJson> listedLicenseCache;
+	IListedLicenseCache<ExceptionJson> listedExceptionCache;
+	/**
+	 * Cross references created in the store - cross references read from the license JSON are resolved through the license
+	 */
+	Map<String, CrossRefJson> crossRefs = new ConcurrentHashMap<>();
 	String licenseListVersion = DEFAULT_LICENSE_LIST_VERSION;
 	String licenseListReleaseDate = new SimpleDateFormat(SpdxConstantsCompatV2.SPDX_DATE_FORMAT).format(new Date());
 	LicenseCreationInfo licenseCreationInfo;
@@ -113,7 +155,83 @@ public abstract class SpdxListedLicenseModelStore implements IListedLicenseStore
 		
 	};
 
-	Gson gson = new Gson();	// we should be able to reuse since all access is within write locks
+	Gson gson = new Gson();	// Gson instances are thread safe
+	
+	/**
+	 * Counts the bytes read from the underlying stream
+	 */
+	private static class CountingInputStream extends FilterInputStream {
+		long count = 0;
+		
+		CountingInputStream(InputStream in) {
+			super(in);
+		}
+		
+		@Override
+		public int read() throws IOException {
+			int retval = super.read();
+			if (retval >= 0) {
+				count++;
+			}
+			return retval;
+		}
+		
+		@Override
+		public int read(byte[] b, int off, int len) throws IOException {
+			int retval = super.read(b, off, len);
+			if (retval > 0) {
+				count += retval;
+			}
+			return retval;
+		}
+		
+		@Override
+		public long skip(long n) throws IOException {
+			long retval = super.skip(n);
+			count += retval;
+			return retval;
+		}
+	}
+	
+	/**
+	 * @param metrics metrics reported by all listed license stores - if null, metrics are no longer reported
+	 */
+	public static void setMetrics(@Nullable IListedLicenseMetrics metrics) {
+		SpdxListedLicenseModelStore.metrics = Objects.isNull(metrics) ? IListedLicenseMetrics.NOOP : metrics;
+	}
+	
+	/**
+	 * @return metrics reported by all listed license stores
+	 */
+	public static IListedLicenseMetrics getMetrics() {
+		return metrics;
+	}
+	
+	/**
+	 * @return the source reported in the metrics for JSON read by this store
+	 */
+	protected IListedLicenseMetrics.LoadSource getLoadSource() {
+		return IListedLicenseMetrics.LoadSource.OTHER;
+	}
+	
+	private void lockRead() {
+		acquire(listedLicenseModificationLock.readLock(), false);
+	}
+	
+	private void lockWrite() {
+		acquire(listedLicenseModificationLock.writeLock(), true);
+	}
+	
+	/**
+	 * Acquire a lock reporting the time spent waiting if the lock is not immediately available
+	 */
+	private void acquire(Lock lock, boolean writeLock) {
+		if (!lock.tryLock()) {
+			long start = System.nanoTime();
+			lock.lock();
+			metrics.lockWaited(this, writeLock, System.nanoTime() - start);
+		}
+	}
 	
 	public static String objectUriToLicenseOrExceptionId(String objectUri) {
 		return objectUri.substring(LISTED_LICENSE_NAMESPACE.length());
@@ -127,6 +245,35 @@ public abstract class SpdxListedLicenseModelStore implements IListedLicenseStore
 	 * @throws InvalidSPDXAnalysisException on error loading ids
 	 */
 	public SpdxListedLicenseModelStore() throws InvalidSPDXAnalysisException {
+		this(true);
+	}
+	
+	/**
+	 * Constructor for subclasses which need to set fields used by the input stream methods before the
+	 * license and exception IDs are loaded - such subclasses must call <code>initialize()</code>
+	 * @param initialize if true, load the license and exception IDs
+	 * @throws InvalidSPDXAnalysisException on error loading ids
+	 */
+	protected SpdxListedLicenseModelStore(boolean initialize) throws InvalidSPDXAnalysisException {
+		long cacheMaxBytes = ListedLicenseCache.UNBOUNDED;
+		try {
+			cacheMaxBytes = Long.parseLong(Configuration.getInstance().getProperty(CONFIG_PROPERTY_CACHE_MAX_BYTES));
+		} catch(NumberFormatException nfe) {
+			// Ignore parse failures - in this case the cache is unbounded
+		}
+		boolean softReferences = Boolean.parseBoolean(Configuration.getInstance().getProperty(CONFIG_PROPERTY_CACHE_SOFT_REFERENCES, "false"));
+		listedLicenseCache = new ListedLicenseCache<>(cacheMaxBytes, softReferences, LicenseJson::estimatedTextBytes);
+		listedExceptionCache = new ListedLicenseCache<>(cacheMaxBytes, softReferences, ExceptionJson::estimatedTextBytes);
+		if (initialize) {
+			initialize();
+		}
+	}
+	
+	/**
+	 * Loads the license and exception IDs and the license list creation information
+	 * @throws InvalidSPDXAnalysisException on error loading ids
+	 */
+	protected void initialize() throws InvalidSPDXAnalysisException {
 		loadIds();
 		licenseCreator = new LicenseCreatorAgent(this.getLicenseListVersion());
 		licenseCreationInfo = new LicenseCreationInfo(licenseCreator, this.getLicenseListReleaseDate());
@@ -161,54 +308,263 @@ public abstract class SpdxListedLicenseModelStore implements IListedLicenseStore
 	 * @throws InvalidSPDXAnalysisException
 	 */
 	private void loadIds() throws InvalidSPDXAnalysisException {
-        listedLicenseModificationLock.writeLock().lock();
+		//NOTE: This includes deprecated licenses - should this be changed to only return non-deprecated licenses?
+		LicenseJsonTOC jsonToc = gson.fromJson(readTocJson(false), LicenseJsonTOC.class);
+		ExceptionJsonTOC exceptionToc = gson.fromJson(readTocJson(true), ExceptionJsonTOC.class);
+        lockWrite();
         try {
-            listedLicenseCache = new HashMap<>(); // clear the cache
-            listedExceptionCache = new HashMap<>();
-            licenseIds = new HashMap<>(); //Clear the listed license IDs to avoid stale licenses.
-             //NOTE: This includes deprecated licenses - should this be changed to only return non-deprecated licenses?
-            InputStream tocStream = null;
-            BufferedReader reader = null;
-            try {
-            	// read the license IDs
-            	tocStream = getTocInputStream();
-                reader = new BufferedReader(new InputStreamReader(tocStream, "UTF-8"));
-                StringBuilder tocJsonStr = new StringBuilder();
-                String line;
-                while((line = reader.readLine()) != null) {
-                	tocJsonStr.append(line);
-                }
-                LicenseJsonTOC jsonToc = gson.fromJson(tocJsonStr.toString(), LicenseJsonTOC.class);
-                licenseIds = jsonToc.getLicenseIds();
-                this.licenseListVersion = jsonToc.getLicenseListVersion();
-                this.licenseListReleaseDate = jsonToc.getReleaseDate();
-                
-                // read the exception ID's
-                tocStream = getExceptionTocInputStream();
-                reader = new BufferedReader(new InputStreamReader(tocStream, "UTF-8"));
-                tocJsonStr  = new StringBuilder();
-                while((line = reader.readLine()) != null) {
-                	tocJsonStr.append(line);
-                }
-                ExceptionJsonTOC exceptionToc = gson.fromJson(tocJsonStr.toString(), ExceptionJsonTOC.class);
-                exceptionIds = exceptionToc.getExceptionIds();
-            } catch (MalformedURLException e) {
-				throw new SpdxListedLicenseException("License TOC URL invalid", e) ;
-			} catch (IOException e) {
-				throw new SpdxListedLicenseException("I/O error reading license TOC", e);
-			} finally {
-            	if (reader != null) {
-            		try {
-						reader.close();
-					} catch (IOException e) {
-						logger.warn("Unable to close JSON TOC reader", e);
-					}
-            	}
-            }
+            listedLicenseCache.clear();
+            listedExceptionCache.clear();
+            licenseIds = jsonToc.getLicenseIds();
+            exceptionIds = exceptionToc.getExceptionIds();
+            rebuildIdIndex();
+            licenseTocEntries = licenseTocEntries(jsonToc);
+            exceptionTocEntries = exceptionTocEntries(exceptionToc);
+            this.licenseListVersion = jsonToc.getLicenseListVersion();
+            this.licenseListReleaseDate = jsonToc.getReleaseDate();
         } finally {
             listedLicenseModificationLock.writeLock().unlock();
         }
 	}
+	
+	/**
+	 * Rebuild the ID index from the license and exception IDs - must be called while holding the write lock
+	 */
+	private void rebuildIdIndex() {
+		idIndex = ListedLicenseIdIndex.build(licenseIds.values(), exceptionIds.values());
+	}
+	
+	/**
+	 * Read the JSON for the license or exception table of contents from the underlying input stream
+	 * @param isException true if the exception table of contents should be read
+	 * @return JSON string
+	 * @throws InvalidSPDXAnalysisException on I/O errors
+	 */
+	private String readTocJson(boolean isException) throws InvalidSPDXAnalysisException {
+		BufferedReader reader = null;
+		try {
+			long start = System.nanoTime();
+			CountingInputStream tocStream = new CountingInputStream(isException ? getExceptionTocInputStream() : getTocInputStream());
+			reader = new BufferedReader(new InputStreamReader(tocStream, "UTF-8"));
+			StringBuilder tocJsonStr = new StringBuilder();
+			String line;
+			while((line = reader.readLine()) != null) {
+				tocJsonStr.append(line);
+			}
+			metrics.loaded(this, isException ? EXCEPTION_TOC_FILENAME : LICENSE_TOC_FILENAME, getLoadSource(), 
+					System.nanoTime() - start, tocStream.count);
+			return tocJsonStr.toString();
+		} catch (MalformedURLException e) {
+			throw new SpdxListedLicenseException("License TOC URL invalid", e) ;
+		} catch (IOException e) {
+			throw new SpdxListedLicenseException("I/O error reading license TOC", e);
+		} finally {
+			if (reader != null) {
+				try {
+					reader.close();
+				} catch (IOException e) {
+					logger.warn("Unable to close JSON TOC reader", e);
+				}
+			}
+		}
+	}
+	
+	/**
+	 * @param toc license table of contents
+	 * @return map of case sensitive license ID to the table of contents entry
+	 */
+	private static Map<String, LicenseJsonTOC.LicenseJson> licenseTocEntries(LicenseJsonTOC toc) {
+		Map<String, LicenseJsonTOC.LicenseJson> retval = new HashMap<>();
+		if (Objects.nonNull(toc.getLicenses())) {
+			for (LicenseJsonTOC.LicenseJson entry:toc.getLicenses()) {
+				retval.put(entry.getLicenseId(), entry);
+			}
+		}
+		return retval;
+	}
+	
+	/**
+	 * @param toc exception table of contents
+	 * @return map of case sensitive exception ID to the table of contents entry
+	 */
+	private static Map<String, ExceptionJsonTOC.ExceptionJson> exceptionTocEntries(ExceptionJsonTOC toc) {
+		Map<String, ExceptionJsonTOC.ExceptionJson> retval = new HashMap<>();
+		if (Objects.nonNull(toc.getExceptions())) {
+			for (ExceptionJsonTOC.ExceptionJson entry:toc.getExceptions()) {
+				retval.put(entry.getLicenseExceptionId(), entry);
+			}
+		}
+		return retval;
+	}
+	
+	/**
+	 * Update the store to the license list currently available from the underlying input streams.
+	 * 
+	 * The table of contents entries for the new license list are compared to the currently loaded entries to determine
+	 * the added, changed and removed IDs.  Changed licenses and exceptions which had already been read are read again
+	 * before this method returns.  Licenses and exceptions which were created or modified in this store are kept
+	 * as modified.
+	 * 
+	 * The table of contents does not include a hash of the license text, so a change to the text or templates of a
+	 * license may not be reflected in its table of contents entry.  When the license list version changes, the JSON
+	 * for each license and exception which has already been read is therefore read again and compared to the digest
+	 * of the JSON it was parsed from - if the download cache is enabled this is a conditional request.  Entries whose
+	 * JSON is unchanged are kept, the others are replaced and reported as changed.
+	 * @return differences between the previously loaded and the new license list
+	 * @throws InvalidSPDXAnalysisException on errors reading the table of contents or the already read licenses and
+	 * exceptions - the store is not updated
+	 */
+	public LicenseListDiff updateLicenseList() throws InvalidSPDXAnalysisException {
+		LicenseJsonTOC jsonToc = gson.fromJson(readTocJson(false), LicenseJsonTOC.class);
+		ExceptionJsonTOC exceptionToc = gson.fromJson(readTocJson(true), ExceptionJsonTOC.class);
+		Map<String, LicenseJsonTOC.LicenseJson> newLicenseTocEntries = licenseTocEntries(jsonToc);
+		Map<String, ExceptionJsonTOC.ExceptionJson> newExceptionTocEntries = exceptionTocEntries(exceptionToc);
+		List<String> addedIds = new ArrayList<>();
+		List<String> changedIds = new ArrayList<>();
+		List<String> removedIds = new ArrayList<>();
+		List<String> licensesToReload = new ArrayList<>();
+		List<String> exceptionsToReload = new ArrayList<>();
+		List<String> licensesToCompare = new ArrayList<>();
+		List<String> exceptionsToCompare = new ArrayList<>();
+		lockRead();
+		try {
+			if (!Objects.equals(this.licenseListVersion, jsonToc.getLicenseListVersion())) {
+				for (Entry<String, LicenseJsonTOC.LicenseJson> entry:newLicenseTocEntries.entrySet()) {
+					String id = entry.getKey();
+					if (entry.getValue().isSameListing(licenseTocEntries.get(id)) && !listedLicenseCache.isPinned(id) &&
+							Objects.nonNull(listedLicenseCache.peek(id))) {
+						licensesToCompare.add(id);
+					}
+				}
+				for (Entry<String, ExceptionJsonTOC.ExceptionJson> entry:newExceptionTocEntries.entrySet()) {
+					String id = entry.getKey();
+					if (entry.getValue().isSameListing(exceptionTocEntries.get(id)) && !listedExceptionCache.isPinned(id) &&
+							Objects.nonNull(listedExceptionCache.peek(id))) {
+						exceptionsToCompare.add(id);
+					}
+				}
+			}
+		} finally {
+			listedLicenseModificationLock.readLock().unlock();
+		}
+		// the license text may have changed without a change to the table of contents entry
+		Map<String, LicenseJson> updatedLicenses = new HashMap<>();
+		Map<String, byte[]> updatedLicenseDigests = new HashMap<>();
+		for (String id:licensesToCompare) {
+			String json = readJson(id, false);
+			byte[] digest = digest(json);
+			if (!isSameDigest(licenseDigests.get(id), digest)) {
+				updatedLicenses.put(id, parseLicenseJson(id, json));
+				updatedLicenseDigests.put(id, digest);
+			}
+		}
+		Map<String, ExceptionJson> updatedExceptions = new HashMap<>();
+		Map<String, byte[]> updatedExceptionDigests = new HashMap<>();
+		for (String id:exceptionsToCompare) {
+			String json = readJson(id, true);
+			byte[] digest = digest(json);
+			if (!isSameDigest(exceptionDigests.get(id), digest)) {
+				updatedExceptions.put(id, parseExceptionJson(id, json));
+				updatedExceptionDigests.put(id, digest);
+			}
+		}
+		String previousVersion;
+		lockWrite();
+		try {
+			previousVersion = this.licenseListVersion;
+			Map<String, String> newLicenseIds = jsonToc.getLicenseIds();
+			for (Entry<String, LicenseJsonTOC.LicenseJson> entry:newLicenseTocEntries.entrySet()) {
+				String id = entry.getKey();
+				LicenseJsonTOC.LicenseJson previous = licenseTocEntries.get(id);
+				if (Objects.isNull(previous)) {
+					addedIds.add(id);
+				} else if (!previous.isSameListing(entry.getValue()) || updatedLicenses.containsKey(id)) {
+					changedIds.add(id);
+					if (listedLicenseCache.isPinned(id)) {
+						logger.warn("License "+id+" changed in license list version "+jsonToc.getLicenseListVersion()+
+								" but has been modified locally - keeping the local modifications");
+					} else if (updatedLicenses.containsKey(id)) {
+						listedLicenseCache.put(id, updatedLicenses.get(id));
+						licenseDigests.put(id, updatedLicenseDigests.get(id));
+					} else if (Objects.nonNull(listedLicenseCache.remove(id))) {
+						licensesToReload.add(id);
+					}
+				}
+			}
+			for (String id:licenseIds.values()) {
+				if (!newLicenseTocEntries.containsKey(id)) {
+					if (listedLicenseCache.isPinned(id)) {
+						// created or modified locally
+						newLicenseIds.put(id.toLowerCase(), id);
+					} else {
+						removedIds.add(id);
+						listedLicenseCache.remove(id);
+						licenseDigests.remove(id);
+					}
+				}
+			}
+			Map<String, String> newExceptionIds = exceptionToc.getExceptionIds();
+			for (Entry<String, ExceptionJsonTOC.ExceptionJson> entry:newExceptionTocEntries.entrySet()) {
+				String id = entry.getKey();
+				ExceptionJsonTOC.ExceptionJson previous = exceptionTocEntries.get(id);
+				if (Objects.isNull(previous)) {
+					addedIds.add(id);
+				} else if (!previous.isSameListing(entry.getValue()) || updatedExceptions.containsKey(id)) {
+					changedIds.add(id);
+					if (listedExceptionCache.isPinned(id)) {
+						logger.warn("Exception "+id+" changed in license list version "+jsonToc.getLicenseListVersion()+
+								" but has been modified locally - keeping the local modifications");
+					} else if (updatedExceptions.containsKey(id)) {
+						listedExceptionCache.put(id, updatedExceptions.get(id));
+						exceptionDigests.put(id, updatedExceptionDigests.get(id));
+					} else if (Objects.nonNull(listedExceptionCache.remove(id))) {
+						exceptionsToReload.add(id);
+					}
+				}
+			}
+			for (String id:exceptionIds.values()) {
+				if (!newExceptionTocEntries.containsKey(id)) {
+					if (listedExceptionCache.isPinned(id)) {
+						newExceptionIds.put(id.toLowerCase(), id);
+					} else {
+						removedIds.add(id);
+						listedExceptionCache.remove(id);
+						exceptionDigests.remove(id);
+					}
+				}
+			}
+			licenseIds = newLicenseIds;
+			exceptionIds = newExceptionIds;
+			rebuildIdIndex();
+			licenseTocEntries = newLicenseTocEntries;
+			exceptionTocEntries = newExceptionTocEntries;
+			this.licenseListVersion = jsonToc.getLicenseListVersion();
+			this.licenseListReleaseDate = jsonToc.getReleaseDate();
+			if (!Objects.equals(previousVersion, this.licenseListVersion)) {
+				licenseCreator = new LicenseCreatorAgent(this.licenseListVersion);
+				licenseCreationInfo = new LicenseCreationInfo(licenseCreator, this.licenseListReleaseDate);
+			}
+		} finally {
+			listedLicenseModificationLock.writeLock().unlock();
+		}
+		for (String id:licensesToReload) {
+			try {
+				prefetchLicenseJson(id);
+			} catch (InvalidSPDXAnalysisException e) {
+				logger.warn("Unable to read updated license "+id+" - it will be read on demand", e);
+			}
+		}
+		for (String id:exceptionsToReload) {
+			try {
+				prefetchExceptionJson(id);
+			} catch (InvalidSPDXAnalysisException e) {
+				logger.warn("Unable to read updated exception "+id+" - it will be read on demand", e);
+			}
+		}
+		LicenseListDiff retval = new LicenseListDiff(previousVersion, this.licenseListVersion, addedIds, changedIds, removedIds);
+		logger.info(retval.toString());
+		return retval;
+	}
 
 	/* (non-Javadoc)
 	 * @see org.spdx.storage.IModelStore#exists(java.lang.String, java.lang.String)
@@ -216,25 +572,24 @@ public abstract class SpdxListedLicenseModelStore implements IListedLicenseStore
 	@Override
 	public boolean exists(String objectUri) {
 		Objects.requireNonNull(objectUri, "Object URI can not be null");
-		String id;
 		if (objectUri.startsWith(LISTED_LICENSE_NAMESPACE)) {
-			id = objectUri.substring(LISTED_LICENSE_NAMESPACE.length());
-		} else if (getIdType(objectUri) == IdType.Anonymous ||
-				LicenseCreationInfo.CREATION_INFO_URI.equals(objectUri) || 
+			// license and exception IDs are checked without allocating the ID or locking
+			if (idIndex.indexOf(objectUri, LISTED_LICENSE_NAMESPACE.length(), objectUri.length()) >= 0) {
+				return true;
+			}
+		} else if (LicenseCreationInfo.CREATION_INFO_URI.equals(objectUri) || 
 				this.licenseCreator.getObjectUri().equals(objectUri)) {
-			id = objectUri;
-		} else {
+			return true;
+		} else if (getIdType(objectUri) != IdType.Anonymous) {
 			return false;
 		}
-		listedLicenseModificationLock.readLock().lock();
+		String id = objectUri.startsWith(LISTED_LICENSE_NAMESPACE) ? 
+				objectUri.substring(LISTED_LICENSE_NAMESPACE.length()) : objectUri;
 		try {
-			return this.licenseIds.containsKey(id.toLowerCase()) || 
-					this.exceptionIds.containsKey(id.toLowerCase()) ||
-					this.crossRefs.containsKey(id) ||
-					LicenseCreationInfo.CREATION_INFO_URI.equals(objectUri) ||
-					this.licenseCreator.getObjectUri().equals(objectUri);
-		} finally {
-			listedLicenseModificationLock.readLock().unlock();
+			return Objects.nonNull(getCrossRef(id));
+		} catch (InvalidSPDXAnalysisException e) {
+			logger.warn("Error resolving cross reference "+id, e);
+			return false;
 		}
 	}
 	
@@ -266,7 +621,7 @@ public abstract class SpdxListedLicenseModelStore implements IListedLicenseStore
 	public void create(TypedValue typedValue) throws InvalidSPDXAnalysisException {
 		boolean isSpdx3 = typedValue.getSpecVersion().startsWith("3.");
 		String id = objectUriToId(typedValue.getObjectUri());
-		listedLicenseModificationLock.writeLock().lock();
+		lockWrite();
 		try {
 			if (SpdxConstantsCompatV2.CLASS_CROSS_REF.equals(typedValue.getType())) {
 				CrossRefJson crossRef = new CrossRefJson();
@@ -274,20 +629,22 @@ public abstract class SpdxListedLicenseModelStore implements IListedLicenseStore
 				this.crossRefs.put(id, crossRef);
 			} else if ((isSpdx3 && SpdxConstantsV3.EXPANDED_LICENSING_LISTED_LICENSE.equals(typedValue.getType())) || 
 					(!isSpdx3 && SpdxConstantsCompatV2.CLASS_SPDX_LISTED_LICENSE.equals(typedValue.getType()))) {
-				if (this.licenseIds.containsKey(id.toLowerCase()) || this.exceptionIds.containsKey(id.toLowerCase())) {
+				if (idIndex.indexOf(id) >= 0) {
 					logger.error("Duplicate SPDX ID on create: "+id);
 					throw new DuplicateSpdxIdException("ID "+id+" already exists.");
 				}
 				this.licenseIds.put(id.toLowerCase(), id);
-				this.listedLicenseCache.put(id, new LicenseJson(id));
+				rebuildIdIndex();
+				this.listedLicenseCache.pin(id, new LicenseJson(id));
 			} else if ((isSpdx3 && SpdxConstantsV3.EXPANDED_LICENSING_LISTED_LICENSE_EXCEPTION.equals(typedValue.getType())) || 
 					(!isSpdx3 && SpdxConstantsCompatV2.CLASS_SPDX_LISTED_LICENSE_EXCEPTION.equals(typedValue.getType()))) {
-				if (this.licenseIds.containsKey(id.toLowerCase()) || this.exceptionIds.containsKey(id.toLowerCase())) {
+				if (idIndex.indexOf(id) >= 0) {
 					logger.error("Duplicate SPDX ID on create: "+id);
 					throw new DuplicateSpdxIdException("ID "+id+" already exists.");
 				}
 				this.exceptionIds.put(id.toLowerCase(), id);
-				this.listedExceptionCache.put(id,  new ExceptionJson(id));
+				rebuildIdIndex();
+				this.listedExceptionCache.pin(id, new ExceptionJson(id));
 			} else if (this.licenseCreationInfo.getTypedValue().equals(typedValue)) {
 				logger.warn("Ignoring the creation of a creationInfo for the listed license store");
 			} else if (this.licenseCreator.getTypedValue().equals(typedValue)) {
@@ -309,24 +666,22 @@ public abstract class SpdxListedLicenseModelStore implements IListedLicenseStore
 			return LicenseCreatorAgent.ALL_PROPERTY_DESCRIPTORS;
 		}
 		String id = objectUriToId(objectUri);
-		listedLicenseModificationLock.readLock().lock();
-		try {
-			if (licenseIds.containsKey(id.toLowerCase())) {
-				LicenseJson license = fetchLicenseJson(licenseIds.get(id.toLowerCase()));
-				return license.getPropertyValueDescriptors();
-				// NOTE: we're returning both version 2 and version 3 property value descriptors
-			} else if (exceptionIds.containsKey(id.toLowerCase())) {
-				ExceptionJson exc = fetchExceptionJson(exceptionIds.get(id.toLowerCase()));
-				return exc.getPropertyValueDescriptors();
-			} else if (crossRefs.containsKey(id)) {
-				return crossRefs.get(id).getPropertyValueDescriptors();
-				// Currently, there is no SPDX 3 support for cross refs
-			} else {
-				logger.error("ID "+id+" is not a listed license ID, crossRef ID nor a listed exception ID");
-				throw new SpdxIdNotFoundException("ID "+id+" is not a listed license ID. crossRef ID nor a listed exception ID");
-			}
-		} finally {
-			listedLicenseModificationLock.readLock().unlock();
+		// the fetch methods do their own locking
+		if (idIndex.isLicenseId(id)) {
+			LicenseJson license = fetchLicenseJson(id);
+			return license.getPropertyValueDescriptors();
+			// NOTE: we're returning both version 2 and version 3 property value descriptors
+		} else if (idIndex.isExceptionId(id)) {
+			ExceptionJson exc = fetchExceptionJson(id);
+			return exc.getPropertyValueDescriptors();
+		}
+		CrossRefJson crossRef = getCrossRef(id);
+		if (Objects.nonNull(crossRef)) {
+			return crossRef.getPropertyValueDescriptors();
+			// Currently, there is no SPDX 3 support for cross refs
+		} else {
+			logger.error("ID "+id+" is not a listed license ID, crossRef ID nor a listed exception ID");
+			throw new SpdxIdNotFoundException("ID "+id+" is not a listed license ID. crossRef ID nor a listed exception ID");
 		}
 	}
 
@@ -336,142 +691,378 @@ public abstract class SpdxListedLicenseModelStore implements IListedLicenseStore
 	 * @throws InvalidSPDXAnalysisException
 	 */
 	private LicenseJson fetchLicenseJson(String idCaseInsensitive) throws InvalidSPDXAnalysisException {
-		String idLowerCase = idCaseInsensitive.toLowerCase();
+		return fetchLicenseJson(idCaseInsensitive, false);
+	}
+	
+	/**
+	 * @param idCaseInsensitive License ID case insensitive
+	 * @param pin if true, pin the license in the cache since it is about to be modified
+	 * @return License JSON for the ID - reading from the input stream if needed
+	 * @throws InvalidSPDXAnalysisException
+	 */
+	private LicenseJson fetchLicenseJson(String idCaseInsensitive, boolean pin) throws InvalidSPDXAnalysisException {
 		String id = null;
-		listedLicenseModificationLock.readLock().lock();
+		lockRead();
 		try {
-			id = this.licenseIds.get(idLowerCase);
+			id = this.idIndex.getLicenseId(idCaseInsensitive);
 			if (Objects.isNull(id)) {
 				logger.error("Attemting to get property values on non-existent ID "+idCaseInsensitive);
 				throw new SpdxIdNotFoundException("ID "+idCaseInsensitive+" not found.");
 			}
-			if (this.listedLicenseCache.containsKey(id)) {
-				return this.listedLicenseCache.get(id);
+			if (!pin) {
+				LicenseJson cached = this.listedLicenseCache.get(id);
+				if (Objects.nonNull(cached)) {
+					metrics.cacheHit(this, id, false);
+					return cached;
+				}
 			}
 		} finally {
 			listedLicenseModificationLock.readLock().unlock();
 		}
-		// If we got here, it wasn't in the cache
-		listedLicenseModificationLock.writeLock().lock();
+		// If we got here, it wasn't in the cache or it needs to be pinned
+		lockWrite();
 		try {
 			// have to retest since we were unlocked
-			id = this.licenseIds.get(idLowerCase);
+			id = this.idIndex.getLicenseId(idCaseInsensitive);
 			if (Objects.isNull(id)) {
 				logger.error("Attemting to get property values on non-existent ID "+idCaseInsensitive);
 				throw new SpdxIdNotFoundException("ID "+idCaseInsensitive+" not found.");
 			}
-			if (!this.listedLicenseCache.containsKey(id)) {
-	            InputStream jsonStream = null;
-	            BufferedReader reader = null;
-	            try {
-	            	jsonStream = getLicenseInputStream(id);
-	                reader = new BufferedReader(new InputStreamReader(jsonStream, "UTF-8"));
-	                StringBuilder licenseJsonStr = new StringBuilder();
-	                String line;
-	                while((line = reader.readLine()) != null) {
-	                	licenseJsonStr.append(line);
-	                }
-	                LicenseJson license = gson.fromJson(licenseJsonStr.toString(), LicenseJson.class);
-	                this.listedLicenseCache.put(id, license);
-	            } catch (MalformedURLException e) {
-					logger.error("Json license invalid for ID "+id, e);
-					throw new SpdxListedLicenseException("JSON license URL invalid for ID "+id, e);
-				} catch (IOException e) {
-					logger.error("I/O error opening Json license URL", e);
-					throw new SpdxListedLicenseException("I/O Error reading license data for ID "+id, e);
-				} finally {
-	            	if (reader != null) {
-	            		try {
-							reader.close();
-						} catch (IOException e) {
-							logger.warn("Unable to close JSON TOC reader", e);
-						}
-	            	} else if (jsonStream != null) {
-	            		try {
-							jsonStream.close();
-						} catch (IOException e) {
-							logger.warn("Unable to close JSON TOC input stream", e);
-						}
-	            	}
+			// the lookup under the read lock has already been counted unless pinning
+			LicenseJson license = pin ? this.listedLicenseCache.get(id) : this.listedLicenseCache.peek(id);
+			if (Objects.isNull(license)) {
+				metrics.cacheMiss(this, id, false);
+				license = parseLicenseJson(id);
+				if (!pin) {
+					this.listedLicenseCache.put(id, license);
 				}
 			}
-			return this.listedLicenseCache.get(id);
+			if (pin && !this.listedLicenseCache.isPinned(id)) {
+				this.listedLicenseCache.pin(id, license);
+			}
+			return license;
 		} finally {
 			listedLicenseModificationLock.writeLock().unlock();
 		}
 	}
 	
+	/**
+	 * Read and parse a license assigning IDs to the cross references
+	 * @param id case sensitive license ID
+	 * @return the parsed license
+	 * @throws InvalidSPDXAnalysisException on errors reading or parsing the license
+	 */
+	private LicenseJson parseLicenseJson(String id) throws InvalidSPDXAnalysisException {
+		String json = readJson(id, false);
+		LicenseJson license = parseLicenseJson(id, json);
+		licenseDigests.put(id, digest(json));
+		return license;
+	}
+	
+	/**
+	 * @param id case sensitive license ID
+	 * @param json license JSON
+	 * @return the parsed license
+	 */
+	private LicenseJson parseLicenseJson(String id, String json) {
+		LicenseJson license = gson.fromJson(json, LicenseJson.class);
+		for (CrossRefJson crossRef:license.crossRef) {
+			if (Objects.nonNull(crossRef)) {
+				assignCrossRefId(id, license, crossRef);
+			}
+		}
+		license.internText(LicenseTextPool.getSharedPool());
+		return license;
+	}
+	
+	/**
+	 * Read and parse an exception
+	 * @param id case sensitive exception ID
+	 * @return the parsed exception
+	 * @throws InvalidSPDXAnalysisException on errors reading or parsing the exception
+	 */
+	private ExceptionJson parseExceptionJson(String id) throws InvalidSPDXAnalysisException {
+		String json = readJson(id, true);
+		ExceptionJson exc = parseExceptionJson(id, json);
+		exceptionDigests.put(id, digest(json));
+		return exc;
+	}
+	
+	/**
+	 * @param id case sensitive exception ID
+	 * @param json exception JSON
+	 * @return the parsed exception
+	 */
+	private ExceptionJson parseExceptionJson(String id, String json) {
+		ExceptionJson exc = gson.fromJson(json, ExceptionJson.class);
+		exc.internText(LicenseTextPool.getSharedPool());
+		return exc;
+	}
+	
+	/**
+	 * @param json license or exception JSON
+	 * @return SHA-256 digest of the JSON
+	 */
+	private static byte[] digest(String json) {
+		try {
+			return MessageDigest.getInstance("SHA-256").digest(json.getBytes(StandardCharsets.UTF_8));
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException("SHA-256 is not supported", e);  // required of every Java platform
+		}
+	}
+	
+	/**
+	 * @param previousDigest digest of the JSON the cached license or exception was parsed from
+	 * @param digest digest of the JSON just read
+	 * @return true if the digests match
+	 */
+	private static boolean isSameDigest(@Nullable byte[] previousDigest, byte[] digest) {
+		return Objects.nonNull(previousDigest) && MessageDigest.isEqual(previousDigest, digest);
+	}
+	
+	/**
+	 * @param licenseId case sensitive license ID
+	 * @param index position of the cross reference in the license
+	 * @return the ID for a cross reference read from the license JSON
+	 */
+	static String crossRefId(String licenseId, int index) {
+		return CROSS_REF_ID_PREFIX + index + "-" + licenseId;
+	}
+	
+	/**
+	 * Assign an ID to a cross reference of a license if it does not already have one.  The index is taken from a
+	 * counter kept with the license rather than the position of the cross reference, skipping IDs already in use,
+	 * so that removing a cross reference can not result in two cross references with the same ID.
+	 * @param licenseId case sensitive license ID
+	 * @param license license containing the cross reference
+	 * @param crossRef cross reference read from or copied into the license
+	 * @return the ID of the cross reference
+	 */
+	static String assignCrossRefId(String licenseId, LicenseJson license, CrossRefJson crossRef) {
+		synchronized (license) {
+			String retval = crossRef.getId();
+			while (Objects.isNull(retval)) {
+				String candidate = crossRefId(licenseId, license.nextCrossRefIndex++);
+				boolean inUse = false;
+				for (CrossRefJson existing:license.crossRef) {
+					if (Objects.nonNull(existing) && candidate.equals(existing.getId())) {
+						inUse = true;
+						break;
+					}
+				}
+				if (!inUse) {
+					crossRef.setId(candidate);
+					retval = candidate;
+				}
+			}
+			return retval;
+		}
+	}
+	
+	/**
+	 * Cross references created in the store are looked up directly, cross references read from the license JSON
+	 * are resolved through the license encoded in the ID.  This must not be called while holding the read lock since
+	 * the license may need to be read.
+	 * @param id cross reference ID
+	 * @return the cross reference or null if no cross reference exists for the ID
+	 * @throws InvalidSPDXAnalysisException on errors reading the license
+	 */
+	private @Nullable CrossRefJson getCrossRef(String id) throws InvalidSPDXAnalysisException {
+		return getCrossRef(id, false);
+	}
+	
+	/**
+	 * Cross references created in the store are looked up directly, cross references read from the license JSON
+	 * are resolved through the license encoded in the ID.  This must not be called while holding the read lock since
+	 * the license may need to be read.
+	 * @param id cross reference ID
+	 * @param pin if true, pin the license the cross reference belongs to since the cross reference is about to be
+	 * modified - otherwise the modification would be lost if the license is evicted
+	 * @return the cross reference or null if no cross reference exists for the ID
+	 * @throws InvalidSPDXAnalysisException on errors reading the license
+	 */
+	private @Nullable CrossRefJson getCrossRef(String id, boolean pin) throws InvalidSPDXAnalysisException {
+		CrossRefJson retval = crossRefs.get(id);
+		if (Objects.nonNull(retval) || !id.startsWith(CROSS_REF_ID_PREFIX)) {
+			return retval;
+		}
+		int licenseIdStart = id.indexOf('-', CROSS_REF_ID_PREFIX.length()) + 1;
+		if (licenseIdStart <= 0 || !idIndex.isLicenseId(id.substring(licenseIdStart))) {
+			return null;
+		}
+		for (CrossRefJson crossRef:fetchLicenseJson(id.substring(licenseIdStart), pin).crossRef) {
+			if (Objects.nonNull(crossRef) && id.equals(crossRef.getId())) {
+				return crossRef;
+			}
+		}
+		return null;
+	}
+	
 	/**
 	 * @param idCaseInsensitive Exception ID case insensitive
 	 * @return Exception JSON for the ID - reading from the input stream if needed
 	 * @throws InvalidSPDXAnalysisException
 	 */
 	private ExceptionJson fetchExceptionJson(String idCaseInsensitive) throws InvalidSPDXAnalysisException {
-		String idLower = idCaseInsensitive.toLowerCase();
+		return fetchExceptionJson(idCaseInsensitive, false);
+	}
+	
+	/**
+	 * @param idCaseInsensitive Exception ID case insensitive
+	 * @param pin if true, pin the exception in the cache since it is about to be modified
+	 * @return Exception JSON for the ID - reading from the input stream if needed
+	 * @throws InvalidSPDXAnalysisException
+	 */
+	private ExceptionJson fetchExceptionJson(String idCaseInsensitive, boolean pin) throws InvalidSPDXAnalysisException {
 		String id = null; // case sensitive ID
-		listedLicenseModificationLock.readLock().lock();
+		lockRead();
 		try {
-			id = this.exceptionIds.get(idLower);
+			id = this.idIndex.getExceptionId(idCaseInsensitive);
 			if (Objects.isNull(id)) {
 				logger.error("Attemting to get property values on non-existent ID "+idCaseInsensitive);
 				throw new SpdxIdNotFoundException("ID "+idCaseInsensitive+" not found.");
 			}
-			if (this.listedExceptionCache.containsKey(id)) {
-				return this.listedExceptionCache.get(id);
+			if (!pin) {
+				ExceptionJson cached = this.listedExceptionCache.get(id);
+				if (Objects.nonNull(cached)) {
+					metrics.cacheHit(this, id, true);
+					return cached;
+				}
 			}
 		} finally {
 			listedLicenseModificationLock.readLock().unlock();
 		}
-		// If we got here, it wasn't in the cache
-		listedLicenseModificationLock.writeLock().lock();
+		// If we got here, it wasn't in the cache or it needs to be pinned
+		lockWrite();
 		try {
 			// have to retest since we were unlocked
-			id = this.exceptionIds.get(idLower);
+			id = this.idIndex.getExceptionId(idCaseInsensitive);
 			if (Objects.isNull(id)) {
 				logger.error("Attemting to get property values on non-existent ID "+idCaseInsensitive);
 				throw new SpdxIdNotFoundException("ID "+idCaseInsensitive+" not found.");
 			}
-			if (!this.listedExceptionCache.containsKey(id)) {
-	            InputStream jsonStream = null;
-	            BufferedReader reader = null;
-	            try {
-	            	jsonStream = getExceptionInputStream(id);
-	                reader = new BufferedReader(new InputStreamReader(jsonStream, "UTF-8"));
-	                StringBuilder exceptionJsonStr = new StringBuilder();
-	                String line;
-	                while((line = reader.readLine()) != null) {
-	                	exceptionJsonStr.append(line);
-	                }
-	                ExceptionJson exc = gson.fromJson(exceptionJsonStr.toString(), ExceptionJson.class);
-	                this.listedExceptionCache.put(id, exc);
-	            } catch (MalformedURLException e) {
-					logger.error("Json license invalid for ID "+id);
-					throw new SpdxListedLicenseException("JSON license URL invalid for ID "+id, e);
-				} catch (IOException e) {
-					logger.error("I/O error opening Json license URL");
-					throw new SpdxListedLicenseException("I/O Error reading license data for ID "+id, e);
-				} finally {
-	            	if (reader != null) {
-	            		try {
-							reader.close();
-						} catch (IOException e) {
-							logger.warn("Unable to close JSON TOC reader", e);
-						}
-	            	} else if (jsonStream != null) {
-	            		try {
-							jsonStream.close();
-						} catch (IOException e) {
-							logger.warn("Unable to close JSON TOC input stream", e);
-						}
-	            	}
+			// the lookup under the read lock has already been counted unless pinning
+			ExceptionJson exc = pin ? this.listedExceptionCache.get(id) : this.listedExceptionCache.peek(id);
+			if (Objects.isNull(exc)) {
+				metrics.cacheMiss(this, id, true);
+				exc = parseExceptionJson(id);
+				if (!pin) {
+					this.listedExceptionCache.put(id, exc);
 				}
 			}
-			return this.listedExceptionCache.get(id);
+			if (pin && !this.listedExceptionCache.isPinned(id)) {
+				this.listedExceptionCache.pin(id, exc);
+			}
+			return exc;
 		} finally {
 			listedLicenseModificationLock.writeLock().unlock();
 		}
 	}
-
+	
+	/**
+	 * Read and cache a license if it is not already cached - the input stream is read without holding the store lock
+	 * so that multiple licenses can be fetched concurrently
+	 * @param id case sensitive license ID
+	 * @throws InvalidSPDXAnalysisException on errors reading or parsing the license
+	 */
+	void prefetchLicenseJson(String id) throws InvalidSPDXAnalysisException {
+		lockRead();
+		try {
+			if (!this.idIndex.isLicenseId(id)) {
+				throw new SpdxIdNotFoundException("ID "+id+" not found.");
+			}
+			if (Objects.nonNull(this.listedLicenseCache.get(id))) {
+				return;
+			}
+		} finally {
+			listedLicenseModificationLock.readLock().unlock();
+		}
+		metrics.cacheMiss(this, id, false);
+		LicenseJson license = parseLicenseJson(id);
+		lockWrite();
+		try {
+			if (Objects.isNull(this.listedLicenseCache.peek(id))) {
+				this.listedLicenseCache.put(id, license);
+			}
+		} finally {
+			listedLicenseModificationLock.writeLock().unlock();
+		}
+	}
+	
+	/**
+	 * Read and cache an exception if it is not already cached - the input stream is read without holding the store lock
+	 * so that multiple exceptions can be fetched concurrently
+	 * @param id case sensitive exception ID
+	 * @throws InvalidSPDXAnalysisException on errors reading or parsing the exception
+	 */
+	void prefetchExceptionJson(String id) throws InvalidSPDXAnalysisException {
+		lockRead();
+		try {
+			if (!this.idIndex.isExceptionId(id)) {
+				throw new SpdxIdNotFoundException("ID "+id+" not found.");
+			}
+			if (Objects.nonNull(this.listedExceptionCache.get(id))) {
+				return;
+			}
+		} finally {
+			listedLicenseModificationLock.readLock().unlock();
+		}
+		metrics.cacheMiss(this, id, true);
+		ExceptionJson exc = parseExceptionJson(id);
+		lockWrite();
+		try {
+			if (Objects.isNull(this.listedExceptionCache.peek(id))) {
+				this.listedExceptionCache.put(id, exc);
+			}
+		} finally {
+			listedLicenseModificationLock.writeLock().unlock();
+		}
+	}
+	
+	/**
+	 * Read the JSON for a license or exception from the underlying input stream
+	 * @param id case sensitive license or exception ID
+	 * @param isException true if the ID is for a listed exception
+	 * @return JSON string
+	 * @throws InvalidSPDXAnalysisException on I/O errors
+	 */
+	private String readJson(String id, boolean isException) throws InvalidSPDXAnalysisException {
+		InputStream jsonStream = null;
+		BufferedReader reader = null;
+		try {
+			long start = System.nanoTime();
+			jsonStream = isException ? getExceptionInputStream(id) : getLicenseInputStream(id);
+			CountingInputStream countingStream = new CountingInputStream(jsonStream);
+			reader = new BufferedReader(new InputStreamReader(countingStream, "UTF-8"));
+			StringBuilder jsonStr = new StringBuilder();
+			String line;
+			while((line = reader.readLine()) != null) {
+				jsonStr.append(line);
+			}
+			metrics.loaded(this, id, getLoadSource(), System.nanoTime() - start, countingStream.count);
+			return jsonStr.toString();
+		} catch (MalformedURLException e) {
+			logger.error("Json license invalid for ID "+id, e);
+			throw new SpdxListedLicenseException("JSON license URL invalid for ID "+id, e);
+		} catch (IOException e) {
+			logger.error("I/O error opening Json license URL", e);
+			throw new SpdxListedLicenseException("I/O Error reading license data for ID "+id, e);
+		} finally {
+			if (reader != null) {
+				try {
+					reader.close();
+				} catch (IOException e) {
+					logger.warn("Unable to close JSON reader", e);
+				}
+			} else if (jsonStream != null) {
+				try {
+					jsonStream.close();
+				} catch (IOException e) {
+					logger.warn("Unable to close JSON input stream", e);
+				}
+			}
+		}
+	}
 
 	/* (non-Javadoc)
 	 * @see org.spdx.storage.IModelStore#setPrimitiveValue(java.lang.String, java.lang.String, java.lang.String, java.lang.Object)
@@ -489,23 +1080,18 @@ public abstract class SpdxListedLicenseModelStore implements IListedLicenseStore
 		boolean isLicenseId = false;
 		boolean isExceptionId = false;
 		CrossRefJson crossRef = null;
-		listedLicenseModificationLock.readLock().lock();
-		try {
-			if (licenseIds.containsKey(id.toLowerCase())) {
-				isLicenseId = true;
-			} else if (exceptionIds.containsKey(id.toLowerCase())) {
-				isExceptionId = true;
-			} else if (crossRefs.containsKey(id)) {
-				crossRef = crossRefs.get(id);
-			}
-		} finally {
-			listedLicenseModificationLock.readLock().unlock();
+		if (idIndex.isLicenseId(id)) {
+			isLicenseId = true;
+		} else if (idIndex.isExceptionId(id)) {
+			isExceptionId = true;
+		} else {
+			crossRef = getCrossRef(id, true);
 		}
 		if (isLicenseId) {
-			LicenseJson license = fetchLicenseJson(id);
+			LicenseJson license = fetchLicenseJson(id, true);
 			license.setPrimativeValue(propertyDescriptor, value);
 		} else if (isExceptionId) {
-			ExceptionJson exc = fetchExceptionJson(id);
+			ExceptionJson exc = fetchExceptionJson(id, true);
 			exc.setPrimativeValue(propertyDescriptor, value);
 		} else if (Objects.nonNull(crossRef)) {
 			crossRef.setPrimativeValue(propertyDescriptor, value);
@@ -531,23 +1117,18 @@ public abstract class SpdxListedLicenseModelStore implements IListedLicenseStore
 		boolean isLicenseId = false;
 		boolean isExceptionId = false;
 		CrossRefJson crossRef = null;
-		listedLicenseModificationLock.readLock().lock();
-		try {
-			if (licenseIds.containsKey(id.toLowerCase())) {
-				isLicenseId = true;
-			} else if (exceptionIds.containsKey(id.toLowerCase())) {
-				isExceptionId = true;
-			} else if (crossRefs.containsKey(id)) {
-				crossRef = crossRefs.get(id);
-			}
-		} finally {
-			listedLicenseModificationLock.readLock().unlock();
+		if (idIndex.isLicenseId(id)) {
+			isLicenseId = true;
+		} else if (idIndex.isExceptionId(id)) {
+			isExceptionId = true;
+		} else {
+			crossRef = getCrossRef(id, true);
 		}
 		if (isLicenseId) {
-			LicenseJson license = fetchLicenseJson(id);
+			LicenseJson license = fetchLicenseJson(id, true);
 			license.clearPropertyValueList(propertyDescriptor);
 		} else if (isExceptionId) {
-			ExceptionJson exc = fetchExceptionJson(id);
+			ExceptionJson exc = fetchExceptionJson(id, true);
 			exc.clearPropertyValueList(propertyDescriptor);
 		} else if (Objects.nonNull(crossRef)) {
 			crossRef.clearPropertyValueList(propertyDescriptor);
@@ -573,20 +1154,15 @@ public abstract class SpdxListedLicenseModelStore implements IListedLicenseStore
 		boolean isLicenseId = false;
 		boolean isExceptionId = false;
 		CrossRefJson crossRef = null;
-		listedLicenseModificationLock.readLock().lock();
-		try {
-			if (licenseIds.containsKey(id.toLowerCase())) {
-				isLicenseId = true;
-			} else if (exceptionIds.containsKey(id.toLowerCase())) {
-				isExceptionId = true;
-			} else if (crossRefs.containsKey(id)) {
-				crossRef = crossRefs.get(id);
-			}
-		} finally {
-			listedLicenseModificationLock.readLock().unlock();
+		if (idIndex.isLicenseId(id)) {
+			isLicenseId = true;
+		} else if (idIndex.isExceptionId(id)) {
+			isExceptionId = true;
+		} else {
+			crossRef = getCrossRef(id, true);
 		}
 		if (isLicenseId) {
-			LicenseJson license = fetchLicenseJson(id);
+			LicenseJson license = fetchLicenseJson(id, true);
 			if (SpdxConstantsCompatV2.PROP_CROSS_REF.equals(propertyDescriptor)) {
 				if (!(value instanceof TypedValue)) {
 					logger.error("Invalid class for CrossRef - expected TypedValue, was supplied type "+value.getClass().toString());
@@ -597,7 +1173,7 @@ public abstract class SpdxListedLicenseModelStore implements IListedLicenseStore
 					logger.error("Invalid type for CrossRef - expected"+SpdxConstantsCompatV2.CLASS_CROSS_REF+", was supplied type "+value.getClass().toString());
 					throw new InvalidSPDXAnalysisException("Invalid type for CrossRef - expected"+SpdxConstantsCompatV2.CLASS_CROSS_REF+", was supplied type "+value.getClass().toString());	
 				}
-				CrossRefJson crj = crossRefs.get(tv.getObjectUri());
+				CrossRefJson crj = getCrossRef(tv.getObjectUri());
 				if (Objects.isNull(crj)) {
 					logger.error("CrossRef with ID "+tv.getObjectUri()+" does not exist in the store.");
 					throw new InvalidSPDXAnalysisException("CrossRef with ID "+tv.getObjectUri()+" does not exist in the store.");	
@@ -607,7 +1183,7 @@ public abstract class SpdxListedLicenseModelStore implements IListedLicenseStore
 				return license.addPrimitiveValueToList(propertyDescriptor, value);
 			}
 		} else if (isExceptionId) {
-			ExceptionJson exc = fetchExceptionJson(id);
+			ExceptionJson exc = fetchExceptionJson(id, true);
 			return exc.addPrimitiveValueToList(propertyDescriptor, value);
 		} else if (Objects.nonNull(crossRef)) {
 			return crossRef.addPrimitiveValueToList(propertyDescriptor, value);
@@ -631,20 +1207,15 @@ public abstract class SpdxListedLicenseModelStore implements IListedLicenseStore
 		boolean isLicenseId = false;
 		boolean isExceptionId = false;
 		CrossRefJson crossRef = null;
-		listedLicenseModificationLock.readLock().lock();
-		try {
-			if (licenseIds.containsKey(id.toLowerCase())) {
-				isLicenseId = true;
-			} else if (exceptionIds.containsKey(id.toLowerCase())) {
-				isExceptionId = true;
-			} else if (crossRefs.containsKey(id)) {
-				crossRef = crossRefs.get(id);
-			}
-		} finally {
-			listedLicenseModificationLock.readLock().unlock();
+		if (idIndex.isLicenseId(id)) {
+			isLicenseId = true;
+		} else if (idIndex.isExceptionId(id)) {
+			isExceptionId = true;
+		} else {
+			crossRef = getCrossRef(id, true);
 		}
 		if (isLicenseId) {
-			LicenseJson license = fetchLicenseJson(id);
+			LicenseJson license = fetchLicenseJson(id, true);
 			if (SpdxConstantsCompatV2.PROP_CROSS_REF.equals(propertyDescriptor)) {
 				if (!(value instanceof TypedValue)) {
 					logger.error("Invalid class for CrossRef - expected TypedValue, was supplied type "+value.getClass().toString());
@@ -655,7 +1226,7 @@ public abstract class SpdxListedLicenseModelStore implements IListedLicenseStore
 					logger.error("Invalid type for CrossRef - expected"+SpdxConstantsCompatV2.CLASS_CROSS_REF+", was supplied type "+value.getClass().toString());
 					throw new InvalidSPDXAnalysisException("Invalid type for CrossRef - expected"+SpdxConstantsCompatV2.CLASS_CROSS_REF+", was supplied type "+value.getClass().toString());	
 				}
-				CrossRefJson crj = crossRefs.get(tv.getObjectUri());
+				CrossRefJson crj = getCrossRef(tv.getObjectUri());
 				if (Objects.isNull(crj)) {
 					logger.error("CrossRef with ID "+tv.getObjectUri()+" does not exist in the store.");
 					throw new InvalidSPDXAnalysisException("CrossRef with ID "+tv.getObjectUri()+" does not exist in the store.");	
@@ -665,7 +1236,7 @@ public abstract class SpdxListedLicenseModelStore implements IListedLicenseStore
 				return license.removePrimitiveValueToList(propertyDescriptor, value);
 			}
 		} else if (isExceptionId) {
-			ExceptionJson exc = fetchExceptionJson(id);
+			ExceptionJson exc = fetchExceptionJson(id, true);
 			return exc.removePrimitiveValueToList(propertyDescriptor, value);
 		} else if (Objects.nonNull(crossRef)) {
 			return crossRef.removePrimitiveValueToList(propertyDescriptor, value);
@@ -690,23 +1261,19 @@ public abstract class SpdxListedLicenseModelStore implements IListedLicenseStore
 		boolean isLicenseId = false;
 		boolean isExceptionId = false;
 		CrossRefJson crossRef = null;
-		listedLicenseModificationLock.readLock().lock();
-		try {
-			if (licenseIds.containsKey(id.toLowerCase())) {
-				isLicenseId = true;
-			} else if (exceptionIds.containsKey(id.toLowerCase())) {
-				isExceptionId = true;
-			} else {
-				crossRef = crossRefs.get(id);
-			}
-		} finally {
-			listedLicenseModificationLock.readLock().unlock();
+		if (idIndex.isLicenseId(id)) {
+			isLicenseId = true;
+		} else if (idIndex.isExceptionId(id)) {
+			isExceptionId = true;
+		} else {
+			crossRef = getCrossRef(id);
 		}
 		if (isLicenseId) {
 			LicenseJson license = fetchLicenseJson(id);
 			List<Object> valueList = (List<Object>)(List<?>)license.getValueList(propertyDescriptor);
 			if (SpdxConstantsCompatV2.PROP_CROSS_REF.equals(propertyDescriptor)) {
 				final Iterator<Object> crossRefJsonIter = valueList.iterator();
+				final String licenseId = idIndex.getLicenseId(id);
 				return new Iterator<Object>() {
 
 					@Override
@@ -723,24 +1290,8 @@ public abstract class SpdxListedLicenseModelStore implements IListedLicenseStore
 						if (!(nextVal instanceof CrossRefJson)) {
 							throw new RuntimeException(new InvalidSPDXAnalysisException("Invalid type for "+propertyDescriptor+".  Must be of type CrossRefJson"));
 						}
-						CrossRefJson nextCrossRef = (CrossRefJson)nextVal;
-						String crossRefId = nextCrossRef.getId();
-						listedLicenseModificationLock.writeLock().lock();
-						try {
-							if (Objects.isNull(crossRefId)) {
-								// Need to create an ID and store it in the cache
-								try {
-									crossRefId = getNextId(IdType.Anonymous);
-								} catch (InvalidSPDXAnalysisException e) {
-									logger.error("Error getting next Anonymous ID",e);
-									throw new RuntimeException(e);
-								}
-								nextCrossRef.setId(crossRefId);
-								crossRefs.put(crossRefId, nextCrossRef);
-							}
-						} finally {
-							listedLicenseModificationLock.writeLock().unlock();
-						}
+						// cross references copied into the license after parsing may not have an ID yet
+						String crossRefId = assignCrossRefId(licenseId, license, (CrossRefJson)nextVal);
 						try {
 							return new TypedValue(crossRefId, SpdxConstantsCompatV2.CLASS_CROSS_REF, ModelObjectV2.LATEST_SPDX_2_VERSION);
 						} catch (InvalidSPDXAnalysisException e) {
@@ -777,17 +1328,12 @@ public abstract class SpdxListedLicenseModelStore implements IListedLicenseStore
 		boolean isLicenseId = false;
 		boolean isExceptionId = false;
 		CrossRefJson crossRef = null;
-		listedLicenseModificationLock.readLock().lock();
-		try {
-			if (licenseIds.containsKey(id.toLowerCase())) {
-				isLicenseId = true;
-			} else if (exceptionIds.containsKey(id.toLowerCase())) {
-				isExceptionId = true;
-			} else if (crossRefs.containsKey(id)) {
-				crossRef = crossRefs.get(id);
-			}
-		} finally {
-			listedLicenseModificationLock.readLock().unlock();
+		if (idIndex.isLicenseId(id)) {
+			isLicenseId = true;
+		} else if (idIndex.isExceptionId(id)) {
+			isExceptionId = true;
+		} else {
+			crossRef = getCrossRef(id);
 		}
 		if (SpdxConstantsV3.PROP_CREATION_INFO.equals(propertyDescriptor) && (isLicenseId || isExceptionId)) {
 			return Optional.of(licenseCreationInfo.getTypedValue());
@@ -810,7 +1356,7 @@ public abstract class SpdxListedLicenseModelStore implements IListedLicenseStore
 	 */
 	@Override
 	public String getNextId(IdType idType)  throws InvalidSPDXAnalysisException  {
-		this.listedLicenseModificationLock.writeLock().lock();
+		lockWrite();
 		try {
 			if (IdType.Anonymous.equals(idType)) {
 				return ANONYMOUS_ID_PREFIX + String.valueOf(this.nextId++);
@@ -824,19 +1370,12 @@ public abstract class SpdxListedLicenseModelStore implements IListedLicenseStore
 
 	@Override
 	public List<String> getSpdxListedLicenseIds() {
-		this.listedLicenseModificationLock.readLock().lock();
-		try {
-			List<String> retval = new ArrayList<>();
-			retval.addAll(this.licenseIds.values());
-			return retval;
-		} finally {
-			this.listedLicenseModificationLock.readLock().unlock();
-		}
+		return this.idIndex.getLicenseIds();
 	}
 
 	@Override
 	public String getLicenseListVersion() {
-		this.listedLicenseModificationLock.readLock().lock();
+		lockRead();
 		try {
 			return this.licenseListVersion;
 		} finally {
@@ -848,7 +1387,7 @@ public abstract class SpdxListedLicenseModelStore implements IListedLicenseStore
 	 * @return the release date for the license list
 	 */
 	public String getLicenseListReleaseDate() {
-		this.listedLicenseModificationLock.readLock().lock();
+		lockRead();
 		try {
 			return this.licenseListReleaseDate;
 		} finally {
@@ -858,14 +1397,7 @@ public abstract class SpdxListedLicenseModelStore implements IListedLicenseStore
 	
 	@Override
 	public List<String> getSpdxListedExceptionIds() {
-		this.listedLicenseModificationLock.readLock().lock();
-		try {
-			List<String> retval = new ArrayList<>();
-			retval.addAll(this.exceptionIds.values());
-			return retval;
-		} finally {
-			this.listedLicenseModificationLock.readLock().unlock();
-		}
+		return this.idIndex.getExceptionIds();
 	}
 	
 	/**
@@ -874,12 +1406,7 @@ public abstract class SpdxListedLicenseModelStore implements IListedLicenseStore
 	 * @return true if the licenseId belongs to an SPDX listed license
 	 */
 	public boolean isSpdxListedLicenseId(String listedLicenseDocumentUri, String licenseId) {
-		this.listedLicenseModificationLock.readLock().lock();
-		try {
-			return this.licenseIds.containsKey(licenseId.toLowerCase());
-		} finally {
-			this.listedLicenseModificationLock.readLock().unlock();
-		}
+		return idIndex.isLicenseId(licenseId);
 	}
 	
 	/**
@@ -888,12 +1415,7 @@ public abstract class SpdxListedLicenseModelStore implements IListedLicenseStore
 	 * @return true if the exceptionId belongs to an SPDX listed exception
 	 */
 	public boolean isSpdxListedExceptionId(String listedLicenseDocumentUri, String exceptionId) {
-		this.listedLicenseModificationLock.readLock().lock();
-		try {
-			return this.exceptionIds.containsKey(exceptionId.toLowerCase());
-		} finally {
-			this.listedLicenseModificationLock.readLock().unlock();
-		}
+		return idIndex.isExceptionId(exceptionId);
 	}
 	
 	@Override
@@ -906,20 +1428,15 @@ public abstract class SpdxListedLicenseModelStore implements IListedLicenseStore
 			return Optional.of(licenseCreator.getTypedValue());
 		}
 		String id = objectUriToId(objectUri);
-		listedLicenseModificationLock.readLock().lock();
-		try {
-			if (licenseIds.containsKey(id.toLowerCase())) {
-				return Optional.of(new TypedValue(objectUri, SpdxConstantsV3.EXPANDED_LICENSING_LISTED_LICENSE, SpdxConstantsV3.MODEL_SPEC_VERSION));
-			} else if (exceptionIds.containsKey(id.toLowerCase())) {
-				return Optional.of(new TypedValue(objectUri, SpdxConstantsV3.EXPANDED_LICENSING_LISTED_LICENSE_EXCEPTION, SpdxConstantsV3.MODEL_SPEC_VERSION));
-			} else if (crossRefs.containsKey(id)) {
-				// Cross refs are only supported in SPDX version 2.X
-				return Optional.of(new TypedValue(objectUri, SpdxConstantsCompatV2.CLASS_CROSS_REF, ModelObjectV2.LATEST_SPDX_2_VERSION));
-			}  else {
-				return Optional.empty();
-			}
-		} finally {
-			listedLicenseModificationLock.readLock().unlock();
+		if (idIndex.isLicenseId(id)) {
+			return Optional.of(new TypedValue(objectUri, SpdxConstantsV3.EXPANDED_LICENSING_LISTED_LICENSE, SpdxConstantsV3.MODEL_SPEC_VERSION));
+		} else if (idIndex.isExceptionId(id)) {
+			return Optional.of(new TypedValue(objectUri, SpdxConstantsV3.EXPANDED_LICENSING_LISTED_LICENSE_EXCEPTION, SpdxConstantsV3.MODEL_SPEC_VERSION));
+		} else if (Objects.nonNull(getCrossRef(id))) {
+			// Cross refs are only supported in SPDX version 2.X
+			return Optional.of(new TypedValue(objectUri, SpdxConstantsCompatV2.CLASS_CROSS_REF, ModelObjectV2.LATEST_SPDX_2_VERSION));
+		}  else {
+			return Optional.empty();
 		}
 	}
 	
@@ -936,23 +1453,18 @@ public abstract class SpdxListedLicenseModelStore implements IListedLicenseStore
 		boolean isLicenseId = false;
 		boolean isExceptionId = false;
 		CrossRefJson crossRef = null;
-		listedLicenseModificationLock.readLock().lock();
-		try {
-			if (licenseIds.containsKey(id.toLowerCase())) {
-				isLicenseId = true;
-			} else if (exceptionIds.containsKey(id.toLowerCase())) {
-				isExceptionId = true;
-			} else if (crossRefs.containsKey(id)) {
-				crossRef = crossRefs.get(id);
-			}
-		} finally {
-			listedLicenseModificationLock.readLock().unlock();
+		if (idIndex.isLicenseId(id)) {
+			isLicenseId = true;
+		} else if (idIndex.isExceptionId(id)) {
+			isExceptionId = true;
+		} else {
+			crossRef = getCrossRef(id, true);
 		}
 		if (isLicenseId) {
-			LicenseJson license = fetchLicenseJson(id);
+			LicenseJson license = fetchLicenseJson(id, true);
 			license.removeProperty(propertyDescriptor);
 		} else if (isExceptionId) {
-			ExceptionJson exc = fetchExceptionJson(id);
+			ExceptionJson exc = fetchExceptionJson(id, true);
 			exc.removeProperty(propertyDescriptor);
 		} else if (Objects.nonNull(crossRef)) {
 			crossRef.removeProperty(propertyDescriptor);
@@ -962,51 +1474,84 @@ public abstract class SpdxListedLicenseModelStore implements IListedLicenseStore
 		}
 	}
 	
+	/**
+	 * The returned stream is lazily evaluated over an immutable snapshot of the listed license and exception IDs
+	 * and does not hold the store lock.  Licenses are only read when the stream pulls their cross references.
+	 * <p>
+	 * Note that fully consuming the stream for {@link SpdxConstantsCompatV2#CLASS_CROSS_REF} fetches and parses
+	 * every listed license, which may require downloading each license from the web.  Errors reading a license
+	 * are thrown from the stream as a {@link RuntimeSpdxException} wrapping the underlying {@link InvalidSPDXAnalysisException}.
+	 */
 	@Override
 	public Stream<TypedValue> getAllItems(String documentUri, @Nullable String typeFilter)
 			throws InvalidSPDXAnalysisException {
 		Objects.requireNonNull(typeFilter, "Type filter can not be null");
-		listedLicenseModificationLock.readLock().lock();
+		ListedLicenseIdIndex index = this.idIndex;
+		if (SpdxConstantsCompatV2.CLASS_SPDX_LISTED_LICENSE.equals(typeFilter)) {
+			return index.getLicenseIds().stream().map(licenseId -> 
+				toTypedValue(licenseId, SpdxConstantsCompatV2.CLASS_SPDX_LISTED_LICENSE, ModelObjectV2.LATEST_SPDX_2_VERSION));
+		} else if (SpdxConstantsV3.EXPANDED_LICENSING_LISTED_LICENSE.equals(typeFilter)) {
+			return index.getLicenseIds().stream().map(licenseId -> 
+				toTypedValue(licenseId, SpdxConstantsV3.EXPANDED_LICENSING_LISTED_LICENSE, SpdxConstantsV3.MODEL_SPEC_VERSION));
+		} else if (SpdxConstantsCompatV2.CLASS_SPDX_LISTED_LICENSE_EXCEPTION.equals(typeFilter)) {
+			return index.getExceptionIds().stream().map(exceptionId -> 
+				toTypedValue(exceptionId, SpdxConstantsCompatV2.CLASS_SPDX_LISTED_LICENSE_EXCEPTION, ModelObjectV2.LATEST_SPDX_2_VERSION));
+		} else if (SpdxConstantsV3.EXPANDED_LICENSING_LISTED_LICENSE_EXCEPTION.equals(typeFilter)) {
+			return index.getExceptionIds().stream().map(exceptionId -> 
+				toTypedValue(exceptionId, SpdxConstantsV3.EXPANDED_LICENSING_LISTED_LICENSE_EXCEPTION, SpdxConstantsV3.MODEL_SPEC_VERSION));
+		} else if (SpdxConstantsCompatV2.CLASS_CROSS_REF.equals(typeFilter)) {
+			return Stream.concat(index.getLicenseIds().stream().flatMap(this::licenseCrossRefIds), 
+						crossRefs.keySet().stream())
+					.distinct()
+					.map(crossRefId -> toTypedValue(crossRefId, SpdxConstantsCompatV2.CLASS_CROSS_REF, ModelObjectV2.LATEST_SPDX_2_VERSION));
+		} else if (SpdxConstantsV3.CORE_CREATION_INFO.equals(typeFilter)) {
+			return Stream.of(licenseCreationInfo.typedValue);
+		} else if (SpdxConstantsV3.CORE_AGENT.equals(typeFilter)) {
+			return Stream.of(licenseCreator.getTypedValue());
+		} else {
+			return Stream.empty();
+		}
+	}
+	
+	/**
+	 * @param licenseId case sensitive license ID
+	 * @return stream of the IDs for the cross references in the license - the license is read when the stream is evaluated
+	 * @throws RuntimeSpdxException if the license can not be read
+	 */
+	private Stream<String> licenseCrossRefIds(String licenseId) {
+		LicenseJson license;
 		try {
-			List<TypedValue> allItems = new ArrayList<TypedValue>();
-			if (SpdxConstantsCompatV2.CLASS_SPDX_LISTED_LICENSE.equals(typeFilter)) {
-				for (String licenseId:this.licenseIds.values()) {
-					allItems.add(new TypedValue(licenseId, SpdxConstantsCompatV2.CLASS_SPDX_LISTED_LICENSE, ModelObjectV2.LATEST_SPDX_2_VERSION));
-				}
-			}
-			if (Objects.isNull(typeFilter) || SpdxConstantsV3.EXPANDED_LICENSING_LISTED_LICENSE.equals(typeFilter)) {
-				for (String licenseId:this.licenseIds.values()) {
-					allItems.add(new TypedValue(licenseId, SpdxConstantsV3.EXPANDED_LICENSING_LISTED_LICENSE, SpdxConstantsV3.MODEL_SPEC_VERSION));
-				}
-			}
-			if (SpdxConstantsCompatV2.CLASS_SPDX_LISTED_LICENSE_EXCEPTION.equals(typeFilter)) {
-				for (String exceptionId:this.exceptionIds.values()) {
-					allItems.add(new TypedValue(exceptionId, SpdxConstantsCompatV2.CLASS_SPDX_LISTED_LICENSE_EXCEPTION, ModelObjectV2.LATEST_SPDX_2_VERSION));
-				}
-			}
-			if (Objects.isNull(typeFilter) || SpdxConstantsCompatV2.CLASS_SPDX_LISTED_LICENSE_EXCEPTION.equals(typeFilter)) {
-				for (String exceptionId:this.exceptionIds.values()) {
-					allItems.add(new TypedValue(exceptionId, SpdxConstantsV3.EXPANDED_LICENSING_LISTED_LICENSE_EXCEPTION, SpdxConstantsV3.MODEL_SPEC_VERSION));
-				}
-			}
-			if (Objects.isNull(typeFilter) || SpdxConstantsCompatV2.CLASS_CROSS_REF.equals(typeFilter)) {
-				for (String crossRefId:crossRefs.keySet()) {
-					allItems.add(new TypedValue(crossRefId, SpdxConstantsCompatV2.CLASS_CROSS_REF, ModelObjectV2.LATEST_SPDX_2_VERSION));
-				}
-			}
-			if (Objects.isNull(typeFilter) || SpdxConstantsV3.CORE_CREATION_INFO.equals(typeFilter)) {
-				allItems.add(licenseCreationInfo.typedValue);
-			}
-			if (Objects.isNull(typeFilter) || SpdxConstantsV3.CORE_AGENT.equals(typeFilter)) {
-				allItems.add(licenseCreator.getTypedValue());
+			license = fetchLicenseJson(licenseId);
+		} catch (InvalidSPDXAnalysisException e) {
+			logger.error("Error reading license "+licenseId+" for cross references", e);
+			throw new RuntimeSpdxException("Error reading license "+licenseId+" for cross references", e);
+		}
+		List<CrossRefJson> licenseCrossRefs = new ArrayList<>(license.crossRef);
+		List<String> retval = new ArrayList<>(licenseCrossRefs.size());
+		for (int i = 0; i < licenseCrossRefs.size(); i++) {
+			CrossRefJson crossRef = licenseCrossRefs.get(i);
+			if (Objects.nonNull(crossRef)) {
+				retval.add(Objects.nonNull(crossRef.getId()) ? crossRef.getId() : crossRefId(licenseId, i));
 			}
-			return Collections.unmodifiableList(allItems).stream();
-		} finally {
-			listedLicenseModificationLock.readLock().unlock();
 		}
+		return retval.stream();
 	}
 	
-	
+	/**
+	 * Create a typed value for use within a stream
+	 * @param objectUri object URI
+	 * @param type type
+	 * @param specVersion spec version
+	 * @return the typed value
+	 */
+	private static TypedValue toTypedValue(String objectUri, String type, String specVersion) {
+		try {
+			return new TypedValue(objectUri, type, specVersion);
+		} catch (InvalidSPDXAnalysisException e) {
+			logger.error("Error creating TypedValue for "+objectUri, e);
+			throw new RuntimeSpdxException(e);
+		}
+	}
 	
 	@SuppressWarnings("unchecked")
 	@Override
@@ -1020,17 +1565,12 @@ public abstract class SpdxListedLicenseModelStore implements IListedLicenseStore
 		boolean isLicenseId = false;
 		boolean isExceptionId = false;
 		CrossRefJson crossRef = null;
-		listedLicenseModificationLock.readLock().lock();
-		try {
-			if (licenseIds.containsKey(id.toLowerCase())) {
-				isLicenseId = true;
-			} else if (exceptionIds.containsKey(id.toLowerCase())) {
-				isExceptionId = true;
-			} else {
-				crossRef = crossRefs.get(id);
-			}
-		} finally {
-			listedLicenseModificationLock.readLock().unlock();
+		if (idIndex.isLicenseId(id)) {
+			isLicenseId = true;
+		} else if (idIndex.isExceptionId(id)) {
+			isExceptionId = true;
+		} else {
+			crossRef = getCrossRef(id);
 		}
 		if (isLicenseId) {
 			LicenseJson license = fetchLicenseJson(id);
@@ -1059,23 +1599,18 @@ public abstract class SpdxListedLicenseModelStore implements IListedLicenseStore
 		boolean isLicenseId = false;
 		boolean isExceptionId = false;
 		CrossRefJson crossRef = null;
-		listedLicenseModificationLock.readLock().lock();
-		try {
-			if (licenseIds.containsKey(id.toLowerCase())) {
-				isLicenseId = true;
-			} else if (exceptionIds.containsKey(id.toLowerCase())) {
-				isExceptionId = true;
-			} else {
-				crossRef = crossRefs.get(id);
-			}
-		} finally {
-			listedLicenseModificationLock.readLock().unlock();
+		if (idIndex.isLicenseId(id)) {
+			isLicenseId = true;
+		} else if (idIndex.isExceptionId(id)) {
+			isExceptionId = true;
+		} else {
+			crossRef = getCrossRef(id);
 		}
 		if (isLicenseId) {
 			LicenseJson license = fetchLicenseJson(id);
 			List<Object> valueList = (List<Object>)(List<?>)license.getValueList(propertyDescriptor);
 			if (value instanceof TypedValue && SpdxConstantsCompatV2.CLASS_CROSS_REF.equals(((TypedValue)value).getType())) {
-				CrossRefJson compareValue = crossRefs.get(((TypedValue)value).getObjectUri());
+				CrossRefJson compareValue = getCrossRef(((TypedValue)value).getObjectUri());
 				if (Objects.isNull(compareValue)) {
 					return false;
 				} else {
@@ -1107,17 +1642,12 @@ public abstract class SpdxListedLicenseModelStore implements IListedLicenseStore
 		boolean isLicenseId = false;
 		boolean isExceptionId = false;
 		CrossRefJson crossRef = null;
-		listedLicenseModificationLock.readLock().lock();
-		try {
-			if (licenseIds.containsKey(id.toLowerCase())) {
-				isLicenseId = true;
-			} else if (exceptionIds.containsKey(id.toLowerCase())) {
-				isExceptionId = true;
-			} else if (crossRefs.containsKey(id)) {
-				crossRef = crossRefs.get(id);
-			}
-		} finally {
-			listedLicenseModificationLock.readLock().unlock();
+		if (idIndex.isLicenseId(id)) {
+			isLicenseId = true;
+		} else if (idIndex.isExceptionId(id)) {
+			isExceptionId = true;
+		} else {
+			crossRef = getCrossRef(id);
 		}
 		if (isLicenseId) {
 			LicenseJson license = fetchLicenseJson(id);
@@ -1146,17 +1676,12 @@ public abstract class SpdxListedLicenseModelStore implements IListedLicenseStore
 		boolean isLicenseId = false;
 		boolean isExceptionId = false;
 		CrossRefJson crossRef = null;
-		listedLicenseModificationLock.readLock().lock();
-		try {
-			if (licenseIds.containsKey(id.toLowerCase())) {
-				isLicenseId = true;
-			} else if (exceptionIds.containsKey(id.toLowerCase())) {
-				isExceptionId = true;
-			} else if (crossRefs.containsKey(id)) {
-				crossRef = crossRefs.get(id);
-			}
-		} finally {
-			listedLicenseModificationLock.readLock().unlock();
+		if (idIndex.isLicenseId(id)) {
+			isLicenseId = true;
+		} else if (idIndex.isExceptionId(id)) {
+			isExceptionId = true;
+		} else {
+			crossRef = getCrossRef(id);
 		}
 		if (isLicenseId) {
 			LicenseJson license = fetchLicenseJson(id);
@@ -1184,17 +1709,12 @@ public abstract class SpdxListedLicenseModelStore implements IListedLicenseStore
 		boolean isLicenseId = false;
 		boolean isExceptionId = false;
 		CrossRefJson crossRef = null;
-		listedLicenseModificationLock.readLock().lock();
-		try {
-			if (licenseIds.containsKey(id.toLowerCase())) {
-				isLicenseId = true;
-			} else if (exceptionIds.containsKey(id.toLowerCase())) {
-				isExceptionId = true;
-			} else if (crossRefs.containsKey(id)) {
-				crossRef = crossRefs.get(id);
-			}
-		} finally {
-			listedLicenseModificationLock.readLock().unlock();
+		if (idIndex.isLicenseId(id)) {
+			isLicenseId = true;
+		} else if (idIndex.isExceptionId(id)) {
+			isExceptionId = true;
+		} else {
+			crossRef = getCrossRef(id);
 		}
 		if (isLicenseId) {
 			LicenseJson license = fetchLicenseJson(id);
@@ -1233,10 +1753,10 @@ public abstract class SpdxListedLicenseModelStore implements IListedLicenseStore
 	@Override
 	public IModelStoreLock enterCriticalSection(boolean readLockRequested) {
 		if (readLockRequested) {
-			this.listedLicenseModificationLock.readLock().lock();
+			lockRead();
 			return readLock;
 		} else {
-			this.listedLicenseModificationLock.writeLock().lock();
+			lockWrite();
 			return writeLock;
 		}
 	}
@@ -1248,32 +1768,20 @@ public abstract class SpdxListedLicenseModelStore implements IListedLicenseStore
 	
 	@Override
 	public Optional<String> listedLicenseIdCaseSensitive(String licenseId) {
-		listedLicenseModificationLock.readLock().lock();
-		try {
-			return Optional.ofNullable(this.licenseIds.get(licenseId.toLowerCase()));
-		} finally {
-			listedLicenseModificationLock.readLock().unlock();
-		}
+		return Optional.ofNullable(idIndex.getLicenseId(licenseId));
 	}
 	
 	
 	@Override
 	public Optional<String> listedExceptionIdCaseSensitive(String exceptionId) {
-		listedLicenseModificationLock.readLock().lock();
-		try {
-			return Optional.ofNullable(this.exceptionIds.get(exceptionId.toLowerCase()));
-		} finally {
-			listedLicenseModificationLock.readLock().unlock();
-		}
+		return Optional.ofNullable(idIndex.getExceptionId(exceptionId));
 	}
 	
 	@Override
 	public Optional<String> getCaseSensisitiveId(String documentUri, String caseInsensisitiveId) {
-		Optional<String> retval = listedLicenseIdCaseSensitive(caseInsensisitiveId);
-		if (retval.isPresent()) {
-			return retval;
-		}
-		return listedExceptionIdCaseSensitive(caseInsensisitiveId);
+		ListedLicenseIdIndex index = idIndex;
+		int position = index.indexOf(caseInsensisitiveId);
+		return position < 0 ? Optional.empty() : Optional.of(index.idAt(position));
 	}
 	
 	@Override
@@ -1286,16 +1794,20 @@ public abstract class SpdxListedLicenseModelStore implements IListedLicenseStore
 			return;
 		}
 		String id = objectUriToId(objectUri);
-		listedLicenseModificationLock.writeLock().lock();
+		lockWrite();
 		try {
-			if (licenseIds.containsKey(id.toLowerCase())) {
+			if (idIndex.isLicenseId(id)) {
 				this.listedLicenseCache.remove(id);
 				this.licenseIds.remove(id.toLowerCase());
-			} else if (exceptionIds.containsKey(id.toLowerCase())) {
+				rebuildIdIndex();
+			} else if (idIndex.isExceptionId(id)) {
 				this.listedExceptionCache.remove(id);
 				this.exceptionIds.remove(id.toLowerCase());
-			} else if (crossRefs.containsKey(id)) {
-				this.crossRefs.remove(id);
+				rebuildIdIndex();
+			} else if (Objects.nonNull(this.crossRefs.remove(id))) {
+				// cross reference created in the store
+			} else if (Objects.nonNull(getCrossRef(id))) {
+				logger.warn("Ignoring the removal of cross reference "+id+" which is part of the license JSON");
 			} else {
 				logger.error("ID "+id+" is not a listed license ID, crossRef ID nor a listed exception ID");
 				throw new SpdxIdNotFoundException("ID "+id+" is not a listed license ID, crossRef ID nor a listed exception ID");
@@ -1305,6 +1817,60 @@ public abstract class SpdxListedLicenseModelStore implements IListedLicenseStore
 		}
 	}
 	
+	/**
+	 * @return cache of parsed listed licenses - can be used to obtain hit, miss and eviction counts
+	 */
+	public IListedLicenseCache<LicenseJson> getListedLicenseCache() {
+		return listedLicenseCache;
+	}
+	
+	/**
+	 * Replace the cache of parsed listed licenses - any licenses created or modified in this store
+	 * (pinned entries) will be copied to the new cache
+	 * @param cache new cache
+	 */
+	public void setListedLicenseCache(IListedLicenseCache<LicenseJson> cache) {
+		Objects.requireNonNull(cache, "Cache can not be null");
+		lockWrite();
+		try {
+			for (String id:licenseIds.values()) {
+				if (listedLicenseCache.isPinned(id)) {
+					cache.pin(id, listedLicenseCache.peek(id));
+				}
+			}
+			listedLicenseCache = cache;
+		} finally {
+			listedLicenseModificationLock.writeLock().unlock();
+		}
+	}
+	
+	/**
+	 * @return cache of parsed listed exceptions - can be used to obtain hit, miss and eviction counts
+	 */
+	public IListedLicenseCache<ExceptionJson> getListedExceptionCache() {
+		return listedExceptionCache;
+	}
+	
+	/**
+	 * Replace the cache of parsed listed exceptions - any exceptions created or modified in this store
+	 * (pinned entries) will be copied to the new cache
+	 * @param cache new cache
+	 */
+	public void setListedExceptionCache(IListedLicenseCache<ExceptionJson> cache) {
+		Objects.requireNonNull(cache, "Cache can not be null");
+		lockWrite();
+		try {
+			for (String id:exceptionIds.values()) {
+				if (listedExceptionCache.isPinned(id)) {
+					cache.pin(id, listedExceptionCache.peek(id));
+				}
+			}
+			listedExceptionCache = cache;
+		} finally {
+			listedLicenseModificationLock.writeLock().unlock();
+		}
+	}
+	
 	/**
 	 * @return the CreationInfo used for all SPDX listed licenses and listed exceptions
 	 * @throws InvalidSPDXAnalysisException on error inflating the CreationInfo
@@ -0,0 +1,278 @@
+/**
+ * Copyright (c) 2026 agent
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package org.spdx.storage.listedlicense;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.ClosedFileSystemException;
+import java.nio.file.FileSystem;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.ProviderNotFoundException;
+import java.nio.file.StandardOpenOption;
+import java.util.Comparator;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import javax.annotation.Nullable;
+
+import org.spdx.core.InvalidSPDXAnalysisException;
+import org.spdx.library.model.v2.license.SpdxListedLicenseException;
+
+/**
+ * Model store for listed licenses using license list JSON files in a directory or a zip file
+ *
+ * The directory (or zip file) may either contain the JSON files in a single directory, as in
+ * <code>resources/stdlicenses</code>, or use the license-list-data layout where the table of contents
+ * files are in a <code>json</code> directory with the license details in <code>json/details</code>
+ * and the exception details in <code>json/exceptions</code>.  The table of contents is searched for
+ * up to 3 directory levels below the root to support archives with a top level version directory.
+ *
+ * Files on the default file system which are at least <code>MMAP_THRESHOLD</code> bytes are memory mapped;
+ * other files are read through a <code>FileChannel</code>.  Each store is independent so multiple stores,
+ * one per license list version, can be used side by side.
+ *
+ * @author agent
+ *
+ */
+public class SpdxListedLicensePathStore extends SpdxListedLicenseModelStore {
+
+	static final String LICENSE_DETAILS_DIR = "details";
+	static final String EXCEPTION_DETAILS_DIR = "exceptions";
+	static final int MAX_TOC_SEARCH_DEPTH = 3;
+
+	/**
+	 * Files at least this size are memory mapped rather than read into a heap buffer
+	 */
+	public static final long MMAP_THRESHOLD = 64 * 1024;
+
+	private final Path path;
+	private final @Nullable FileSystem zipFileSystem;
+	private final Path jsonDir;
+
+	/**
+	 * @param path directory or zip file containing the license list JSON files
+	 * @throws InvalidSPDXAnalysisException if the license list table of contents can not be found or read
+	 */
+	public SpdxListedLicensePathStore(Path path) throws InvalidSPDXAnalysisException {
+		super(false);
+		Objects.requireNonNull(path, "Path can not be null");
+		this.path = path;
+		Path root;
+		if (Files.isDirectory(path)) {
+			zipFileSystem = null;
+			root = path;
+		} else if (Files.isRegularFile(path)) {
+			try {
+				zipFileSystem = FileSystems.newFileSystem(path, (ClassLoader)null);
+			} catch (IOException e) {
+				logger.error("Unable to open license list archive "+path, e);
+				throw new SpdxListedLicenseException("Unable to open license list archive "+path, e);
+			} catch (ProviderNotFoundException | UnsupportedOperationException e) {
+				// no file system provider accepts the file - e.g. it is not a zip file
+				logger.error("License list path "+path+" is not a directory or zip file", e);
+				throw new SpdxListedLicenseException("License list path "+path+" is not a directory or zip file", e);
+			}
+			root = zipFileSystem.getRootDirectories().iterator().next();
+		} else {
+			logger.error("License list path "+path+" does not exist");
+			throw new SpdxListedLicenseException("License list path "+path+" does not exist");
+		}
+		try {
+			jsonDir = findJsonDir(root);
+			initialize();
+		} catch (InvalidSPDXAnalysisException e) {
+			closeZipFileSystem();
+			throw e;
+		}
+	}
+
+	/**
+	 * @param root root directory to search
+	 * @return the shallowest directory containing the license table of contents
+	 * @throws InvalidSPDXAnalysisException if no table of contents is found
+	 */
+	private Path findJsonDir(Path root) throws InvalidSPDXAnalysisException {
+		try (Stream<Path> files = Files.walk(root, MAX_TOC_SEARCH_DEPTH)) {
+			Optional<Path> toc = files.filter(file -> LICENSE_TOC_FILENAME.equals(String.valueOf(file.getFileName())))
+					.min(Comparator.comparingInt(Path::getNameCount));
+			if (!toc.isPresent()) {
+				logger.error("No "+LICENSE_TOC_FILENAME+" found in "+path);
+				throw new SpdxListedLicenseException("No "+LICENSE_TOC_FILENAME+" found in "+path);
+			}
+			return toc.get().getParent();
+		} catch (IOException e) {
+			logger.error("I/O error searching for the license table of contents in "+path, e);
+			throw new SpdxListedLicenseException("I/O error searching for the license table of contents in "+path, e);
+		}
+	}
+
+	/**
+	 * @param id license or exception ID
+	 * @param detailsDir subdirectory used for the details in the license-list-data layout
+	 * @return path to the JSON file for the ID
+	 * @throws IOException if the store has been closed
+	 */
+	private Path detailsFile(String id, String detailsDir) throws IOException {
+		String fileName = id + JSON_SUFFIX;
+		Path retval = jsonDir.resolve(fileName);
+		try {
+			if (!Files.isRegularFile(retval)) {
+				Path details = jsonDir.resolve(detailsDir).resolve(fileName);
+				if (Files.isRegularFile(details)) {
+					retval = details;
+				}
+			}
+		} catch (ClosedFileSystemException e) {
+			throw closedException();
+		}
+		return retval;
+	}
+
+	/**
+	 * @return exception reporting that the license list archive was read after the store was closed
+	 */
+	private IOException closedException() {
+		return new IOException("License list archive "+path+" has been closed");
+	}
+
+	/**
+	 * @param file file to read
+	 * @return input stream for the content of the file
+	 * @throws IOException on errors reading the file, including reading from the archive after the store was closed
+	 */
+	private InputStream openFile(Path file) throws IOException {
+		try {
+			return readFile(file);
+		} catch (ClosedFileSystemException e) {
+			throw closedException();
+		}
+	}
+
+	/**
+	 * @param file file to read
+	 * @return input stream for the content of the file
+	 * @throws IOException on errors reading the file
+	 */
+	private InputStream readFile(Path file) throws IOException {
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+			long size = channel.size();
+			if (size > Integer.MAX_VALUE) {
+				throw new IOException("File "+file+" is too large");
+			}
+			ByteBuffer buffer;
+			if (Objects.isNull(zipFileSystem) && size >= MMAP_THRESHOLD) {
+				buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+			} else {
+				buffer = ByteBuffer.allocate((int)size);
+				while (buffer.hasRemaining() && channel.read(buffer) >= 0) {
+					// keep reading until the buffer is full or the end of the file
+				}
+				buffer.flip();
+			}
+			return new ByteBufferInputStream(buffer);
+		}
+	}
+
+	@Override
+	protected IListedLicenseMetrics.LoadSource getLoadSource() {
+		return IListedLicenseMetrics.LoadSource.FILE;
+	}
+
+	@Override
+	public InputStream getTocInputStream() throws IOException {
+		return openFile(jsonDir.resolve(LICENSE_TOC_FILENAME));
+	}
+
+	@Override
+	public InputStream getExceptionTocInputStream() throws IOException {
+		return openFile(jsonDir.resolve(EXCEPTION_TOC_FILENAME));
+	}
+
+	@Override
+	public InputStream getLicenseInputStream(String licenseId) throws IOException {
+		return openFile(detailsFile(licenseId, LICENSE_DETAILS_DIR));
+	}
+
+	@Override
+	public InputStream getExceptionInputStream(String exceptionId) throws IOException {
+		return openFile(detailsFile(exceptionId, EXCEPTION_DETAILS_DIR));
+	}
+
+	/**
+	 * @return the directory or zip file containing the license list JSON files
+	 */
+	public Path getPath() {
+		return path;
+	}
+
+	private void closeZipFileSystem() {
+		if (Objects.nonNull(zipFileSystem)) {
+			try {
+				zipFileSystem.close();
+			} catch (IOException e) {
+				logger.warn("Unable to close license list archive "+path, e);
+			}
+		}
+	}
+
+	@Override
+	public void close() throws Exception {
+		closeZipFileSystem();
+		super.close();
+	}
+
+	/**
+	 * Input stream reading from a byte buffer
+	 */
+	private static class ByteBufferInputStream extends InputStream {
+
+		private final ByteBuffer buffer;
+
+		ByteBufferInputStream(ByteBuffer buffer) {
+			this.buffer = buffer;
+		}
+
+		@Override
+		public int read() throws IOException {
+			return buffer.hasRemaining() ? buffer.get() & 0xFF : -1;
+		}
+
+		@Override
+		public int read(byte[] bytes, int offset, int length) throws IOException {
+			if (length == 0) {
+				return 0;
+			}
+			if (!buffer.hasRemaining()) {
+				return -1;
+			}
+			int numRead = Math.min(length, buffer.remaining());
+			buffer.get(bytes, offset, numRead);
+			return numRead;
+		}
+
+		@Override
+		public int available() throws IOException {
+			return buffer.remaining();
+		}
+	}
+}
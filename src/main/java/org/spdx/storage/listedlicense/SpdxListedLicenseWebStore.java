@@ -20,7 +20,15 @@ package org.spdx.storage.listedlicense;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.URL;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
 
+import org.spdx.Configuration;
 import org.spdx.core.InvalidSPDXAnalysisException;
 import org.spdx.library.model.v2.SpdxConstantsCompatV2;
 import org.spdx.utility.DownloadCache;
@@ -31,35 +39,127 @@ import org.spdx.utility.DownloadCache;
  *
  */
 public class SpdxListedLicenseWebStore extends SpdxListedLicenseModelStore {
+	
+	static final String CONFIG_PROPERTY_LISTED_LICENSE_URL = "org.spdx.listedLicenseUrl";
+	
+	/**
+	 * Default number of concurrent requests used by <code>prefetchAll</code>
+	 */
+	public static final int DEFAULT_PREFETCH_CONCURRENCY = 8;
+	
+	private final String baseUrl;
 
 	/**
+	 * Create a web store using the configured listed license URL (defaults to https://spdx.org/licenses/)
 	 * @throws InvalidSPDXAnalysisException
 	 */
 	public SpdxListedLicenseWebStore() throws InvalidSPDXAnalysisException {
-		super();
+		this(Configuration.getInstance().getProperty(CONFIG_PROPERTY_LISTED_LICENSE_URL, SpdxConstantsCompatV2.LISTED_LICENSE_URL));
+	}
+	
+	/**
+	 * @param baseUrl URL for the directory containing the license list JSON files
+	 * @throws InvalidSPDXAnalysisException
+	 */
+	public SpdxListedLicenseWebStore(String baseUrl) throws InvalidSPDXAnalysisException {
+		super(false);
+		Objects.requireNonNull(baseUrl, "Base URL can not be null");
+		this.baseUrl = baseUrl.endsWith("/") ? baseUrl : baseUrl + "/";
+		initialize();
 	}
 
 	private InputStream getUrlInputStream(final URL url) throws IOException {
 		return DownloadCache.getInstance().getUrlInputStream(url);
 	}
 
+	@Override
+	protected IListedLicenseMetrics.LoadSource getLoadSource() {
+		return DownloadCache.getInstance().isCacheEnabled() ? IListedLicenseMetrics.LoadSource.DOWNLOAD_CACHE :
+			IListedLicenseMetrics.LoadSource.HTTP;
+	}
+
 	@Override
 	public InputStream getTocInputStream() throws IOException {
-		return getUrlInputStream(new URL(SpdxConstantsCompatV2.LISTED_LICENSE_URL + LICENSE_TOC_FILENAME));
+		return getUrlInputStream(new URL(baseUrl + LICENSE_TOC_FILENAME));
 	}
 
 	@Override
 	public InputStream getLicenseInputStream(String licenseId) throws IOException {
-		return getUrlInputStream(new URL(SpdxConstantsCompatV2.LISTED_LICENSE_URL + licenseId + JSON_SUFFIX));
+		return getUrlInputStream(new URL(baseUrl + licenseId + JSON_SUFFIX));
 	}
 
 	@Override
 	public InputStream getExceptionTocInputStream() throws IOException {
-		return getUrlInputStream(new URL(SpdxConstantsCompatV2.LISTED_LICENSE_URL + EXCEPTION_TOC_FILENAME));
+		return getUrlInputStream(new URL(baseUrl + EXCEPTION_TOC_FILENAME));
 	}
 
 	@Override
 	public InputStream getExceptionInputStream(String exceptionId) throws IOException {
 		return getLicenseInputStream(exceptionId);	// Same URL using exception ID rather than license ID
 	}
+	
+	/**
+	 * @return URL for the directory containing the license list JSON files
+	 */
+	public String getBaseUrl() {
+		return baseUrl;
+	}
+	
+	/**
+	 * Fetch all listed licenses and exceptions with <code>DEFAULT_PREFETCH_CONCURRENCY</code> concurrent requests
+	 * @return future which completes with the number of licenses and exceptions successfully fetched
+	 */
+	public CompletableFuture<Integer> prefetchAll() {
+		return prefetchAll(DEFAULT_PREFETCH_CONCURRENCY);
+	}
+	
+	/**
+	 * Fetch all listed licenses and exceptions not already in memory, populating the download cache (if enabled)
+	 * and the in-memory license and exception caches.  Failures for individual licenses are logged and the
+	 * license will be fetched again on demand.
+	 * 
+	 * If the in-memory caches are bounded by <code>org.spdx.listedLicenseCacheMaxBytes</code>, the least recently
+	 * used licenses and exceptions are evicted as new ones are fetched once the limit is reached.  With a limit
+	 * smaller than the full license list, only a portion of the list remains in memory when the prefetch completes;
+	 * the remainder is read again from the download cache (if enabled) or the network when next used.
+	 * @param maxConcurrency maximum number of concurrent requests
+	 * @return future which completes with the number of licenses and exceptions successfully fetched - this may be
+	 * more than the number remaining in memory
+	 */
+	public CompletableFuture<Integer> prefetchAll(int maxConcurrency) {
+		if (maxConcurrency < 1) {
+			throw new IllegalArgumentException("Max concurrency must be at least 1");
+		}
+		final AtomicInteger threadNumber = new AtomicInteger();
+		final ExecutorService executor = Executors.newFixedThreadPool(maxConcurrency, runnable -> {
+			Thread thread = new Thread(runnable, "spdx-license-prefetch-" + threadNumber.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		});
+		final AtomicInteger numFetched = new AtomicInteger();
+		List<CompletableFuture<Void>> fetches = new ArrayList<>();
+		for (String licenseId:getSpdxListedLicenseIds()) {
+			fetches.add(CompletableFuture.runAsync(() -> {
+				try {
+					prefetchLicenseJson(licenseId);
+					numFetched.incrementAndGet();
+				} catch (InvalidSPDXAnalysisException e) {
+					logger.warn("Unable to prefetch license "+licenseId, e);
+				}
+			}, executor));
+		}
+		for (String exceptionId:getSpdxListedExceptionIds()) {
+			fetches.add(CompletableFuture.runAsync(() -> {
+				try {
+					prefetchExceptionJson(exceptionId);
+					numFetched.incrementAndGet();
+				} catch (InvalidSPDXAnalysisException e) {
+					logger.warn("Unable to prefetch exception "+exceptionId, e);
+				}
+			}, executor));
+		}
+		return CompletableFuture.allOf(fetches.toArray(new CompletableFuture<?>[fetches.size()]))
+				.thenApply(v -> numFetched.get())
+				.whenComplete((count, ex) -> executor.shutdown());
+	}
 }
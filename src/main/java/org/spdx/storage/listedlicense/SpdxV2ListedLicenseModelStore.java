@@ -18,12 +18,10 @@
 package org.spdx.storage.listedlicense;
 
 import java.util.ArrayList;
-import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
-import java.util.Set;
 import java.util.stream.Stream;
 
 import org.spdx.core.InvalidSPDXAnalysisException;
@@ -42,47 +40,52 @@ import org.spdx.storage.PropertyDescriptor;
  */
 public class SpdxV2ListedLicenseModelStore implements IModelStore {
 	
-	static Set<PropertyDescriptor> SUPPORTED_V2_DESCRIPTORS = new HashSet<>();
+	/**
+	 * Property descriptors supported by this store - built once so checks for the descriptor constants resolve by identity
+	 */
+	static final PropertyDescriptorTable SUPPORTED_V2_DESCRIPTORS;
 	
 	static {
+		List<PropertyDescriptor> supported = new ArrayList<>();
 		// Licenses
-		SUPPORTED_V2_DESCRIPTORS.add(SpdxConstantsCompatV2.PROP_LICENSE_TEXT);
-		SUPPORTED_V2_DESCRIPTORS.add(SpdxConstantsCompatV2.PROP_LICENSE_TEXT_HTML);
-		SUPPORTED_V2_DESCRIPTORS.add(SpdxConstantsCompatV2.PROP_LICENSE_NAME);
-		SUPPORTED_V2_DESCRIPTORS.add(SpdxConstantsCompatV2.PROP_NAME);
-		SUPPORTED_V2_DESCRIPTORS.add(SpdxConstantsCompatV2.PROP_STD_LICENSE_NOTICE);
-		SUPPORTED_V2_DESCRIPTORS.add(SpdxConstantsCompatV2.PROP_STD_LICENSE_HEADER_TEMPLATE);
-		SUPPORTED_V2_DESCRIPTORS.add(SpdxConstantsCompatV2.PROP_LICENSE_HEADER_HTML);
-		SUPPORTED_V2_DESCRIPTORS.add(SpdxConstantsCompatV2.PROP_STD_LICENSE_TEMPLATE);
-		SUPPORTED_V2_DESCRIPTORS.add(SpdxConstantsCompatV2.PROP_STD_LICENSE_OSI_APPROVED);
-		SUPPORTED_V2_DESCRIPTORS.add(SpdxConstantsCompatV2.PROP_STD_LICENSE_FSF_LIBRE);
-		SUPPORTED_V2_DESCRIPTORS.add(SpdxConstantsCompatV2.PROP_EXAMPLE);
-		SUPPORTED_V2_DESCRIPTORS.add(SpdxConstantsCompatV2.PROP_LIC_ID_DEPRECATED);
-		SUPPORTED_V2_DESCRIPTORS.add(SpdxConstantsCompatV2.PROP_LIC_DEPRECATED_VERSION);
-		SUPPORTED_V2_DESCRIPTORS.add(SpdxConstantsCompatV2.RDFS_PROP_COMMENT);
-		SUPPORTED_V2_DESCRIPTORS.add(SpdxConstantsCompatV2.PROP_LICENSE_ID);
-		SUPPORTED_V2_DESCRIPTORS.add(SpdxConstantsCompatV2.RDFS_PROP_SEE_ALSO);
-		SUPPORTED_V2_DESCRIPTORS.add(SpdxConstantsCompatV2.PROP_CROSS_REF);
+		supported.add(SpdxConstantsCompatV2.PROP_LICENSE_TEXT);
+		supported.add(SpdxConstantsCompatV2.PROP_LICENSE_TEXT_HTML);
+		supported.add(SpdxConstantsCompatV2.PROP_LICENSE_NAME);
+		supported.add(SpdxConstantsCompatV2.PROP_NAME);
+		supported.add(SpdxConstantsCompatV2.PROP_STD_LICENSE_NOTICE);
+		supported.add(SpdxConstantsCompatV2.PROP_STD_LICENSE_HEADER_TEMPLATE);
+		supported.add(SpdxConstantsCompatV2.PROP_LICENSE_HEADER_HTML);
+		supported.add(SpdxConstantsCompatV2.PROP_STD_LICENSE_TEMPLATE);
+		supported.add(SpdxConstantsCompatV2.PROP_STD_LICENSE_OSI_APPROVED);
+		supported.add(SpdxConstantsCompatV2.PROP_STD_LICENSE_FSF_LIBRE);
+		supported.add(SpdxConstantsCompatV2.PROP_EXAMPLE);
+		supported.add(SpdxConstantsCompatV2.PROP_LIC_ID_DEPRECATED);
+		supported.add(SpdxConstantsCompatV2.PROP_LIC_DEPRECATED_VERSION);
+		supported.add(SpdxConstantsCompatV2.RDFS_PROP_COMMENT);
+		supported.add(SpdxConstantsCompatV2.PROP_LICENSE_ID);
+		supported.add(SpdxConstantsCompatV2.RDFS_PROP_SEE_ALSO);
+		supported.add(SpdxConstantsCompatV2.PROP_CROSS_REF);
 		// Exceptions
-		SUPPORTED_V2_DESCRIPTORS.add(SpdxConstantsCompatV2.PROP_EXCEPTION_TEXT);
-		SUPPORTED_V2_DESCRIPTORS.add(SpdxConstantsCompatV2.PROP_EXCEPTION_TEXT_HTML);
-		SUPPORTED_V2_DESCRIPTORS.add(SpdxConstantsCompatV2.PROP_NAME);
-		SUPPORTED_V2_DESCRIPTORS.add(SpdxConstantsCompatV2.PROP_LICENSE_EXCEPTION_ID);
-		SUPPORTED_V2_DESCRIPTORS.add(SpdxConstantsCompatV2.PROP_EXCEPTION_TEMPLATE);
-		SUPPORTED_V2_DESCRIPTORS.add(SpdxConstantsCompatV2.PROP_EXAMPLE);
-		SUPPORTED_V2_DESCRIPTORS.add(SpdxConstantsCompatV2.PROP_LIC_ID_DEPRECATED);
-		SUPPORTED_V2_DESCRIPTORS.add(SpdxConstantsCompatV2.PROP_LIC_DEPRECATED_VERSION);
-		SUPPORTED_V2_DESCRIPTORS.add(SpdxConstantsCompatV2.RDFS_PROP_COMMENT);
-		SUPPORTED_V2_DESCRIPTORS.add(SpdxConstantsCompatV2.PROP_LICENSE_EXCEPTION_ID);
-		SUPPORTED_V2_DESCRIPTORS.add(SpdxConstantsCompatV2.RDFS_PROP_SEE_ALSO);
+		supported.add(SpdxConstantsCompatV2.PROP_EXCEPTION_TEXT);
+		supported.add(SpdxConstantsCompatV2.PROP_EXCEPTION_TEXT_HTML);
+		supported.add(SpdxConstantsCompatV2.PROP_NAME);
+		supported.add(SpdxConstantsCompatV2.PROP_LICENSE_EXCEPTION_ID);
+		supported.add(SpdxConstantsCompatV2.PROP_EXCEPTION_TEMPLATE);
+		supported.add(SpdxConstantsCompatV2.PROP_EXAMPLE);
+		supported.add(SpdxConstantsCompatV2.PROP_LIC_ID_DEPRECATED);
+		supported.add(SpdxConstantsCompatV2.PROP_LIC_DEPRECATED_VERSION);
+		supported.add(SpdxConstantsCompatV2.RDFS_PROP_COMMENT);
+		supported.add(SpdxConstantsCompatV2.PROP_LICENSE_EXCEPTION_ID);
+		supported.add(SpdxConstantsCompatV2.RDFS_PROP_SEE_ALSO);
 		// Crossrefs
-		SUPPORTED_V2_DESCRIPTORS.add(new PropertyDescriptor("match", SpdxConstantsCompatV2.SPDX_NAMESPACE));
-		SUPPORTED_V2_DESCRIPTORS.add(new PropertyDescriptor("url", SpdxConstantsCompatV2.SPDX_NAMESPACE));
-		SUPPORTED_V2_DESCRIPTORS.add(new PropertyDescriptor("isValid", SpdxConstantsCompatV2.SPDX_NAMESPACE));
-		SUPPORTED_V2_DESCRIPTORS.add(new PropertyDescriptor("isLive", SpdxConstantsCompatV2.SPDX_NAMESPACE));
-		SUPPORTED_V2_DESCRIPTORS.add(new PropertyDescriptor("timestamp", SpdxConstantsCompatV2.SPDX_NAMESPACE));
-		SUPPORTED_V2_DESCRIPTORS.add(new PropertyDescriptor("isWayBackLink", SpdxConstantsCompatV2.SPDX_NAMESPACE));
-		SUPPORTED_V2_DESCRIPTORS.add(new PropertyDescriptor("order", SpdxConstantsCompatV2.SPDX_NAMESPACE));
+		supported.add(new PropertyDescriptor("match", SpdxConstantsCompatV2.SPDX_NAMESPACE));
+		supported.add(new PropertyDescriptor("url", SpdxConstantsCompatV2.SPDX_NAMESPACE));
+		supported.add(new PropertyDescriptor("isValid", SpdxConstantsCompatV2.SPDX_NAMESPACE));
+		supported.add(new PropertyDescriptor("isLive", SpdxConstantsCompatV2.SPDX_NAMESPACE));
+		supported.add(new PropertyDescriptor("timestamp", SpdxConstantsCompatV2.SPDX_NAMESPACE));
+		supported.add(new PropertyDescriptor("isWayBackLink", SpdxConstantsCompatV2.SPDX_NAMESPACE));
+		supported.add(new PropertyDescriptor("order", SpdxConstantsCompatV2.SPDX_NAMESPACE));
+		SUPPORTED_V2_DESCRIPTORS = new PropertyDescriptorTable(supported);
 	}
 	
 	IListedLicenseStore baseStore;
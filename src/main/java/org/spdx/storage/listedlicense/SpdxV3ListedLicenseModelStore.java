@@ -18,11 +18,9 @@
 package org.spdx.storage.listedlicense;
 
 import java.util.ArrayList;
-import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Optional;
-import java.util.Set;
 import java.util.stream.Stream;
 
 import org.spdx.core.InvalidSPDXAnalysisException;
@@ -40,56 +38,61 @@ import org.spdx.storage.PropertyDescriptor;
 public class SpdxV3ListedLicenseModelStore implements IModelStore {
 	
 	
-	static Set<PropertyDescriptor> SUPPORTED_V3_DESCRIPTORS = new HashSet<>();
+	/**
+	 * Property descriptors supported by this store - built once so checks for the descriptor constants resolve by identity
+	 */
+	static final PropertyDescriptorTable SUPPORTED_V3_DESCRIPTORS;
 	
 	static {
+		List<PropertyDescriptor> supported = new ArrayList<>();
 		// Licenses
-		SUPPORTED_V3_DESCRIPTORS.add(SpdxConstantsV3.PROP_LICENSE_TEXT);
-		SUPPORTED_V3_DESCRIPTORS.add(SpdxConstantsV3.PROP_NAME);
-		SUPPORTED_V3_DESCRIPTORS.add(SpdxConstantsV3.PROP_CREATION_INFO);
-		SUPPORTED_V3_DESCRIPTORS.add(SpdxConstantsV3.PROP_STANDARD_LICENSE_HEADER);
-		SUPPORTED_V3_DESCRIPTORS.add(SpdxConstantsV3.PROP_IS_OSI_APPROVED);
-		SUPPORTED_V3_DESCRIPTORS.add(SpdxConstantsV3.PROP_IS_FSF_LIBRE);
-		SUPPORTED_V3_DESCRIPTORS.add(SpdxConstantsV3.PROP_IS_DEPRECATED_LICENSE_ID);
-		SUPPORTED_V3_DESCRIPTORS.add(SpdxConstantsV3.PROP_DEPRECATED_VERSION);
-		SUPPORTED_V3_DESCRIPTORS.add(SpdxConstantsV3.PROP_COMMENT);
-		SUPPORTED_V3_DESCRIPTORS.add(SpdxConstantsV3.PROP_SEE_ALSO);
-		SUPPORTED_V3_DESCRIPTORS.add(SpdxConstantsV3.PROP_STANDARD_LICENSE_TEMPLATE);
-		SUPPORTED_V3_DESCRIPTORS.add(SpdxConstantsV3.PROP_LICENSE_XML);
-		SUPPORTED_V3_DESCRIPTORS.add(SpdxConstantsV3.PROP_OBSOLETED_BY);
-		SUPPORTED_V3_DESCRIPTORS.add(SpdxConstantsV3.PROP_LIST_VERSION_ADDED);
+		supported.add(SpdxConstantsV3.PROP_LICENSE_TEXT);
+		supported.add(SpdxConstantsV3.PROP_NAME);
+		supported.add(SpdxConstantsV3.PROP_CREATION_INFO);
+		supported.add(SpdxConstantsV3.PROP_STANDARD_LICENSE_HEADER);
+		supported.add(SpdxConstantsV3.PROP_IS_OSI_APPROVED);
+		supported.add(SpdxConstantsV3.PROP_IS_FSF_LIBRE);
+		supported.add(SpdxConstantsV3.PROP_IS_DEPRECATED_LICENSE_ID);
+		supported.add(SpdxConstantsV3.PROP_DEPRECATED_VERSION);
+		supported.add(SpdxConstantsV3.PROP_COMMENT);
+		supported.add(SpdxConstantsV3.PROP_SEE_ALSO);
+		supported.add(SpdxConstantsV3.PROP_STANDARD_LICENSE_TEMPLATE);
+		supported.add(SpdxConstantsV3.PROP_LICENSE_XML);
+		supported.add(SpdxConstantsV3.PROP_OBSOLETED_BY);
+		supported.add(SpdxConstantsV3.PROP_LIST_VERSION_ADDED);
 		// Exceptions
-		SUPPORTED_V3_DESCRIPTORS.add(SpdxConstantsV3.PROP_ADDITION_TEXT);
-		SUPPORTED_V3_DESCRIPTORS.add(SpdxConstantsV3.PROP_STANDARD_ADDITION_TEMPLATE);
-		SUPPORTED_V3_DESCRIPTORS.add(SpdxConstantsV3.PROP_IS_DEPRECATED_ADDITION_ID);
-		SUPPORTED_V3_DESCRIPTORS.add(SpdxConstantsV3.PROP_DEPRECATED_VERSION);
-		SUPPORTED_V3_DESCRIPTORS.add(SpdxConstantsV3.PROP_COMMENT);
-		SUPPORTED_V3_DESCRIPTORS.add(SpdxConstantsV3.PROP_SEE_ALSO);
+		supported.add(SpdxConstantsV3.PROP_ADDITION_TEXT);
+		supported.add(SpdxConstantsV3.PROP_STANDARD_ADDITION_TEMPLATE);
+		supported.add(SpdxConstantsV3.PROP_IS_DEPRECATED_ADDITION_ID);
+		supported.add(SpdxConstantsV3.PROP_DEPRECATED_VERSION);
+		supported.add(SpdxConstantsV3.PROP_COMMENT);
+		supported.add(SpdxConstantsV3.PROP_SEE_ALSO);
 		
-		SUPPORTED_V3_DESCRIPTORS.add(SpdxConstantsV3.PROP_LICENSE_XML);
-		SUPPORTED_V3_DESCRIPTORS.add(SpdxConstantsV3.PROP_OBSOLETED_BY);
-		SUPPORTED_V3_DESCRIPTORS.add(SpdxConstantsV3.PROP_LIST_VERSION_ADDED);
+		supported.add(SpdxConstantsV3.PROP_LICENSE_XML);
+		supported.add(SpdxConstantsV3.PROP_OBSOLETED_BY);
+		supported.add(SpdxConstantsV3.PROP_LIST_VERSION_ADDED);
 		
 		// CreationInfo
-		SUPPORTED_V3_DESCRIPTORS.add(SpdxConstantsV3.PROP_COMMENT);
-		SUPPORTED_V3_DESCRIPTORS.add(SpdxConstantsV3.PROP_CREATED);
-		SUPPORTED_V3_DESCRIPTORS.add(SpdxConstantsV3.PROP_CREATED_BY);
-		SUPPORTED_V3_DESCRIPTORS.add(SpdxConstantsV3.PROP_SPEC_VERSION);
+		supported.add(SpdxConstantsV3.PROP_COMMENT);
+		supported.add(SpdxConstantsV3.PROP_CREATED);
+		supported.add(SpdxConstantsV3.PROP_CREATED_BY);
+		supported.add(SpdxConstantsV3.PROP_SPEC_VERSION);
 		
 		// Agent
-		SUPPORTED_V3_DESCRIPTORS.add(SpdxConstantsV3.PROP_CREATION_INFO);
-		SUPPORTED_V3_DESCRIPTORS.add(SpdxConstantsV3.PROP_NAME);
-		SUPPORTED_V3_DESCRIPTORS.add(SpdxConstantsV3.PROP_DESCRIPTION);
+		supported.add(SpdxConstantsV3.PROP_CREATION_INFO);
+		supported.add(SpdxConstantsV3.PROP_NAME);
+		supported.add(SpdxConstantsV3.PROP_DESCRIPTION);
 		
 		// Collections created on initialization
-		SUPPORTED_V3_DESCRIPTORS.add(SpdxConstantsV3.PROP_EXTERNAL_REF);
-		SUPPORTED_V3_DESCRIPTORS.add(SpdxConstantsV3.PROP_VERIFIED_USING);
-		SUPPORTED_V3_DESCRIPTORS.add(SpdxConstantsV3.PROP_EXTENSION);
-		SUPPORTED_V3_DESCRIPTORS.add(SpdxConstantsV3.PROP_EXTERNAL_IDENTIFIER);
-		SUPPORTED_V3_DESCRIPTORS.add(SpdxConstantsV3.PROP_CREATED_USING);
+		supported.add(SpdxConstantsV3.PROP_EXTERNAL_REF);
+		supported.add(SpdxConstantsV3.PROP_VERIFIED_USING);
+		supported.add(SpdxConstantsV3.PROP_EXTENSION);
+		supported.add(SpdxConstantsV3.PROP_EXTERNAL_IDENTIFIER);
+		supported.add(SpdxConstantsV3.PROP_CREATED_USING);
 		
 		// Unused properties used
-		SUPPORTED_V3_DESCRIPTORS.add(SpdxConstantsV3.PROP_SUMMARY);
+		supported.add(SpdxConstantsV3.PROP_SUMMARY);
+		SUPPORTED_V3_DESCRIPTORS = new PropertyDescriptorTable(supported);
 	}
 
 	IListedLicenseStore baseStore;
@@ -20,11 +20,13 @@ package org.spdx.storage.simple;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Iterator;
-import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 import java.util.regex.Matcher;
@@ -56,6 +58,10 @@ import org.spdx.storage.PropertyDescriptor;
  * It is designed to be thread-safe and low CPU utilization.  It may use significant amounts of memory
  * for larger SPDX documents.
  *
+ * Note for subclasses: the map of items is private so that the insertion order and type indexes kept
+ * alongside it stay consistent.  Items should be added through <code>create</code> and read through
+ * <code>getTypedValueMap</code>, <code>getItem</code>, <code>exists</code> and <code>getAllItems</code>.
+ *
  */
 public class InMemSpdxStore implements IModelStore {
 
@@ -77,9 +83,23 @@ public class InMemSpdxStore implements IModelStore {
 	static Pattern ANON_ID_PATTERN_GENERATED = Pattern.compile(ANON_PREFIX+GENERATED+"(\\d+)$");
 
 	/**
-	 * Map of property object URI's to typed value items
+	 * Map of lower case object URI's to typed value items - only added to by <code>create</code> so that the
+	 * insertion order queues below include every item
+	 */
+	private final Map<String, StoredTypedItem> typedValueMap = new ConcurrentHashMap<>();
+
+	/**
+	 * Items in the order they were created - used to return all items in insertion order without locking the
+	 * <code>typedValueMap</code>.  Deleted items are skipped when read and removed once they make up half the queue
+	 */
+	private final ConcurrentLinkedQueue<StoredTypedItem> insertionOrder = new ConcurrentLinkedQueue<>();
+
+	/**
+	 * Map of types to the items of that type in the order they were created - used for type filtered queries.
+	 * Deleted items are handled the same as for <code>insertionOrder</code>
 	 */
-	protected Map<String, StoredTypedItem> typedValueMap = Collections.synchronizedMap(new LinkedHashMap<>());
+	private final Map<String, ConcurrentLinkedQueue<StoredTypedItem>> itemsByType = new ConcurrentHashMap<>();
+	private final AtomicInteger deletedCount = new AtomicInteger();
 
 	private int nextNextLicenseId = 0;
 	private int nextNextDocumentId = 0;
@@ -111,6 +131,14 @@ public class InMemSpdxStore implements IModelStore {
 	public InMemSpdxStore() {
 
 	}
+
+	/**
+	 * Replaces direct access to the formerly protected <code>typedValueMap</code> field for subclasses
+	 * @return read only view of the map of lower case object URI's to typed value items
+	 */
+	protected Map<String, StoredTypedItem> getTypedValueMap() {
+		return Collections.unmodifiableMap(typedValueMap);
+	}
 	
 	@Override
 	public boolean exists(String objectUri) {
@@ -124,6 +152,29 @@ public class InMemSpdxStore implements IModelStore {
 		if (Objects.nonNull(this.typedValueMap.putIfAbsent(typedValue.getObjectUri().toLowerCase(), value))) {
 			throw new DuplicateSpdxIdException("Object URI "+typedValue.getObjectUri()+" already exists.");
 		}
+		insertionOrder.add(value);
+		itemsByType.computeIfAbsent(value.getType(), type -> new ConcurrentLinkedQueue<>()).add(value);
+	}
+
+	/**
+	 * @param item item from the insertion order queue
+	 * @return true if the item has not been deleted or replaced by a later create
+	 */
+	private boolean isCurrent(StoredTypedItem item) {
+		return typedValueMap.get(item.getObjectUri().toLowerCase()) == item;
+	}
+
+	/**
+	 * Record the deletion of an item, compacting the insertion order queues once deleted items make up half of them
+	 */
+	private void itemDeleted() {
+		if (deletedCount.incrementAndGet() > typedValueMap.size()) {
+			deletedCount.set(0);
+			insertionOrder.removeIf(item -> !isCurrent(item));
+			for (ConcurrentLinkedQueue<StoredTypedItem> items:itemsByType.values()) {
+				items.removeIf(item -> !isCurrent(item));
+			}
+		}
 	}
 
 	/**
@@ -342,19 +393,22 @@ public class InMemSpdxStore implements IModelStore {
         }
 	}
 
+	/**
+	 * The returned stream is evaluated lazily and is weakly consistent - items created or deleted while the stream
+	 * is being consumed may or may not be included.  If the store is to be modified while consuming the stream,
+	 * collect the stream first.  When a type filter is provided, only items of that type are visited.
+	 */
 	@Override
 	public Stream<TypedValue> getAllItems(@Nullable String nameSpace, @Nullable String typeFilter)
 			throws InvalidSPDXAnalysisException {
-		Iterator<StoredTypedItem> valueIter = typedValueMap.values().iterator();
-		List<TypedValue> allItems = new ArrayList<>();
-		while (valueIter.hasNext()) {
-			StoredTypedItem item = valueIter.next();
-			if ((Objects.isNull(typeFilter) || typeFilter.equals(item.getType())) && 
-					(Objects.isNull(nameSpace) || item.getObjectUri().startsWith(nameSpace))) {
-				allItems.add(item);
-			}
+		ConcurrentLinkedQueue<StoredTypedItem> items = Objects.isNull(typeFilter) ? insertionOrder : itemsByType.get(typeFilter);
+		if (Objects.isNull(items)) {
+			return Stream.empty();
 		}
-		return Collections.unmodifiableList(allItems).stream();
+		return items.stream()
+				.filter(item -> isCurrent(item) && 
+						(Objects.isNull(nameSpace) || item.getObjectUri().startsWith(nameSpace)))
+				.map(item -> (TypedValue)item);
 	}
 
 	@Override
@@ -453,7 +507,17 @@ public class InMemSpdxStore implements IModelStore {
 	 * Remove all existing elements, properties, and values
 	 */
 	public void clear() {
-		this.typedValueMap.clear();;
+		referenceCountLock.writeLock().lock();
+		try {
+			// The queues are cleared first so that an item created concurrently is never left in the map
+			// without being in the queues - stale queue entries are skipped since they are no longer current
+			this.insertionOrder.clear();
+			this.itemsByType.clear();
+			this.typedValueMap.clear();
+			this.deletedCount.set(0);
+		} finally {
+			referenceCountLock.writeLock().unlock();
+		}
 	}
 
 	@Override
@@ -492,6 +556,7 @@ public class InMemSpdxStore implements IModelStore {
                 logger.error("Error deleting - object URI "+objectUri+" does not exist.");
                 throw new SpdxIdNotFoundException("Error deleting - object URI "+objectUri+" does not exist.");
             }
+            itemDeleted();
         } finally {
             referenceCountLock.writeLock().unlock();
         }
@@ -20,35 +20,70 @@ package org.spdx.utility;
 import java.io.BufferedInputStream;
 import java.io.BufferedOutputStream;
 import java.io.BufferedReader;
-import java.io.BufferedWriter;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.File;
+import java.io.FileNotFoundException;
 import java.io.FileInputStream;
 import java.io.FileOutputStream;
-import java.io.FileReader;
-import java.io.FileWriter;
+import java.io.FilterInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.InterruptedIOException;
 import java.io.OutputStream;
-import java.io.Reader;
-import java.io.Writer;
+import java.net.ConnectException;
 import java.net.HttpURLConnection;
+import java.net.SocketTimeoutException;
 import java.net.URL;
+import java.net.UnknownHostException;
 import java.nio.charset.StandardCharsets;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.file.AtomicMoveNotSupportedException;
 import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.time.Instant;
-import java.time.ZoneOffset;
-import java.time.format.DateTimeFormatter;
-import java.time.format.DateTimeParseException;
 import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.Base64;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+import java.util.zip.ZipOutputStream;
+
+import javax.annotation.Nullable;
 
-import com.google.gson.Gson;
-import com.google.gson.reflect.TypeToken;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -63,44 +98,158 @@ import org.spdx.Configuration;
  * between such checks is configurable (and can even be turned off, which makes every download request re-check the URL
  * for staleness).
  *
+ * Concurrent requests for the same URL, whether from threads in this JVM or from other processes sharing the cache
+ * directory, result in a single download.  Cached files are written to temporary files and renamed into place so that
+ * readers never see partially written content.
+ *
+ * Entries are tracked in a single index shared by all processes using the cache directory (see DownloadCacheIndex), so
+ * looking up an entry is an in-memory probe.  Content files are named for the SHA-256 hash of their URL and stored in
+ * subdirectories named for the first two characters of the hash.
+ *
  * The cache is configured via these Configuration options:
  * * org.spdx.storage.listedlicense.enableCache:
  *   Controls whether the cache is enabled or not. Defaults to false i.e. the cache is disabled.
  * * org.spdx.storage.listedlicense.cacheCheckIntervalSecs:
  *   How many seconds should the cache wait between issuing ETag requests to determine whether cached content is
  *   stale? Defaults to 86,400 seconds (24 hours).
+ * * org.spdx.downloadConnectTimeoutMillis:
+ *   How many milliseconds to wait for a connection to be established before failing the download. Defaults to 5,000
+ *   milliseconds (5 seconds).
+ * * org.spdx.downloadReadTimeoutMillis:
+ *   How many milliseconds to wait for data from the server before failing the download. Defaults to 5,000
+ *   milliseconds (5 seconds).
+ * * org.spdx.downloadMaxConnections:
+ *   Maximum number of downloads into the cache, and threads for asynchronous downloads, at once.  Connections are
+ *   kept alive and reused between downloads from the same host.  Defaults to 5.
+ * * org.spdx.downloadMaxRetries:
+ *   How many times to retry a request which fails with an IO error or a server error response.  Unknown hosts and
+ *   refused connections are not retried. Defaults to 2.
+ * * org.spdx.downloadRetryBackoffMillis:
+ *   How many milliseconds to wait before the first retry.  The wait doubles for each further retry and is jittered.
+ *   Defaults to 250 milliseconds.
+ * * org.spdx.downloadHedgePercentile:
+ *   If set, a second request is sent when the first hasn't answered within this percentile of recent response times,
+ *   and whichever answers first is used. Defaults to 0, which disables hedging.
+ * * org.spdx.downloadHedgeDelayMillis:
+ *   How many milliseconds to wait before hedging until enough requests have been made to estimate the percentile.
+ *   Defaults to 1,000 milliseconds (1 second).
+ * * org.spdx.downloadCacheMemoryMaxBytes:
+ *   Maximum number of bytes of cached content to also hold in memory.  Content requested again within the cache check
+ *   interval is served from memory without touching the file system.  Least recently used content is dropped from
+ *   memory first.  Defaults to 33,554,432 bytes (32 MiB); 0 holds no content in memory.
+ * * org.spdx.downloadCacheMaxStaleSecs:
+ *   How many seconds after its last check cached content may still be served while it is checked for staleness on a
+ *   background thread (stale-while-revalidate).  Content older than this blocks the request until the check
+ *   completes.  Defaults to 0, which always checks on the requesting thread.
+ * * org.spdx.downloadCacheMaxBytes:
+ *   Maximum number of bytes of content to keep in the cache directory.  When exceeded, the least recently accessed
+ *   entries (according to the last access time recorded in the index) are deleted.  Defaults to 0, which places
+ *   no limit on the size of the cache.
+ * * org.spdx.downloadCacheCompress:
+ *   Controls whether newly cached content is stored GZIP compressed.  Compressed content is decompressed
+ *   transparently.  Defaults to false.
+ *
+ * The outcome of each request attempt is reported to the metrics registered with setMetrics.
  */
 public final class DownloadCache {
     private static final Logger logger = LoggerFactory.getLogger(DownloadCache.class);
 
-    private static final int READ_TIMEOUT = 5000;
+    private static final int DEFAULT_READ_TIMEOUT = 5000;
+    private static final int DEFAULT_CONNECT_TIMEOUT = 5000;
+    private static final int DEFAULT_MAX_CONNECTIONS = 5;   // the default keep-alive connections per destination
+    private static final long DEFAULT_MAX_RETRIES = 2;
+    private static final long DEFAULT_RETRY_BACKOFF_MILLIS = 250;
+    private static final long DEFAULT_HEDGE_DELAY_MILLIS = 1000;
+    private static final int HTTP_TOO_MANY_REQUESTS = 429;
+    private static final int LATENCY_SAMPLES = 100;
+    private static final int MIN_LATENCY_SAMPLES = 20;
     private static final int IO_BUFFER_SIZE = 8192;
+    private static final int KEY_LOCK_STRIPES = 64;
     private static final long DEFAULT_CACHE_CHECK_INTERVAL_SECS = 86400;   // 24 hours, in seconds
+    private static final long DEFAULT_MEMORY_CACHE_MAX_BYTES = 32L * 1024 * 1024;   // 32 MiB
+    private static final long ACCESS_RECORD_INTERVAL_MILLIS = 1000;   // 1 second, in milliseconds
+    private static final String LOCK_SUFFIX = ".lock";
+    private static final String TEMP_SUFFIX = ".tmp";
+    private static final String SEED_MANIFEST_NAME = "spdx-download-cache-index.log";
+    private static final String SEED_CONTENT_PREFIX = "content/";
+    private static final Pattern CACHE_KEY_PATTERN = Pattern.compile("[0-9a-f]{64}");
 
     static final List<String> WHITE_LIST = Collections.unmodifiableList(Arrays.asList(
             "spdx.org", "spdx.dev", "spdx.com", "spdx.info")); // Allowed host names for the SPDX listed licenses
 
     private static DownloadCache singleton;
+    private static volatile IDownloadMetrics metrics = IDownloadMetrics.NOOP;
+
+    // Hedged requests run on their own threads so that they never wait behind the downloads which started them
+    private static final ExecutorService REQUEST_EXECUTOR = Executors.newCachedThreadPool(runnable -> {
+        final Thread thread = new Thread(runnable, "spdx-download-request");
+        thread.setDaemon(true);
+        return thread;
+    });
 
     // See https://specifications.freedesktop.org/basedir-spec/basedir-spec-latest.html
-    private final String cacheDir = ((System.getenv("XDG_CACHE_HOME") == null ||
+    private static final String DEFAULT_CACHE_DIR = ((System.getenv("XDG_CACHE_HOME") == null ||
             System.getenv("XDG_CACHE_HOME").trim().isEmpty()) ?
             System.getProperty("user.home") + File.separator + ".cache" :
             System.getenv("XDG_CACHE_HOME")) +
             File.separator + "Spdx-Java-Library";
 
-    private final String CONFIG_PROPERTY_CACHE_ENABLED = "org.spdx.downloadCacheEnabled";
-    private final String CONFIG_PROPERTY_CACHE_CHECK_INTERVAL_SECS = "org.spdx.downloadCacheCheckIntervalSecs";
+    private static final String CONFIG_PROPERTY_CACHE_ENABLED = "org.spdx.downloadCacheEnabled";
+    private static final String CONFIG_PROPERTY_CACHE_CHECK_INTERVAL_SECS = "org.spdx.downloadCacheCheckIntervalSecs";
+    private static final String CONFIG_PROPERTY_CONNECT_TIMEOUT_MILLIS = "org.spdx.downloadConnectTimeoutMillis";
+    private static final String CONFIG_PROPERTY_MEMORY_CACHE_MAX_BYTES = "org.spdx.downloadCacheMemoryMaxBytes";
+    private static final String CONFIG_PROPERTY_MAX_STALE_SECS = "org.spdx.downloadCacheMaxStaleSecs";
+    private static final String CONFIG_PROPERTY_CACHE_MAX_BYTES = "org.spdx.downloadCacheMaxBytes";
+    private static final String CONFIG_PROPERTY_COMPRESS = "org.spdx.downloadCacheCompress";
+    private static final String CONFIG_PROPERTY_READ_TIMEOUT_MILLIS = "org.spdx.downloadReadTimeoutMillis";
+    private static final String CONFIG_PROPERTY_MAX_CONNECTIONS = "org.spdx.downloadMaxConnections";
+    private static final String CONFIG_PROPERTY_MAX_RETRIES = "org.spdx.downloadMaxRetries";
+    private static final String CONFIG_PROPERTY_RETRY_BACKOFF_MILLIS = "org.spdx.downloadRetryBackoffMillis";
+    private static final String CONFIG_PROPERTY_HEDGE_PERCENTILE = "org.spdx.downloadHedgePercentile";
+    private static final String CONFIG_PROPERTY_HEDGE_DELAY_MILLIS = "org.spdx.downloadHedgeDelayMillis";
+    private final String cacheDir;
     private final boolean cacheEnabled;
     private final long cacheCheckIntervalSecs;
-
-    private final DateTimeFormatter iso8601 = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss.000'Z'").withZone(ZoneOffset.UTC);
+    private final int connectTimeout;
+    private final int readTimeout;
+    private final int maxConnections;
+    private final Semaphore connectionPermits;
+    private final int maxRetries;
+    private final long retryBackoffMillis;
+    private final int hedgePercentile;
+    private final long hedgeDelayMillis;
+    private final long[] latencies = new long[LATENCY_SAMPLES];
+    private long latencyCount = 0;
+    private final long maxStaleSecs;
+    private final long cacheMaxBytes;
+    private final boolean compress;
+    private final DownloadMemoryCache memoryCache;
+    private final DownloadCacheIndex index;
+    private final ConcurrentMap<String, CompletableFuture<Void>> inFlight = new ConcurrentHashMap<>();
+    private final Set<String> revalidating = ConcurrentHashMap.newKeySet();
+    private final Object evictionLock = new Object();
+    /**
+     * Serializes the threads of this JVM locking the lock file for a cache key - file locks are held on behalf of the
+     * whole JVM, so a second thread locking the same file would fail with an OverlappingFileLockException.  Striped by
+     * the hash of the cache key.
+     */
+    private final ReentrantLock[] keyLocks = new ReentrantLock[KEY_LOCK_STRIPES];
+    private ExecutorService networkExecutor = null;
 
     /**
      * This class is a singleton - use getInstance() to obtain the instance.
      */
     private DownloadCache() {
-        boolean tmpCacheEnabled = Boolean.parseBoolean(Configuration.getInstance().getProperty(CONFIG_PROPERTY_CACHE_ENABLED, "false"));
+        this(DEFAULT_CACHE_DIR, Configuration.getInstance()::getProperty);
+    }
+
+    /**
+     * @param cacheDir The directory holding the cached content.
+     * @param configuration Returns the value of a configuration property, or null if it is not set.
+     */
+    DownloadCache(final String cacheDir, final Function<String, String> configuration) {
+        this.cacheDir = cacheDir;
+        boolean tmpCacheEnabled = Boolean.parseBoolean(configuration.apply(CONFIG_PROPERTY_CACHE_ENABLED));
         if (tmpCacheEnabled) {
             try {
                 final File cacheDirectory = new File(cacheDir);
@@ -110,14 +259,39 @@ public final class DownloadCache {
                 tmpCacheEnabled = false;
             }
         }
-        cacheEnabled = tmpCacheEnabled;
-        long tmpCacheCheckIntervalSecs = DEFAULT_CACHE_CHECK_INTERVAL_SECS;
+        this.cacheEnabled = tmpCacheEnabled;
+        this.cacheCheckIntervalSecs = parseLongProperty(configuration, CONFIG_PROPERTY_CACHE_CHECK_INTERVAL_SECS, DEFAULT_CACHE_CHECK_INTERVAL_SECS);
+        this.connectTimeout = (int)parseLongProperty(configuration, CONFIG_PROPERTY_CONNECT_TIMEOUT_MILLIS, DEFAULT_CONNECT_TIMEOUT);
+        this.readTimeout = (int)parseLongProperty(configuration, CONFIG_PROPERTY_READ_TIMEOUT_MILLIS, DEFAULT_READ_TIMEOUT);
+        this.maxConnections = (int)Math.max(1, parseLongProperty(configuration, CONFIG_PROPERTY_MAX_CONNECTIONS, DEFAULT_MAX_CONNECTIONS));
+        this.connectionPermits = new Semaphore(maxConnections, true);
+        this.maxRetries = (int)Math.max(0, parseLongProperty(configuration, CONFIG_PROPERTY_MAX_RETRIES, DEFAULT_MAX_RETRIES));
+        this.retryBackoffMillis = Math.max(1, parseLongProperty(configuration, CONFIG_PROPERTY_RETRY_BACKOFF_MILLIS, DEFAULT_RETRY_BACKOFF_MILLIS));
+        this.hedgePercentile = (int)Math.min(99, Math.max(0, parseLongProperty(configuration, CONFIG_PROPERTY_HEDGE_PERCENTILE, 0)));
+        this.hedgeDelayMillis = Math.max(1, parseLongProperty(configuration, CONFIG_PROPERTY_HEDGE_DELAY_MILLIS, DEFAULT_HEDGE_DELAY_MILLIS));
+        this.maxStaleSecs = parseLongProperty(configuration, CONFIG_PROPERTY_MAX_STALE_SECS, 0);
+        this.cacheMaxBytes = parseLongProperty(configuration, CONFIG_PROPERTY_CACHE_MAX_BYTES, 0);
+        this.compress = Boolean.parseBoolean(configuration.apply(CONFIG_PROPERTY_COMPRESS));
+        this.memoryCache = new DownloadMemoryCache(parseLongProperty(configuration, CONFIG_PROPERTY_MEMORY_CACHE_MAX_BYTES, DEFAULT_MEMORY_CACHE_MAX_BYTES));
+        for (int i = 0; i < keyLocks.length; i++) {
+            keyLocks[i] = new ReentrantLock();
+        }
+        this.index = new DownloadCacheIndex(new File(cacheDir));
+    }
+
+    /**
+     * @param configuration Returns the value of a configuration property, or null if it is not set.
+     * @param propertyName The name of the configuration property.
+     * @param defaultValue The value to use if the property isn't set or isn't a valid number.
+     * @return The value of the configuration property.
+     */
+    private static long parseLongProperty(final Function<String, String> configuration, final String propertyName,
+            final long defaultValue) {
         try {
-            tmpCacheCheckIntervalSecs = Long.parseLong(Configuration.getInstance().getProperty(CONFIG_PROPERTY_CACHE_CHECK_INTERVAL_SECS));
+            return Long.parseLong(configuration.apply(propertyName));
         } catch(NumberFormatException nfe) {
-            // Ignore parse failures - in this case we use the default value of 24 hours
+            return defaultValue;
         }
-        cacheCheckIntervalSecs = tmpCacheCheckIntervalSecs;
     }
 
     /**
@@ -130,6 +304,13 @@ public final class DownloadCache {
         return singleton;
     }
 
+    /**
+     * @return true if downloads are cached on the local file system
+     */
+    public boolean isCacheEnabled() {
+        return cacheEnabled;
+    }
+
     /**
      * Recursively removes a directory. USE WITH CAUTION!
      *
@@ -154,11 +335,126 @@ public final class DownloadCache {
      * @throws IOException on IO error
      */
     public void resetCache() throws IOException {
+        memoryCache.clear();
+        index.clear();
         final File cacheDirectory = new File(cacheDir);
         rmdir(cacheDirectory);
         Files.createDirectories(cacheDirectory.toPath());
     }
 
+    /**
+     * Writes the content of the cache to a single ZIP archive which can be imported into the cache on another machine
+     * using importCache - for example to seed the cache on build agents without network access.
+     * @param archive The stream to write the archive to.  The stream is finished but not closed.
+     * @return The number of entries exported.
+     * @throws IOException When the cache is disabled or an IO error of some kind occurs.
+     */
+    public int exportCache(final OutputStream archive) throws IOException {
+        if (!cacheEnabled) {
+            throw new IOException("The download cache is not enabled");
+        }
+        final List<DownloadCacheIndex.Record> records = index.refreshAndGetAll();
+        final ZipOutputStream zip = new ZipOutputStream(archive);
+        // The manifest comes first so that the archive can be imported in one sequential read
+        zip.putNextEntry(new ZipEntry(SEED_MANIFEST_NAME));
+        for (final DownloadCacheIndex.Record record : records) {
+            zip.write(record.toLine().getBytes(StandardCharsets.UTF_8));
+        }
+        zip.closeEntry();
+        int count = 0;
+        for (final DownloadCacheIndex.Record record : records) {
+            final File cachedFile = contentFile(record.key);
+            final ReentrantLock keyLock = keyLock(record.key);
+            keyLock.lock();
+            try (final FileChannel lockChannel = FileChannel.open(lockFile(record.key).toPath(),
+                    StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+                    final FileLock lock = lockChannel.lock()) {
+                // Re-read the entry under the lock in case it was replaced or evicted since the manifest was written
+                final DownloadCacheIndex.Record current = index.refreshAndGet(record.key);
+                if (current == null || !cachedFile.exists()) {
+                    continue;
+                }
+                zip.putNextEntry(new ZipEntry(SEED_CONTENT_PREFIX + record.key));
+                final InputStream content = new BufferedInputStream(new FileInputStream(cachedFile));
+                try (final InputStream is = current.compressed ? new GZIPInputStream(content, IO_BUFFER_SIZE) : content) {
+                    final byte[] ioBuffer = new byte[IO_BUFFER_SIZE];
+                    int length;
+                    while ((length = is.read(ioBuffer)) != -1) {
+                        zip.write(ioBuffer, 0, length);
+                    }
+                }
+                zip.closeEntry();
+                count++;
+            } finally {
+                keyLock.unlock();
+            }
+        }
+        zip.finish();
+        return count;
+    }
+
+    /**
+     * Imports an archive written by exportCache into the cache, replacing any existing entries for the same URLs.
+     * Imported entries are treated as just checked for staleness, so they are served without network access until the
+     * cache check interval has passed.  Content is stored compressed or not according to this cache's configuration.
+     * @param archive The stream to read the archive from.  The stream is read to the end of the archive but not closed.
+     * @return The number of entries imported.
+     * @throws IOException When the cache is disabled, the archive is invalid or an IO error of some kind occurs.
+     */
+    public int importCache(final InputStream archive) throws IOException {
+        if (!cacheEnabled) {
+            throw new IOException("The download cache is not enabled");
+        }
+        final ZipInputStream zip = new ZipInputStream(archive);
+        ZipEntry entry = zip.getNextEntry();
+        if (entry == null || !SEED_MANIFEST_NAME.equals(entry.getName())) {
+            throw new IOException("Invalid download cache archive - missing " + SEED_MANIFEST_NAME);
+        }
+        final Map<String, DownloadCacheIndex.Record> manifest = new HashMap<>();
+        final BufferedReader reader = new BufferedReader(new InputStreamReader(zip, StandardCharsets.UTF_8));
+        String line;
+        while ((line = reader.readLine()) != null) {
+            final DownloadCacheIndex.Record record = DownloadCacheIndex.Record.parse(line);
+            if (record == null || !CACHE_KEY_PATTERN.matcher(record.key).matches()) {
+                throw new IOException("Invalid download cache archive manifest entry: " + line);
+            }
+            manifest.put(record.key, record);
+        }
+        int count = 0;
+        while ((entry = zip.getNextEntry()) != null) {
+            final String key = entry.getName().startsWith(SEED_CONTENT_PREFIX) ?
+                    entry.getName().substring(SEED_CONTENT_PREFIX.length()) : null;
+            final DownloadCacheIndex.Record record = key == null ? null : manifest.get(key);
+            if (record == null) {
+                logger.warn("Skipping unexpected entry " + entry.getName() + " in download cache archive");
+                continue;
+            }
+            final File cachedFile = contentFile(key);
+            Files.createDirectories(cachedFile.getParentFile().toPath());
+            final ReentrantLock keyLock = keyLock(key);
+            keyLock.lock();
+            try (final FileChannel lockChannel = FileChannel.open(lockFile(key).toPath(),
+                    StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+                    final FileLock lock = lockChannel.lock()) {
+                writeContentFile(new FilterInputStream(zip) {
+                    @Override
+                    public void close() {
+                        // leave the archive open for the following entries
+                    }
+                }, cachedFile);
+                final Instant now = Instant.now();
+                index.put(new DownloadCacheIndex.Record(key, record.sourceUrl, record.eTag, record.downloadedAt,
+                        now, now, cachedFile.length(), compress));
+                memoryCache.remove(key);
+            } finally {
+                keyLock.unlock();
+            }
+            count++;
+        }
+        evictIfOverLimit(null);
+        return count;
+    }
+
     /**
      * @param url The URL to get an input stream for.  Note that redirects issued by this url are restricted to known
      *            SPDX hosts. Redirects to other hosts will cause an IOException to be thrown.
@@ -190,6 +486,32 @@ public final class DownloadCache {
         return result;
     }
 
+    /**
+     * Asynchronous version of getUrlInputStream, run on a pool shared by all downloads made through this class.  At
+     * most org.spdx.downloadMaxConnections downloads into the cache run at once, so requesting many URLs at the same
+     * time reuses a few kept-alive connections rather than opening one connection per URL.
+     * @param url The URL to get an input stream for.
+     * @param restrictRedirects A flag that controls whether redirects returned by url are restricted to known SPDX
+     *                          hosts or not. Defaults to true. USE EXTREME CAUTION WHEN TURNING THIS OFF!
+     * @return A future for an InputStream for url, completed exceptionally with an IOException if an IO error of some
+     *         kind occurs.
+     */
+    public CompletableFuture<InputStream> getUrlInputStreamAsync(final URL url, final boolean restrictRedirects) {
+        final CompletableFuture<InputStream> result = new CompletableFuture<>();
+        try {
+            getNetworkExecutor().execute(() -> {
+                try {
+                    result.complete(getUrlInputStream(url, restrictRedirects));
+                } catch (IOException | RuntimeException e) {
+                    result.completeExceptionally(e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            result.completeExceptionally(e);
+        }
+        return result;
+    }
+
     /**
      * @param url The URL to get an input stream for, ignoring the local cache.
      * @param restrictRedirects A flag that controls whether redirects returned by url are restricted to known SPDX
@@ -199,19 +521,19 @@ public final class DownloadCache {
      */
     private InputStream getUrlInputStreamDirect(URL url, boolean restrictRedirects) throws IOException {
         InputStream       result     = null;
-        HttpURLConnection connection = (HttpURLConnection)url.openConnection();
-        connection.setReadTimeout(READ_TIMEOUT);
+        HttpURLConnection connection = request(url, null);
         final URL redirectUrl = processPossibleRedirect(connection, restrictRedirects);
 
         if (redirectUrl != null) {
+            discardResponse(connection);
             url        = redirectUrl;
-            connection = (HttpURLConnection)redirectUrl.openConnection();
-            connection.setReadTimeout(READ_TIMEOUT);
+            connection = request(redirectUrl, null);
         }
         final int status = connection.getResponseCode();
         if (status == HttpURLConnection.HTTP_OK) {
             result = connection.getInputStream();
         } else {
+            discardResponse(connection);
             throw new IOException("Unexpected HTTP status code from " + url.toString() + ": " + status);
         }
         return result;
@@ -226,117 +548,651 @@ public final class DownloadCache {
      * @throws IOException When an IO error of some kind occurs.
      */
     private InputStream getUrlInputStreamThroughCache(final URL url, boolean restrictRedirects) throws IOException {
-        final String cacheKey           = base64Encode(url);
-        final File   cachedFile         = new File(cacheDir, cacheKey);
-        final File   cachedMetadataFile = new File(cacheDir, cacheKey + ".metadata.json");
+        final String cacheKey = cacheKey(url);
+        final DownloadMemoryCache.Entry memoryEntry = memoryCache.isEnabled() ? memoryCache.get(cacheKey) : null;
+        if (memoryEntry != null) {
+            if (!isCheckDue(memoryEntry.lastChecked)) {
+                // Warm hit - served from memory without touching the file system
+                logger.debug("Within cache check interval; serving " + String.valueOf(url) + " from memory");
+                recordAccess(cacheKey);
+                return new ByteArrayInputStream(memoryEntry.content);
+            }
+            if (canServeStale(memoryEntry.lastChecked)) {
+                recordAccess(cacheKey);
+                revalidateInBackground(url, cacheKey, restrictRedirects);
+                return new ByteArrayInputStream(memoryEntry.content);
+            }
+        }
+        final File cachedFile = contentFile(cacheKey);
 
-        if (cachedFile.exists() && cachedMetadataFile.exists()) {
-            try {
-                checkCache(url, restrictRedirects);
-            } catch (IOException ioe) {
-                // We know we have a locally cached file here, so if we happen to get an exception we can safely ignore
-                // it and fall back on the (possibly stale) cached content file.  This makes the code more robust in the
-                // presence of network errors when the cache has previously been populated.
+        DownloadCacheIndex.Record record = index.get(cacheKey);
+        if (record == null || isCheckDue(record.lastChecked)) {
+            // Another process may have downloaded or checked the content since we last read the index
+            record = index.refreshAndGet(cacheKey);
+        }
+        if (record == null || isCheckDue(record.lastChecked)) {
+            if (record != null && canServeStale(record.lastChecked)) {
+                recordAccess(record);
+                revalidateInBackground(url, cacheKey, restrictRedirects);
+            } else {
+                // Only take the locks when the cached content is missing or too stale to serve
+                refreshSingleFlight(url, cacheKey, restrictRedirects);
+                record = index.get(cacheKey);
             }
         } else {
-            cacheMiss(url, restrictRedirects);
+            logger.debug("Within cache check interval; skipping check of updates to " + String.valueOf(url));
+            recordAccess(record);
         }
+        if (record != null && !cachedFile.exists()) {
+            // The content was evicted by another process after we read the index
+            refreshSingleFlight(url, cacheKey, restrictRedirects);
+            record = index.get(cacheKey);
+        }
+        if (record == null) {
+            throw new IOException("Unable to cache content from " + String.valueOf(url));
+        }
+        try {
+            return openCachedContent(cacheKey, record, cachedFile);
+        } catch (FileNotFoundException | NoSuchFileException e) {
+            // The content was evicted after we checked that it exists - treat it as a cache miss
+            refreshSingleFlight(url, cacheKey, restrictRedirects);
+            record = index.get(cacheKey);
+            if (record == null) {
+                throw new IOException("Unable to cache content from " + String.valueOf(url));
+            }
+            return openCachedContent(cacheKey, record, cachedFile);
+        }
+    }
 
-        // At this point the cached file definitely exists
-        return new BufferedInputStream(new FileInputStream(cachedFile));
+    /**
+     * @param cacheKey The cache key of the content.
+     * @param record The index entry for the content.
+     * @param cachedFile The file holding the content.
+     * @return An InputStream for the content, which is also held in memory if it is small enough.
+     * @throws IOException When an IO error of some kind occurs, including the file not being found.
+     */
+    private InputStream openCachedContent(final String cacheKey, final DownloadCacheIndex.Record record,
+            final File cachedFile) throws IOException {
+        // The size on disk is a lower bound on the size of compressed content
+        if (memoryCache.isEnabled() && memoryCache.canHold(record.size)) {
+            byte[] content = Files.readAllBytes(cachedFile.toPath());
+            if (record.compressed) {
+                content = gunzip(content);
+            }
+            memoryCache.put(cacheKey, new DownloadMemoryCache.Entry(content, record.lastChecked));
+            return new ByteArrayInputStream(content);
+        }
+        final InputStream result = new BufferedInputStream(new FileInputStream(cachedFile));
+        return record.compressed ? new GZIPInputStream(result, IO_BUFFER_SIZE) : result;
+    }
+
+    /**
+     * @param content GZIP compressed content.
+     * @return The decompressed content.
+     * @throws IOException When the content can not be decompressed.
+     */
+    private static byte[] gunzip(final byte[] content) throws IOException {
+        try (final InputStream is = new GZIPInputStream(new ByteArrayInputStream(content), IO_BUFFER_SIZE)) {
+            final ByteArrayOutputStream result = new ByteArrayOutputStream(content.length * 4);
+            final byte[] ioBuffer = new byte[IO_BUFFER_SIZE];
+            int length;
+            while ((length = is.read(ioBuffer)) != -1) {
+                result.write(ioBuffer, 0, length);
+            }
+            return result.toByteArray();
+        }
+    }
+
+    /**
+     * Records the time content served from memory was accessed in the index, using the in-memory index entry.
+     * @param cacheKey The cache key of the accessed content.
+     */
+    private void recordAccess(final String cacheKey) {
+        if (cacheMaxBytes <= 0) {
+            return;
+        }
+        final DownloadCacheIndex.Record record = index.get(cacheKey);
+        if (record != null) {
+            recordAccess(record);
+        }
+    }
+
+    /**
+     * Records the time cached content was accessed in the index, for use in choosing which entries to evict from a
+     * size limited cache.  To avoid appending to the index on every access, the time is only recorded if the
+     * previously recorded access for the same entry was over a second ago.
+     * @param record The index entry for the accessed content.
+     */
+    private void recordAccess(final DownloadCacheIndex.Record record) {
+        if (cacheMaxBytes <= 0 ||
+                Math.abs(ChronoUnit.MILLIS.between(record.lastAccessed, Instant.now())) <= ACCESS_RECORD_INTERVAL_MILLIS) {
+            return;
+        }
+        try {
+            index.recordAccess(record.key, Instant.now());
+        } catch (IOException e) {
+            // Recording the access time is best effort
+            logger.debug("Unable to record access to cached content " + record.key, e);
+        }
+    }
+
+    /**
+     * Deletes the least recently accessed entries from the cache until the total size of the cached content is within
+     * the configured maximum.  Entries being updated by other threads or processes are skipped.
+     * @param keepKey The cache key of content which was just downloaded and should not be evicted, or null if none.
+     */
+    private void evictIfOverLimit(final @Nullable String keepKey) {
+        if (cacheMaxBytes <= 0) {
+            return;
+        }
+        synchronized (evictionLock) {
+            final List<DownloadCacheIndex.Record> records;
+            try {
+                records = index.refreshAndGetAll();
+            } catch (IOException e) {
+                logger.warn("Unable to read the download cache index; skipping eviction", e);
+                return;
+            }
+            long totalBytes = 0;
+            for (final DownloadCacheIndex.Record record : records) {
+                totalBytes += record.size;
+            }
+            if (totalBytes <= cacheMaxBytes) {
+                return;
+            }
+            records.sort(Comparator.comparing(record -> record.lastAccessed));
+            for (final DownloadCacheIndex.Record record : records) {
+                if (totalBytes <= cacheMaxBytes) {
+                    break;
+                }
+                if (!record.key.equals(keepKey) && evict(record.key)) {
+                    totalBytes -= record.size;
+                }
+            }
+        }
+    }
+
+    /**
+     * Deletes a cache entry, unless it is being updated by another thread or process.  The lock file is left in place
+     * since other processes may be waiting on it.
+     * @param cacheKey The cache key of the entry to delete.
+     * @return true if the entry was deleted.
+     */
+    private boolean evict(final String cacheKey) {
+        final File cachedFile = contentFile(cacheKey);
+        final ReentrantLock keyLock = keyLock(cacheKey);
+        if (!keyLock.tryLock()) {
+            return false;
+        }
+        try (final FileChannel lockChannel = FileChannel.open(lockFile(cacheKey).toPath(),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+                final FileLock lock = lockChannel.tryLock()) {
+            if (lock == null) {
+                return false;
+            }
+            logger.debug("Evicting cached content " + cacheKey);
+            memoryCache.remove(cacheKey);
+            index.remove(cacheKey);
+            Files.deleteIfExists(cachedFile.toPath());
+            return true;
+        } catch (IOException | OverlappingFileLockException e) {
+            logger.debug("Unable to evict cached content " + cacheKey, e);
+            return false;
+        } finally {
+            keyLock.unlock();
+        }
+    }
+
+    /**
+     * @param lastChecked When the cached content was last checked for staleness, or null if unknown.
+     * @return true if the cached content is within the maximum staleness and may be served while it is revalidated.
+     */
+    private boolean canServeStale(final Instant lastChecked) {
+        return maxStaleSecs > 0 && lastChecked != null &&
+                Math.abs(ChronoUnit.SECONDS.between(Instant.now(), lastChecked)) <= maxStaleSecs;
+    }
+
+    /**
+     * Checks the cached content for a URL for staleness on a background thread.  Readers continue to be served the
+     * cached content until the updated content has been renamed into place.
+     * @param url The url to revalidate.
+     * @param cacheKey The cache key for url.
+     * @param restrictRedirects A flag that controls whether redirects returned by url are restricted to known SPDX
+     *                          hosts or not. Defaults to true. USE EXTREME CAUTION WHEN TURNING THIS OFF!
+     */
+    private void revalidateInBackground(final URL url, final String cacheKey, final boolean restrictRedirects) {
+        if (!revalidating.add(cacheKey)) {
+            return; // already scheduled
+        }
+        logger.debug("Serving stale content while checking for updates to " + String.valueOf(url));
+        try {
+            getNetworkExecutor().execute(() -> {
+                try {
+                    refreshSingleFlight(url, cacheKey, restrictRedirects);
+                } catch (IOException | RuntimeException e) {
+                    logger.warn("Unable to check for updates to " + String.valueOf(url), e);
+                } finally {
+                    // The in-memory content is out of date once revalidated - it is reloaded on the next request
+                    memoryCache.remove(cacheKey);
+                    revalidating.remove(cacheKey);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            revalidating.remove(cacheKey);
+            logger.warn("Unable to schedule a check for updates to " + String.valueOf(url), e);
+        }
+    }
+
+    /**
+     * @return The executor running background revalidations and asynchronous downloads, creating it if necessary.
+     */
+    private synchronized ExecutorService getNetworkExecutor() {
+        if (networkExecutor == null) {
+            final AtomicInteger threadNumber = new AtomicInteger();
+            networkExecutor = Executors.newFixedThreadPool(maxConnections, runnable -> {
+                final Thread thread = new Thread(runnable, "spdx-download-cache-" + threadNumber.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        return networkExecutor;
+    }
+
+    /**
+     * Brings the cached content for a URL up to date, coalescing concurrent refreshes of the same URL.  Within this
+     * JVM only one thread refreshes a given cache key at a time - other threads requesting the same key wait for that
+     * refresh to complete rather than downloading the content again.
+     * @param url The url to refresh.
+     * @param cacheKey The cache key for url.
+     * @param restrictRedirects A flag that controls whether redirects returned by url are restricted to known SPDX
+     *                          hosts or not. Defaults to true. USE EXTREME CAUTION WHEN TURNING THIS OFF!
+     * @throws IOException When an IO error of some kind occurs.
+     */
+    private void refreshSingleFlight(final URL url, final String cacheKey, boolean restrictRedirects) throws IOException {
+        final CompletableFuture<Void> flight = new CompletableFuture<>();
+        final CompletableFuture<Void> inProgress = inFlight.putIfAbsent(cacheKey, flight);
+        if (inProgress != null) {
+            logger.debug("Waiting for in progress download of " + String.valueOf(url));
+            try {
+                inProgress.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted waiting for download of " + String.valueOf(url));
+            } catch (ExecutionException e) {
+                throw new IOException("Download of " + String.valueOf(url) + " failed", e.getCause());
+            }
+            return;
+        }
+        try {
+            try {
+                connectionPermits.acquire();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted waiting to download " + String.valueOf(url));
+            }
+            try {
+                refreshLocked(url, cacheKey, restrictRedirects);
+            } finally {
+                connectionPermits.release();
+            }
+            flight.complete(null);
+        } catch (IOException | RuntimeException e) {
+            flight.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(cacheKey, flight);
+        }
+    }
+
+    /**
+     * Brings the cached content for a URL up to date while holding a file lock on the cache key, so that other
+     * processes sharing the cache directory don't download the same content at the same time.
+     * @param url The url to refresh.
+     * @param cacheKey The cache key for url.
+     * @param restrictRedirects A flag that controls whether redirects returned by url are restricted to known SPDX
+     *                          hosts or not. Defaults to true. USE EXTREME CAUTION WHEN TURNING THIS OFF!
+     * @throws IOException When an IO error of some kind occurs.
+     */
+    private void refreshLocked(final URL url, final String cacheKey, boolean restrictRedirects) throws IOException {
+        final File cachedFile = contentFile(cacheKey);
+        Files.createDirectories(cachedFile.getParentFile().toPath());
+        final ReentrantLock keyLock = keyLock(cacheKey);
+        keyLock.lock();
+        try (final FileChannel lockChannel = FileChannel.open(lockFile(cacheKey).toPath(),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+                final FileLock lock = lockChannel.lock()) {
+            // Another process may have refreshed the content while we were waiting for the lock, in which case
+            // checkCache will find it within the cache check interval
+            final DownloadCacheIndex.Record record = index.refreshAndGet(cacheKey);
+            if (record != null && cachedFile.exists()) {
+                try {
+                    checkCache(url, record, restrictRedirects);
+                } catch (IOException ioe) {
+                    // We know we have a locally cached file here, so if we happen to get an exception we can safely ignore
+                    // it and fall back on the (possibly stale) cached content file.  This makes the code more robust in the
+                    // presence of network errors when the cache has previously been populated.
+                }
+            } else {
+                cacheMiss(url, cacheKey, request(url, null), restrictRedirects);
+            }
+        } finally {
+            keyLock.unlock();
+        }
+        evictIfOverLimit(cacheKey);
+    }
+
+    /**
+     * @param lastChecked When the cached content was last checked for staleness, or null if unknown.
+     * @return true if the cached content should be checked for staleness.
+     */
+    private boolean isCheckDue(final Instant lastChecked) {
+        final long difference = lastChecked != null ? Math.abs(ChronoUnit.SECONDS.between(Instant.now(), lastChecked)) : Long.MAX_VALUE;
+        return difference > cacheCheckIntervalSecs;
     }
 
     /**
      * Checks the cache for content from the given url, and brings the cached content up to date if it's stale.
      * @param url The url to check.
+     * @param record The index entry for the cached content.
      * @param restrictRedirects A flag that controls whether redirects returned by url are restricted to known SPDX
      *                          hosts or not. Defaults to true. USE EXTREME CAUTION WHEN TURNING THIS OFF!
      * @throws IOException When an IO error of some kind occurs.
      */
-    private void checkCache(final URL url, boolean restrictRedirects) throws IOException {
-        final String                 cacheKey           = base64Encode(url);
-        final File                   cachedMetadataFile = new File(cacheDir, cacheKey + ".metadata.json");
-        final HashMap<String,String> cachedMetadata     = readMetadataFile(cachedMetadataFile);
-
-        if (cachedMetadata != null) {
-            final Instant lastChecked = parseISO8601String(cachedMetadata.get("lastChecked"));
-            final long    difference  = lastChecked  != null ? Math.abs(ChronoUnit.SECONDS.between(Instant.now(), lastChecked)) : Long.MAX_VALUE;
-
-            if (difference > cacheCheckIntervalSecs) {
-                // It's been a while since we checked the cached download of this URL for staleness, so make an ETag request
-                logger.debug("Cache check interval exceeded; checking for updates to " + String.valueOf(url));
-                final String eTag = cachedMetadata.get("eTag");
-                final HttpURLConnection connection = (HttpURLConnection) url.openConnection();
-                connection.setReadTimeout(READ_TIMEOUT);
-                connection.setRequestProperty("If-None-Match", eTag);
-                final int status = connection.getResponseCode();
-                if (status != HttpURLConnection.HTTP_NOT_MODIFIED) {
-                    // The content of the URL has changed, which we handle the same as a cache miss (i.e. we re-download
-                    // the content, and write a new metadata file from scratch)
-                    cacheMiss(url, connection, restrictRedirects);
-                } else {
-                    // The content hasn't changed, so just update the lastChecked metadata but otherwise do nothing
-                    logger.debug("Cache hit for " + String.valueOf(url));
-                    cachedMetadata.put("lastChecked", iso8601.format(Instant.now()));
-                    writeMetadataFile(cachedMetadataFile, cachedMetadata);
-                }
+    private void checkCache(final URL url, final DownloadCacheIndex.Record record, boolean restrictRedirects) throws IOException {
+        if (isCheckDue(record.lastChecked)) {
+            // It's been a while since we checked the cached download of this URL for staleness, so make an ETag request
+            logger.debug("Cache check interval exceeded; checking for updates to " + String.valueOf(url));
+            final HttpURLConnection connection = request(url, record.eTag);
+            final int status = connection.getResponseCode();
+            if (status != HttpURLConnection.HTTP_NOT_MODIFIED) {
+                // The content of the URL has changed, which we handle the same as a cache miss (i.e. we re-download
+                // the content, and write a new index entry from scratch)
+                cacheMiss(url, record.key, connection, restrictRedirects);
             } else {
-                // We checked recently, so don't need to do anything - the cached content will be used
-                logger.debug("Within cache check interval; skipping check of updates to " + String.valueOf(url));
+                // The content hasn't changed, so just update the lastChecked time but otherwise do nothing
+                logger.debug("Cache hit for " + String.valueOf(url));
+                discardResponse(connection);
+                index.put(record.checked(Instant.now()));
             }
         } else {
-            // Metadata doesn't exist - treat it as a cache miss
-            cacheMiss(url, restrictRedirects);
+            // We checked recently, so don't need to do anything - the cached content will be used
+            logger.debug("Within cache check interval; skipping check of updates to " + String.valueOf(url));
         }
     }
 
     /**
-     * Process a cache miss, which involves downloading the content from the given url, and writing out an associated
-     * metadata file (in JSON format) containing sufficient information for the cache to check for staleness in the
-     * future.
+     * Process a cache miss, which involves downloading the content from the given url, and adding an entry to the
+     * index containing sufficient information for the cache to check for staleness in the future.
+     * @param url The url to download and cache.
+     * @param cacheKey The cache key for url.
      * @param connection The open HTTP connection to download and cache.
      * @param restrictRedirects A flag that controls whether redirects returned by url are restricted to known SPDX
      *                          hosts or not. Defaults to true. USE EXTREME CAUTION WHEN TURNING THIS OFF!
      * @throws IOException When an IO error of some kind occurs.
      */
-    private void cacheMiss(URL url, HttpURLConnection connection, boolean restrictRedirects) throws IOException {
+    private void cacheMiss(URL url, final String cacheKey, HttpURLConnection connection, boolean restrictRedirects) throws IOException {
         logger.debug("Cache miss for " + String.valueOf(url));
 
         final URL redirectUrl = processPossibleRedirect(connection, restrictRedirects);
         if (redirectUrl != null) {
+            discardResponse(connection);
             url        = redirectUrl;
-            connection = (HttpURLConnection)redirectUrl.openConnection();
+            connection = request(redirectUrl, null);
         }
         final int status = connection.getResponseCode();
         if (status == HttpURLConnection.HTTP_OK) {
-            final String cacheKey = base64Encode(url);
-            final File cachedFile = new File(cacheDir, cacheKey);
+            // The content is cached under the key of the requested URL, even if it was redirected
+            final File cachedFile = contentFile(cacheKey);
             writeContentFile(connection.getInputStream(), cachedFile);
-            final File cachedMetadataFile = new File(cacheDir, cacheKey + ".metadata.json");
-            final HashMap<String, String> metadata = new HashMap<String, String>();
-            metadata.put("eTag", connection.getHeaderField("ETag"));
-            metadata.put("downloadedAt", iso8601.format(Instant.now()));
-            metadata.put("lastChecked", iso8601.format(Instant.now()));
-            metadata.put("sourceUrl", url.toString());
-            writeMetadataFile(cachedMetadataFile, metadata);
+            final Instant now = Instant.now();
+            index.put(new DownloadCacheIndex.Record(cacheKey, url.toString(), connection.getHeaderField("ETag"),
+                    now, now, now, cachedFile.length(), compress));
+            memoryCache.remove(cacheKey);
         } else {
+            discardResponse(connection);
             throw new IOException("Unexpected HTTP status code from " + url.toString() + ": " + status);
         }
     }
 
     /**
-     * Process a cache miss, which involves downloading the content from the given url, and writing out an associated
-     * metadata file (in JSON format) containing sufficient information for the cache to check for staleness in the
-     * future.
-     * @param url The url to download and cache.
-     * @param restrictRedirects A flag that controls whether redirects returned by url are restricted to known SPDX
-     *                          hosts or not. Defaults to true. USE EXTREME CAUTION WHEN TURNING THIS OFF!
+     * Sends a GET request, retrying IO errors and server error responses with exponential backoff and, if hedging is
+     * enabled, sending a second request when the first is slower than the configured percentile of recent requests.
+     * @param url The url to request.
+     * @param eTag The ETag of the cached content for a conditional request, or null for an unconditional request.
+     * @return A connection for which the response status and headers have been received.
+     * @throws IOException When the request fails and no retries remain.
+     */
+    private HttpURLConnection request(final URL url, final @Nullable String eTag) throws IOException {
+        final IDownloadMetrics metrics = DownloadCache.metrics;
+        for (int attempt = 0; ; attempt++) {
+            final long start = System.nanoTime();
+            IOException failure;
+            try {
+                final HttpURLConnection connection = hedgePercentile > 0 ? sendHedged(url, eTag, start) : send(url, eTag);
+                final int status = connection.getResponseCode();
+                if (status < HttpURLConnection.HTTP_INTERNAL_ERROR && status != HTTP_TOO_MANY_REQUESTS) {
+                    final long durationNanos = System.nanoTime() - start;
+                    recordLatency(durationNanos);
+                    metrics.requestOutcome(url, IDownloadMetrics.Outcome.SUCCESS, durationNanos);
+                    return connection;
+                }
+                if (attempt >= maxRetries) {
+                    // Let the caller report the unexpected status
+                    metrics.requestOutcome(url, IDownloadMetrics.Outcome.FAILURE, System.nanoTime() - start);
+                    return connection;
+                }
+                discardResponse(connection);
+                failure = new IOException("HTTP status code " + status + " from " + url.toString());
+            } catch (IOException e) {
+                if (attempt >= maxRetries || (e instanceof InterruptedIOException && !(e instanceof SocketTimeoutException)) ||
+                        e instanceof UnknownHostException || e instanceof ConnectException) {
+                    // Retrying won't help if the host can't be resolved or isn't accepting connections - timeouts
+                    // are retried since SocketTimeoutException is only an InterruptedIOException by inheritance
+                    metrics.requestOutcome(url, IDownloadMetrics.Outcome.FAILURE, System.nanoTime() - start);
+                    throw e;
+                }
+                failure = e;
+            }
+            metrics.requestOutcome(url, IDownloadMetrics.Outcome.RETRY, System.nanoTime() - start);
+            final long backoffMillis = retryBackoffMillis << Math.min(attempt, 16);
+            logger.debug("Retrying request for " + url.toString() + " in " + backoffMillis + "ms: " + failure.getMessage());
+            try {
+                // Jitter the backoff so that clients failing together don't retry together
+                Thread.sleep(backoffMillis / 2 + ThreadLocalRandom.current().nextLong(backoffMillis / 2 + 1));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted waiting to retry " + url.toString());
+            }
+        }
+    }
+
+    /**
+     * @param url The url to request.
+     * @param eTag The ETag of the cached content for a conditional request, or null for an unconditional request.
+     * @return A connection for which the response status and headers have been received.
+     * @throws IOException When an IO error of some kind occurs.
+     */
+    private HttpURLConnection send(final URL url, final @Nullable String eTag) throws IOException {
+        final HttpURLConnection connection = openConnection(url);
+        if (eTag != null) {
+            connection.setRequestProperty("If-None-Match", eTag);
+        }
+        connection.getResponseCode();
+        return connection;
+    }
+
+    /**
+     * Sends a request, and a second request if the first hasn't answered within the hedging delay, returning whichever
+     * answers first.  The other connection is closed when it answers.  The second request is only sent if a
+     * connection permit is available, and holds the permit until both requests have answered.
+     * @param url The url to request.
+     * @param eTag The ETag of the cached content for a conditional request, or null for an unconditional request.
+     * @param start The System.nanoTime() at which the attempt started.
+     * @return A connection for which the response status and headers have been received.
+     * @throws IOException When both requests fail.
+     */
+    private HttpURLConnection sendHedged(final URL url, final @Nullable String eTag, final long start) throws IOException {
+        final CompletableFuture<HttpURLConnection> first = sendAsync(url, eTag);
+        try {
+            return first.get(getHedgeDelayMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            // Slower than usual - hedge with a second request below
+        } catch (ExecutionException e) {
+            throw unwrap(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted waiting for " + url.toString());
+        }
+        if (!connectionPermits.tryAcquire()) {
+            // No connection available for a second request - keep waiting for the first
+            try {
+                return first.get();
+            } catch (ExecutionException e) {
+                throw unwrap(e.getCause());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                first.thenAccept(HttpURLConnection::disconnect);
+                throw new InterruptedIOException("Interrupted waiting for " + url.toString());
+            }
+        }
+        DownloadCache.metrics.requestOutcome(url, IDownloadMetrics.Outcome.HEDGE, System.nanoTime() - start);
+        final CompletableFuture<HttpURLConnection> second = sendAsync(url, eTag);
+        CompletableFuture.allOf(first, second).whenComplete((result, error) -> connectionPermits.release());
+        final CompletableFuture<HttpURLConnection> winner = new CompletableFuture<>();
+        final AtomicInteger failures = new AtomicInteger();
+        final BiConsumer<HttpURLConnection, Throwable> race = (connection, error) -> {
+            if (error == null) {
+                if (!winner.complete(connection)) {
+                    connection.disconnect();    // lost the race - don't wait to read a response which isn't needed
+                }
+            } else if (failures.incrementAndGet() == 2) {
+                winner.completeExceptionally(error);
+            }
+        };
+        first.whenComplete(race);
+        second.whenComplete(race);
+        try {
+            final HttpURLConnection result = winner.get();
+            if (second.isDone() && !second.isCompletedExceptionally() && second.join() == result) {
+                DownloadCache.metrics.requestOutcome(url, IDownloadMetrics.Outcome.HEDGE_WIN, System.nanoTime() - start);
+            }
+            return result;
+        } catch (ExecutionException e) {
+            throw unwrap(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            winner.thenAccept(HttpURLConnection::disconnect);
+            throw new InterruptedIOException("Interrupted waiting for " + url.toString());
+        }
+    }
+
+    /**
+     * @param url The url to request.
+     * @param eTag The ETag of the cached content for a conditional request, or null for an unconditional request.
+     * @return A future for a connection for which the response status and headers have been received.
+     */
+    private CompletableFuture<HttpURLConnection> sendAsync(final URL url, final @Nullable String eTag) {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return send(url, eTag);
+            } catch (IOException e) {
+                throw new CompletionException(e);
+            }
+        }, REQUEST_EXECUTOR);
+    }
+
+    /**
+     * @param error The cause of a failed request future.
+     * @return The IOException which caused the failure.
+     */
+    private static IOException unwrap(Throwable error) {
+        if (error instanceof CompletionException && error.getCause() != null) {
+            error = error.getCause();
+        }
+        if (error instanceof IOException) {
+            return (IOException)error;
+        }
+        if (error instanceof RuntimeException) {
+            throw (RuntimeException)error;
+        }
+        return new IOException(error);
+    }
+
+    /**
+     * @param durationNanos The time taken to receive a response.
+     */
+    private void recordLatency(final long durationNanos) {
+        if (hedgePercentile > 0) {
+            synchronized (latencies) {
+                latencies[(int)(latencyCount++ % latencies.length)] = durationNanos;
+            }
+        }
+    }
+
+    /**
+     * @return The configured percentile of recent response times, or the configured hedging delay if there have not
+     *         yet been enough requests to estimate it.
+     */
+    private long getHedgeDelayMillis() {
+        final long[] sorted;
+        synchronized (latencies) {
+            if (latencyCount < MIN_LATENCY_SAMPLES) {
+                return hedgeDelayMillis;
+            }
+            sorted = Arrays.copyOf(latencies, (int)Math.min(latencyCount, latencies.length));
+        }
+        Arrays.sort(sorted);
+        final int index = (int)Math.min(sorted.length - 1, Math.ceil(sorted.length * hedgePercentile / 100.0) - 1);
+        return Math.max(1, TimeUnit.NANOSECONDS.toMillis(sorted[Math.max(0, index)]));
+    }
+
+    /**
+     * @param metrics Receives metrics for the HTTP requests made by the download cache - null to stop reporting metrics.
+     */
+    public static void setMetrics(final @Nullable IDownloadMetrics metrics) {
+        DownloadCache.metrics = metrics == null ? IDownloadMetrics.NOOP : metrics;
+    }
+
+    /**
+     * @return The registered metrics, or IDownloadMetrics.NOOP if none are registered.
+     */
+    public static IDownloadMetrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * @param url The url to open a connection to.
+     * @return A connection to url with the connect and read timeouts set.
      * @throws IOException When an IO error of some kind occurs.
      */
-    private void cacheMiss(final URL url, boolean restrictRedirects) throws IOException {
+    private HttpURLConnection openConnection(final URL url) throws IOException {
         final HttpURLConnection connection = (HttpURLConnection)url.openConnection();
-        connection.setReadTimeout(READ_TIMEOUT);
-        cacheMiss(url, connection, restrictRedirects);
+        connection.setConnectTimeout(connectTimeout);
+        connection.setReadTimeout(readTimeout);
+        return connection;
+    }
+
+    /**
+     * Reads and closes the remainder of a response so that the underlying connection can be kept alive and reused
+     * for later requests to the same host.
+     * @param connection The connection whose response is not needed.
+     */
+    private static void discardResponse(final HttpURLConnection connection) {
+        try {
+            final InputStream is = connection.getResponseCode() >= HttpURLConnection.HTTP_BAD_REQUEST ?
+                    connection.getErrorStream() : connection.getInputStream();
+            if (is != null) {
+                try (final InputStream toClose = is) {
+                    final byte[] ioBuffer = new byte[IO_BUFFER_SIZE];
+                    while (is.read(ioBuffer) != -1) {
+                        // discard
+                    }
+                }
+            }
+        } catch (IOException e) {
+            // The connection can't be reused, which is handled by the connection cache
+            logger.debug("Unable to read the remainder of the response", e);
+        }
     }
 
 
@@ -374,94 +1230,88 @@ public final class DownloadCache {
     }
 
     /**
-     * Reads a metadata file out of local cache.
-     * @param metadataFile The metadata file to read.
-     * @return The metadata read from the file, or null if the file doesn't exist or there was an error while reading
-     *         it.
+     * Writes a content file to the local cache, GZIP compressing it if compression is enabled.
+     * @param is The InputStream to read the content from. Note: this InputStream must be open at the time this
+     *           method is called, and will be fully consumed and closed by this method.
+     * @param cachedFile The content file to write to. Note: if it already exists it will be silently overwritten.
+     * @throws IOException When an IO error of some kind occurs.
      */
-    private HashMap<String,String> readMetadataFile(final File metadataFile) {
-        HashMap<String,String> result = null;
+    private void writeContentFile(final InputStream is, final File cachedFile) throws IOException {
+        final File tempFile = File.createTempFile(cachedFile.getName(), TEMP_SUFFIX, cachedFile.getParentFile());
         try {
-            final Reader r = new BufferedReader(new FileReader(metadataFile));
-            result = new Gson().fromJson(r, new TypeToken<HashMap<String, String>>(){}.getType());
-        }
-        catch (IOException ioe) {
-            result = null;  // Treat metadata read errors as a cache miss
+            final OutputStream fileOutputStream = new BufferedOutputStream(new FileOutputStream(tempFile));
+            try (final OutputStream cacheFileOutputStream = compress ?
+                    new GZIPOutputStream(fileOutputStream, IO_BUFFER_SIZE) : fileOutputStream) {
+                byte[] ioBuffer = new byte[IO_BUFFER_SIZE];
+                int length;
+                while ((length = is.read(ioBuffer)) != -1) {
+                    cacheFileOutputStream.write(ioBuffer, 0, length);
+                }
+                cacheFileOutputStream.flush();
+            } finally {
+                is.close();
+            }
+            moveIntoPlace(tempFile, cachedFile);
+        } finally {
+            Files.deleteIfExists(tempFile.toPath());
         }
-        return result;
     }
 
     /**
-     * Writes a metadata file to the local cache.
-     * @param metadataFile The metadata file to write. Note: if it already exists it will be silently overwritten.
-     * @param metadata The metadata to write to the file.
+     * Replaces a file in the local cache with a fully written temporary file, so that readers never see a partially
+     * written file.
+     * @param tempFile The fully written temporary file, in the same directory as target.
+     * @param target The file to replace.
      * @throws IOException When an IO error of some kind occurs.
      */
-    private void writeMetadataFile(final File metadataFile, HashMap<String,String> metadata) throws IOException {
-        try (final Writer w = new BufferedWriter(new FileWriter(metadataFile))) {
-            new Gson().toJson(metadata, new TypeToken<HashMap<String, String>>(){}.getType(), w);
-            w.flush();
+    private void moveIntoPlace(final File tempFile, final File target) throws IOException {
+        try {
+            Files.move(tempFile.toPath(), target.toPath(), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(tempFile.toPath(), target.toPath(), StandardCopyOption.REPLACE_EXISTING);
         }
     }
 
     /**
-     * Writes a content file to the local cache.
-     * @param is The InputStream to read the content from. Note: this InputStream must be open at the time this
-     *           method is called, and will be fully consumed and closed by this method.
-     * @param cachedFile The content file to write to. Note: if it already exists it will be silently overwritten.
-     * @throws IOException When an IO error of some kind occurs.
+     * @param u The URL to compute the cache key for.
+     * @return The hex encoded SHA-256 hash of u.
      */
-    private void writeContentFile(final InputStream is, final File cachedFile) throws IOException {
-    	try (final OutputStream cacheFileOutputStream = new BufferedOutputStream(new FileOutputStream(cachedFile))) {
-    		byte[] ioBuffer = new byte[IO_BUFFER_SIZE];
-            int length;
-            while ((length = is.read(ioBuffer)) != -1) {
-                cacheFileOutputStream.write(ioBuffer, 0, length);
+    private static String cacheKey(final URL u) {
+        try {
+            final byte[] hash = MessageDigest.getInstance("SHA-256").digest(u.toString().getBytes(StandardCharsets.UTF_8));
+            final StringBuilder result = new StringBuilder(hash.length * 2);
+            for (final byte b : hash) {
+                result.append(String.format("%02x", b));
             }
-            cacheFileOutputStream.flush();
-    	}
-    	is.close();
+            return result.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not supported", e);  // required of every Java platform
+        }
     }
 
     /**
-     * Attempts to parse s as if it were an ISO8601 formatted String.
-     * @param s The string to attempt to parse.
-     * @return The Instant for that ISO8601 value if parsing succeeded, or null if it didn't.
+     * @param cacheKey The cache key.
+     * @return The file holding the cached content, in a subdirectory named for the first two characters of the key so
+     *         that no one directory holds too many files.
      */
-    private final Instant parseISO8601String(final String s) {
-        Instant result = null;
-        if (s != null) {
-            try {
-                result = Instant.parse(s);
-            } catch (final DateTimeParseException dtpe) {
-                result = null;
-            }
-        }
-        return result;
+    private File contentFile(final String cacheKey) {
+        return new File(new File(cacheDir, cacheKey.substring(0, 2)), cacheKey);
     }
 
     /**
-     * @param s The String to BASE64 encode.
-     * @return The BASE64 encoding of s (as UTF-8).
+     * @param cacheKey The cache key.
+     * @return The file locked while the cached content is updated.
      */
-    private String base64Encode(final String s) {
-        String result = null;
-        if (s != null) {
-            result = Base64.getEncoder().encodeToString(s.getBytes(StandardCharsets.UTF_8));
-        }
-        return result;
+    private File lockFile(final String cacheKey) {
+        return new File(new File(cacheDir, cacheKey.substring(0, 2)), cacheKey + LOCK_SUFFIX);
     }
 
     /**
-     * @param u The URL to BASE64 encode.
-     * @return The BASE64 encoding of u (as a UTF-8 encoded String).
+     * @param cacheKey The cache key.
+     * @return The lock to hold in this JVM while holding the file lock for the cache key.
      */
-    private String base64Encode(final URL u) {
-        String result = null;
-        if (u != null) {
-            result = base64Encode(u.toString());
-        }
-        return result;
+    private ReentrantLock keyLock(final String cacheKey) {
+        return keyLocks[(cacheKey.hashCode() & Integer.MAX_VALUE) % keyLocks.length];
     }
 
 }
@@ -0,0 +1,408 @@
+/**
+ * Copyright (c) 2026 agent
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package org.spdx.utility;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.annotation.Nullable;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Index of the entries in the download cache, shared by all processes using the cache directory
+ *
+ * The index is held in memory so that lookups do not touch the file system.  It is persisted as an append-only log of
+ * tab separated records - each update to an entry appends a record, and the latest record for a key wins.  Other
+ * processes' updates are picked up by reading any records appended since the log was last read.  Appends take an
+ * exclusive lock on a lock file in the cache directory.  Once the log holds more than twice as many records as there
+ * are entries, it is compacted by rewriting it with only the latest records under a new generation identifier, so
+ * that other processes know to re-read it from the start.
+ *
+ * @author agent
+ *
+ */
+final class DownloadCacheIndex {
+
+	private static final Logger logger = LoggerFactory.getLogger(DownloadCacheIndex.class);
+
+	static final String INDEX_FILE_NAME = "index.log";
+	static final String INDEX_LOCK_FILE_NAME = "index.lock";
+	private static final String HEADER_PREFIX = "spdx-download-cache-index\t1\t";
+	private static final String PUT_RECORD = "P";
+	private static final String REMOVE_RECORD = "R";
+	private static final int MIN_RECORDS_TO_COMPACT = 1024;
+
+	/**
+	 * Immutable index entry for a cached URL
+	 */
+	static final class Record {
+		final String key;
+		final String sourceUrl;
+		final @Nullable String eTag;
+		final Instant downloadedAt;
+		final Instant lastChecked;
+		final Instant lastAccessed;
+		final long size;
+		final boolean compressed;
+
+		/**
+		 * @param key cache key
+		 * @param sourceUrl URL the content was downloaded from
+		 * @param eTag ETag returned with the content, or null if none was returned
+		 * @param downloadedAt time the content was downloaded
+		 * @param lastChecked time the content was last checked for staleness
+		 * @param lastAccessed time the content was last accessed
+		 * @param size number of bytes of content stored on disk
+		 * @param compressed true if the content is stored GZIP compressed
+		 */
+		Record(String key, String sourceUrl, @Nullable String eTag, Instant downloadedAt, Instant lastChecked,
+				Instant lastAccessed, long size, boolean compressed) {
+			this.key = key;
+			this.sourceUrl = sourceUrl;
+			this.eTag = eTag;
+			this.downloadedAt = downloadedAt;
+			this.lastChecked = lastChecked;
+			this.lastAccessed = lastAccessed;
+			this.size = size;
+			this.compressed = compressed;
+		}
+
+		/**
+		 * @param lastChecked time the content was last checked for staleness
+		 * @return a copy of this record with the last checked and last accessed times updated
+		 */
+		Record checked(Instant lastChecked) {
+			return new Record(key, sourceUrl, eTag, downloadedAt, lastChecked, lastChecked, size, compressed);
+		}
+
+		/**
+		 * @param lastAccessed time the content was last accessed
+		 * @return a copy of this record with the last accessed time updated
+		 */
+		Record accessed(Instant lastAccessed) {
+			return new Record(key, sourceUrl, eTag, downloadedAt, lastChecked, lastAccessed, size, compressed);
+		}
+
+		/**
+		 * @return this record as a newline terminated line of the index log
+		 */
+		String toLine() {
+			return PUT_RECORD + '\t' + key + '\t' + downloadedAt.toEpochMilli() + '\t' + lastChecked.toEpochMilli() +
+					'\t' + lastAccessed.toEpochMilli() + '\t' + size + '\t' + (compressed ? "gzip" : "") + '\t' +
+					escape(eTag) + '\t' + escape(sourceUrl) + '\n';
+		}
+
+		/**
+		 * @param line line of the index log, with or without the terminating newline
+		 * @return the record or null if the line is not a valid record
+		 */
+		static @Nullable Record parse(String line) {
+			String[] fields = (line.endsWith("\n") ? line.substring(0, line.length() - 1) : line).split("\t", -1);
+			return PUT_RECORD.equals(fields[0]) ? fromFields(fields) : null;
+		}
+
+		private static @Nullable Record fromFields(String[] fields) {
+			if (fields.length != 9) {
+				return null;
+			}
+			try {
+				return new Record(fields[1], unescape(fields[8]), fields[7].isEmpty() ? null : unescape(fields[7]),
+						Instant.ofEpochMilli(Long.parseLong(fields[2])), Instant.ofEpochMilli(Long.parseLong(fields[3])),
+						Instant.ofEpochMilli(Long.parseLong(fields[4])), Long.parseLong(fields[5]), "gzip".equals(fields[6]));
+			} catch (NumberFormatException e) {
+				return null;
+			}
+		}
+	}
+
+	private final File indexFile;
+	private final File lockFile;
+	private final Map<String, Record> records = new ConcurrentHashMap<>();
+	private @Nullable String generation = null;
+	private long offset = 0;
+	private int recordCount = 0;
+
+	/**
+	 * @param cacheDir directory holding the index
+	 */
+	DownloadCacheIndex(File cacheDir) {
+		this.indexFile = new File(cacheDir, INDEX_FILE_NAME);
+		this.lockFile = new File(cacheDir, INDEX_LOCK_FILE_NAME);
+	}
+
+	/**
+	 * @param key cache key
+	 * @return the index entry as last read from the index, or null if there is none - does not touch the file system
+	 */
+	@Nullable Record get(String key) {
+		return records.get(key);
+	}
+
+	/**
+	 * @param key cache key
+	 * @return the index entry after reading any updates made by other processes, or null if there is none
+	 * @throws IOException on errors reading the index
+	 */
+	@Nullable Record refreshAndGet(String key) throws IOException {
+		synchronized (this) {
+			catchUp();
+		}
+		return records.get(key);
+	}
+
+	/**
+	 * @return a snapshot of the index entries after reading any updates made by other processes
+	 * @throws IOException on errors reading the index
+	 */
+	List<Record> refreshAndGetAll() throws IOException {
+		synchronized (this) {
+			catchUp();
+		}
+		return new ArrayList<>(records.values());
+	}
+
+	/**
+	 * Adds or replaces an index entry
+	 * @param record entry to add
+	 * @throws IOException on errors writing the index
+	 */
+	synchronized void put(Record record) throws IOException {
+		append(record.toLine());
+		records.put(record.key, record);
+	}
+
+	/**
+	 * Updates the last accessed time of the current index entry, including any updates made by other processes
+	 * @param key cache key
+	 * @param lastAccessed time the content was last accessed
+	 * @throws IOException on errors writing the index
+	 */
+	synchronized void recordAccess(String key, Instant lastAccessed) throws IOException {
+		try (FileChannel lockChannel = FileChannel.open(lockFile.toPath(), StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+				FileLock lock = lockChannel.lock()) {
+			catchUp();
+			Record current = records.get(key);
+			if (Objects.nonNull(current)) {
+				Record accessed = current.accessed(lastAccessed);
+				appendLocked(accessed.toLine());
+				records.put(key, accessed);
+			}
+		}
+	}
+
+	/**
+	 * Removes an index entry
+	 * @param key cache key
+	 * @throws IOException on errors writing the index
+	 */
+	synchronized void remove(String key) throws IOException {
+		append(REMOVE_RECORD + '\t' + key + '\n');
+		records.remove(key);
+	}
+
+	/**
+	 * Forgets the in-memory entries - used when the cache directory has been deleted
+	 */
+	synchronized void clear() {
+		records.clear();
+		generation = null;
+		offset = 0;
+		recordCount = 0;
+	}
+
+	/**
+	 * Appends a line to the log while holding the index lock
+	 * @param line record to append
+	 * @throws IOException on errors writing the index
+	 */
+	private void append(String line) throws IOException {
+		try (FileChannel lockChannel = FileChannel.open(lockFile.toPath(), StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+				FileLock lock = lockChannel.lock()) {
+			catchUp();
+			appendLocked(line);
+		}
+	}
+
+	/**
+	 * Appends a line to the log, compacting the log first if it holds too many stale records - must be called holding
+	 * the index lock after catching up with the log
+	 * @param line record to append
+	 * @throws IOException on errors writing the index
+	 */
+	private void appendLocked(String line) throws IOException {
+		if (Objects.isNull(generation) ||
+				(recordCount > MIN_RECORDS_TO_COMPACT && recordCount > 2 * records.size())) {
+			writeLog(new ArrayList<>(records.values()));
+		}
+		byte[] bytes = line.getBytes(StandardCharsets.UTF_8);
+		try (OutputStream os = Files.newOutputStream(indexFile.toPath(), StandardOpenOption.APPEND)) {
+			os.write(bytes);
+		}
+		offset += bytes.length;
+		recordCount++;
+	}
+
+	/**
+	 * Replaces the log with a new generation holding the given records - must be called holding the index lock
+	 * @param live records to write
+	 * @throws IOException on errors writing the index
+	 */
+	private void writeLog(List<Record> live) throws IOException {
+		String newGeneration = UUID.randomUUID().toString();
+		ByteArrayOutputStream content = new ByteArrayOutputStream();
+		content.write((HEADER_PREFIX + newGeneration + '\n').getBytes(StandardCharsets.UTF_8));
+		for (Record record : live) {
+			content.write(record.toLine().getBytes(StandardCharsets.UTF_8));
+		}
+		File tempFile = File.createTempFile(INDEX_FILE_NAME, ".tmp", indexFile.getParentFile());
+		try {
+			Files.write(tempFile.toPath(), content.toByteArray());
+			try {
+				Files.move(tempFile.toPath(), indexFile.toPath(), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+			} catch (AtomicMoveNotSupportedException e) {
+				Files.move(tempFile.toPath(), indexFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+			}
+		} finally {
+			Files.deleteIfExists(tempFile.toPath());
+		}
+		generation = newGeneration;
+		offset = content.size();
+		recordCount = live.size();
+	}
+
+	/**
+	 * Reads the records appended to the log since it was last read, re-reading it from the start if it has been
+	 * replaced by a new generation - must be called synchronized on this index
+	 * @throws IOException on errors reading the index
+	 */
+	private void catchUp() throws IOException {
+		if (!indexFile.exists()) {
+			if (Objects.nonNull(generation)) {
+				clear();	// the cache directory has been reset
+			}
+			return;
+		}
+		try (RandomAccessFile raf = new RandomAccessFile(indexFile, "r")) {
+			String header = readLine(raf);
+			if (Objects.isNull(header) || !header.startsWith(HEADER_PREFIX)) {
+				return;	// being written or not an index file
+			}
+			String fileGeneration = header.substring(HEADER_PREFIX.length());
+			if (!fileGeneration.equals(generation)) {
+				records.clear();
+				generation = fileGeneration;
+				offset = raf.getFilePointer();
+				recordCount = 0;
+			}
+			if (raf.length() <= offset) {
+				return;
+			}
+			byte[] tail = new byte[(int)(raf.length() - offset)];
+			raf.seek(offset);
+			raf.readFully(tail);
+			int lineStart = 0;
+			for (int i = 0; i < tail.length; i++) {
+				if (tail[i] == '\n') {
+					apply(new String(tail, lineStart, i - lineStart, StandardCharsets.UTF_8));
+					lineStart = i + 1;
+				}
+			}
+			// Only complete lines are consumed - a partially appended record is read on the next catch up
+			offset += lineStart;
+		}
+	}
+
+	/**
+	 * @param line record read from the log
+	 */
+	private void apply(String line) {
+		String[] fields = line.split("\t", -1);
+		recordCount++;
+		if (PUT_RECORD.equals(fields[0])) {
+			Record record = Record.fromFields(fields);
+			if (Objects.nonNull(record)) {
+				records.put(record.key, record);
+				return;
+			}
+		} else if (REMOVE_RECORD.equals(fields[0]) && fields.length == 2) {
+			records.remove(fields[1]);
+			return;
+		}
+		logger.warn("Ignoring invalid download cache index record: " + line);
+	}
+
+	/**
+	 * @param raf file to read from
+	 * @return the next newline terminated line or null if there is no complete line
+	 * @throws IOException on read errors
+	 */
+	private static @Nullable String readLine(RandomAccessFile raf) throws IOException {
+		ByteArrayOutputStream line = new ByteArrayOutputStream();
+		int b;
+		while ((b = raf.read()) >= 0) {
+			if (b == '\n') {
+				return new String(line.toByteArray(), StandardCharsets.UTF_8);
+			}
+			line.write(b);
+		}
+		return null;
+	}
+
+	private static String escape(@Nullable String value) {
+		if (Objects.isNull(value)) {
+			return "";
+		}
+		return value.replace("\\", "\\\\").replace("\t", "\\t").replace("\n", "\\n").replace("\r", "\\r");
+	}
+
+	private static String unescape(String value) {
+		if (value.indexOf('\\') < 0) {
+			return value;
+		}
+		StringBuilder sb = new StringBuilder(value.length());
+		for (int i = 0; i < value.length(); i++) {
+			char c = value.charAt(i);
+			if (c == '\\' && i + 1 < value.length()) {
+				char next = value.charAt(++i);
+				sb.append(next == 't' ? '\t' : next == 'n' ? '\n' : next == 'r' ? '\r' : next);
+			} else {
+				sb.append(c);
+			}
+		}
+		return sb.toString();
+	}
+}
@@ -0,0 +1,143 @@
+/**
+ * Copyright (c) 2026 agent
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package org.spdx.utility;
+
+import java.time.Instant;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Objects;
+
+import javax.annotation.Nullable;
+
+/**
+ * In-memory tier of the download cache holding the content of recently used cache entries
+ *
+ * Entries are keyed by the download cache key and evicted least recently used first once the total size of the
+ * content exceeds the maximum number of bytes.  Content larger than the maximum is not held in memory.
+ *
+ * @author agent
+ *
+ */
+final class DownloadMemoryCache {
+
+	/**
+	 * Immutable content of a cached URL
+	 */
+	static final class Entry {
+		final byte[] content;
+		final @Nullable Instant lastChecked;
+
+		/**
+		 * @param content cached content - the array must not be modified once cached
+		 * @param lastChecked time the content was last checked for staleness or null if unknown
+		 */
+		Entry(byte[] content, @Nullable Instant lastChecked) {
+			this.content = content;
+			this.lastChecked = lastChecked;
+		}
+	}
+
+	private final long maxBytes;
+	private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+	private long totalBytes = 0;
+
+	/**
+	 * @param maxBytes maximum total bytes of content to hold - 0 or less disables the in-memory tier
+	 */
+	DownloadMemoryCache(long maxBytes) {
+		this.maxBytes = maxBytes;
+	}
+
+	/**
+	 * @return true if content may be held in memory
+	 */
+	boolean isEnabled() {
+		return maxBytes > 0;
+	}
+
+	/**
+	 * @param length length of the content in bytes
+	 * @return true if content of the given length can be held in memory
+	 */
+	boolean canHold(long length) {
+		return length <= maxBytes;
+	}
+
+	/**
+	 * @param key download cache key
+	 * @return the entry or null if it is not held in memory
+	 */
+	synchronized @Nullable Entry get(String key) {
+		return entries.get(key);
+	}
+
+	/**
+	 * Add or replace an entry - entries larger than the maximum are removed rather than added
+	 * @param key download cache key
+	 * @param entry entry to hold
+	 */
+	synchronized void put(String key, Entry entry) {
+		Objects.requireNonNull(entry, "Entry can not be null");
+		if (entry.content.length > maxBytes) {
+			remove(key);
+			return;
+		}
+		Entry previous = entries.put(key, entry);
+		if (Objects.nonNull(previous)) {
+			totalBytes -= previous.content.length;
+		}
+		totalBytes += entry.content.length;
+		Iterator<Entry> iter = entries.values().iterator();
+		while (totalBytes > maxBytes && iter.hasNext()) {
+			totalBytes -= iter.next().content.length;
+			iter.remove();
+		}
+	}
+
+	/**
+	 * @param key download cache key
+	 */
+	synchronized void remove(String key) {
+		Entry removed = entries.remove(key);
+		if (Objects.nonNull(removed)) {
+			totalBytes -= removed.content.length;
+		}
+	}
+
+	/**
+	 * Remove all entries
+	 */
+	synchronized void clear() {
+		entries.clear();
+		totalBytes = 0;
+	}
+
+	/**
+	 * @return number of entries held
+	 */
+	synchronized int size() {
+		return entries.size();
+	}
+
+	/**
+	 * @return total bytes of content held
+	 */
+	synchronized long getTotalBytes() {
+		return totalBytes;
+	}
+}
@@ -0,0 +1,77 @@
+/**
+ * Copyright (c) 2026 agent
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package org.spdx.utility;
+
+import java.net.URL;
+
+/**
+ * Receives metrics for the HTTP requests made by the <code>DownloadCache</code>
+ *
+ * Register an implementation with <code>DownloadCache.setMetrics</code> to export the metrics to an external
+ * metrics system.  All methods have no-op defaults so implementations only need to override the metrics they are
+ * interested in.
+ *
+ * Methods may be called on the requesting thread or on the download cache's request threads, so implementations
+ * must be thread safe and must return quickly.
+ *
+ * @author agent
+ *
+ */
+public interface IDownloadMetrics {
+
+	/**
+	 * Metrics implementation which ignores all metrics - used when no metrics are registered
+	 */
+	IDownloadMetrics NOOP = new IDownloadMetrics() {};
+
+	/**
+	 * Outcome of an HTTP request attempt
+	 */
+	enum Outcome {
+		/**
+		 * A response which is not retried was received - this includes not modified and client error responses
+		 */
+		SUCCESS,
+		/**
+		 * The attempt failed with an IO error or a server error response and will be retried after a backoff
+		 */
+		RETRY,
+		/**
+		 * The attempt failed and no retries remain
+		 */
+		FAILURE,
+		/**
+		 * The attempt was slower than the hedging threshold, so a second request was sent
+		 */
+		HEDGE,
+		/**
+		 * The second (hedged) request answered before the first
+		 */
+		HEDGE_WIN
+	}
+
+	/**
+	 * Called for each outcome of a request attempt
+	 * @param url URL requested
+	 * @param outcome outcome of the attempt
+	 * @param durationNanos time from the start of the attempt to the outcome in nanoseconds
+	 */
+	default void requestOutcome(URL url, Outcome outcome, long durationNanos) {
+		// no-op
+	}
+}
@@ -442,13 +442,16 @@ public class LicenseCompareHelper {
 	/**
 	 * Returns a list of SPDX Standard License ID's that match the text provided using
 	 * the SPDX matching guidelines.
+	 * 
+	 * Only the licenses the <code>LicenseFamilyClassifier</code> identifies as candidates for the text are compared
+	 * to the full license template.
 	 * @param licenseText Text to compare to the standard license texts
 	 * @return Array of SPDX standard license IDs that match
 	 * @throws InvalidSPDXAnalysisException If an error occurs accessing the standard licenses
 	 * @throws SpdxCompareException If an error occurs in the comparison
 	 */
 	public static String[] matchingStandardLicenseIds(String licenseText) throws InvalidSPDXAnalysisException, SpdxCompareException {
-		List<String> stdLicenseIds = ListedLicenses.getListedLicenses().getSpdxListedLicenseIds();
+		List<String> stdLicenseIds = LicenseFamilyClassifier.getListedLicenseClassifier().getCandidateLicenseIds(licenseText);
 		List<String> matchingIds  = new ArrayList<>();
 		for (String stdLicId : stdLicenseIds) {
 			ListedLicense license = ListedLicenses.getListedLicenses().getListedLicenseById(stdLicId);
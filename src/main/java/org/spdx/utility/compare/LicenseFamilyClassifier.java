@@ -0,0 +1,336 @@
+/**
+ * Copyright (c) 2026 agent
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package org.spdx.utility.compare;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.spdx.core.InvalidSPDXAnalysisException;
+import org.spdx.library.ListedLicenses;
+import org.spdx.library.model.v3_0_1.expandedlicensing.ListedLicense;
+import org.spdx.licenseTemplate.ILicenseTemplateOutputHandler;
+import org.spdx.licenseTemplate.LicenseParserException;
+import org.spdx.licenseTemplate.LicenseTemplateRule;
+import org.spdx.licenseTemplate.LicenseTemplateRuleException;
+import org.spdx.licenseTemplate.LicenseTextHelper;
+import org.spdx.licenseTemplate.LineColumn;
+import org.spdx.licenseTemplate.SpdxLicenseTemplateHelper;
+
+/**
+ * Coarse to fine classifier which narrows the listed licenses which could match a license text
+ *
+ * The classifier is built once per license list from the listed license templates.  For each license, the
+ * required tokens are the words in the non-optional text of the template, excluding variable text, which any
+ * text matching the template must contain.  Licenses are grouped into families by the leading letters of the
+ * license ID (e.g. BSD, MIT, GPL, LGPL).  The tokens required by every member of a family are the family's core,
+ * and the remaining required tokens of each member are its discriminating tokens.
+ *
+ * A text is classified by first checking the core of each family, then checking the discriminating tokens of
+ * the members of the families whose core is present.  Only the resulting candidates need to be compared to the
+ * full template.  The checks only exclude licenses whose required tokens are missing from the text, so every
+ * license which matches the text is a candidate.
+ *
+ * Tokens are compared using the same tokenization and equivalent words as <code>CompareTemplateOutputHandler</code>.
+ * The first and last token of each text segment of the template are not required since the comparison may
+ * combine them with adjacent optional text.
+ *
+ * @author agent
+ *
+ */
+public final class LicenseFamilyClassifier {
+
+	static final Logger logger = LoggerFactory.getLogger(LicenseFamilyClassifier.class);
+
+	private static final String DASHES_REGEX = "[\\u2012\\u2013\\u2014\\u2015]";
+
+	private static volatile LicenseFamilyClassifier listedLicenseClassifier = null;
+
+	/**
+	 * Licenses which share a family key with their core and the discriminating tokens for each member
+	 */
+	private static final class Family {
+		final Set<String> core;
+		final int[] members;
+		final Set<String>[] discriminating;
+
+		Family(Set<String> core, int[] members, Set<String>[] discriminating) {
+			this.core = core;
+			this.members = members;
+			this.discriminating = discriminating;
+		}
+	}
+
+	/**
+	 * Collects the tokens of the top level text segments of a template
+	 */
+	private static class RequiredTokenCollector implements ILicenseTemplateOutputHandler {
+		Set<String> tokens = new HashSet<>();
+		int optionalDepth = 0;
+
+		@Override
+		public void text(String text) {
+			if (optionalDepth > 0) {
+				return;
+			}
+			String[] segmentTokens = LicenseTextHelper.tokenizeLicenseText(text, new HashMap<Integer, LineColumn>());
+			// the first and last tokens may be combined with adjacent optional text when compared
+			for (int i = 1; i < segmentTokens.length - 1; i++) {
+				String token = canonicalToken(segmentTokens[i]);
+				if (Objects.nonNull(token)) {
+					tokens.add(token);
+				}
+			}
+		}
+
+		@Override
+		public void variableRule(LicenseTemplateRule rule) {
+			// variable text is not required
+		}
+
+		@Override
+		public void beginOptional(LicenseTemplateRule rule) {
+			optionalDepth++;
+		}
+
+		@Override
+		public void endOptional(LicenseTemplateRule rule) {
+			optionalDepth--;
+		}
+
+		@Override
+		public void completeParsing() throws LicenseParserException {
+			// nothing to complete
+		}
+	}
+
+	private final List<String> licenseIds;
+	private final String licenseListVersion;
+	private final List<Family> families;
+
+	/**
+	 * @param licenseIds listed license IDs in the order they are returned by the classifier
+	 * @param licenseListVersion version of the license list the classifier was built from
+	 * @param requiredTokens required tokens for each license in <code>licenseIds</code> in the same order
+	 */
+	LicenseFamilyClassifier(List<String> licenseIds, String licenseListVersion, List<Set<String>> requiredTokens) {
+		if (licenseIds.size() != requiredTokens.size()) {
+			throw new IllegalArgumentException("Required tokens must be provided for every license ID");
+		}
+		this.licenseIds = licenseIds;
+		this.licenseListVersion = licenseListVersion;
+		Map<String, List<Integer>> familyMembers = new LinkedHashMap<>();
+		for (int i = 0; i < licenseIds.size(); i++) {
+			familyMembers.computeIfAbsent(familyKey(licenseIds.get(i)), key -> new ArrayList<>()).add(i);
+		}
+		List<Family> familyList = new ArrayList<>(familyMembers.size());
+		for (List<Integer> memberList:familyMembers.values()) {
+			Set<String> core = new HashSet<>(requiredTokens.get(memberList.get(0)));
+			for (int member:memberList) {
+				core.retainAll(requiredTokens.get(member));
+			}
+			int[] members = new int[memberList.size()];
+			@SuppressWarnings("unchecked")
+			Set<String>[] discriminating = new Set[memberList.size()];
+			for (int i = 0; i < members.length; i++) {
+				members[i] = memberList.get(i);
+				Set<String> memberTokens = new HashSet<>(requiredTokens.get(members[i]));
+				memberTokens.removeAll(core);
+				discriminating[i] = memberTokens;
+			}
+			familyList.add(new Family(core, members, discriminating));
+		}
+		this.families = Collections.unmodifiableList(familyList);
+	}
+
+	/**
+	 * @return a classifier for the current listed licenses - built when first used and rebuilt when the license list changes
+	 * @throws InvalidSPDXAnalysisException on errors reading the listed licenses
+	 */
+	public static LicenseFamilyClassifier getListedLicenseClassifier() throws InvalidSPDXAnalysisException {
+		ListedLicenses listedLicenses = ListedLicenses.getListedLicenses();
+		LicenseFamilyClassifier retval = listedLicenseClassifier;
+		if (Objects.isNull(retval) || !retval.isCurrent(listedLicenses)) {
+			synchronized (LicenseFamilyClassifier.class) {
+				retval = listedLicenseClassifier;
+				if (Objects.isNull(retval) || !retval.isCurrent(listedLicenses)) {
+					retval = build(listedLicenses);
+					listedLicenseClassifier = retval;
+				}
+			}
+		}
+		return retval;
+	}
+
+	/**
+	 * @param listedLicenses listed licenses
+	 * @return true if this classifier was built from the same license list
+	 */
+	private boolean isCurrent(ListedLicenses listedLicenses) {
+		// the license ID list is replaced whenever the license list is loaded or updated
+		return listedLicenses.getSpdxListedLicenseIds() == licenseIds &&
+				licenseListVersion.equals(listedLicenses.getLicenseListVersion());
+	}
+
+	/**
+	 * Build a classifier from the templates of all listed licenses
+	 * @param listedLicenses listed licenses
+	 * @return classifier for the listed licenses
+	 * @throws InvalidSPDXAnalysisException on errors reading the listed licenses
+	 */
+	public static LicenseFamilyClassifier build(ListedLicenses listedLicenses) throws InvalidSPDXAnalysisException {
+		List<String> licenseIds = listedLicenses.getSpdxListedLicenseIds();
+		String licenseListVersion = listedLicenses.getLicenseListVersion();
+		List<Set<String>> requiredTokens = new ArrayList<>(licenseIds.size());
+		for (String licenseId:licenseIds) {
+			ListedLicense license = listedLicenses.getListedLicenseById(licenseId);
+			if (Objects.isNull(license)) {
+				requiredTokens.add(Collections.emptySet());
+				continue;
+			}
+			String template = license.getStandardLicenseTemplate().orElse("");
+			if (template == null || template.trim().isEmpty()) {
+				template = license.getLicenseText();
+			}
+			requiredTokens.add(requiredTokens(licenseId, template));
+		}
+		return new LicenseFamilyClassifier(licenseIds, licenseListVersion, requiredTokens);
+	}
+
+	/**
+	 * @param licenseId license ID used for logging
+	 * @param template license template
+	 * @return tokens any text matching the template must contain - empty if the template can not be parsed
+	 */
+	static Set<String> requiredTokens(String licenseId, String template) {
+		if (Objects.isNull(template)) {
+			return Collections.emptySet();
+		}
+		RequiredTokenCollector collector = new RequiredTokenCollector();
+		try {
+			SpdxLicenseTemplateHelper.parseTemplate(LicenseCompareHelper.removeCommentChars(template), collector);
+		} catch (LicenseTemplateRuleException | LicenseParserException e) {
+			// the license is always a candidate so that the comparison reports the template error
+			logger.warn("Unable to parse the template for license "+licenseId+": "+e.getMessage());
+			return Collections.emptySet();
+		}
+		return collector.tokens;
+	}
+
+	/**
+	 * @param token license text token
+	 * @return token in the form used to compare equivalent tokens or null if the token is not used for classification
+	 */
+	private static String canonicalToken(String token) {
+		if (Objects.isNull(token) || LicenseTextHelper.canSkip(token)) {
+			return null;
+		}
+		String retval = token.trim().toLowerCase().replaceAll(DASHES_REGEX, "-");
+		boolean hasLetterOrDigit = false;
+		for (int i = 0; i < retval.length(); i++) {
+			if (Character.isLetterOrDigit(retval.charAt(i))) {
+				hasLetterOrDigit = true;
+				break;
+			}
+		}
+		if (!hasLetterOrDigit) {
+			return null;
+		}
+		String normalized = LicenseTextHelper.NORMALIZE_TOKENS.get(retval);
+		return Objects.isNull(normalized) ? retval : normalized;
+	}
+
+	/**
+	 * @param licenseId license ID
+	 * @return key for the family of the license - the leading letters of the ID or the full ID if it does not start with a letter
+	 */
+	static String familyKey(String licenseId) {
+		int end = 0;
+		while (end < licenseId.length() && Character.isLetter(licenseId.charAt(end))) {
+			end++;
+		}
+		return end == 0 ? licenseId : licenseId.substring(0, end);
+	}
+
+	/**
+	 * @param text license text
+	 * @return canonical tokens of the text tokenized the same as <code>CompareTemplateOutputHandler</code>
+	 */
+	private static Set<String> textTokens(String text) {
+		String normalized = LicenseTextHelper.normalizeText(LicenseTextHelper.replaceMultWord(
+				LicenseTextHelper.replaceSpaceComma(LicenseTextHelper.removeLineSeparators(
+						LicenseCompareHelper.removeCommentChars(text)))));
+		Set<String> retval = new HashSet<>();
+		for (String token:LicenseTextHelper.tokenizeLicenseText(normalized, new HashMap<Integer, LineColumn>())) {
+			String canonical = canonicalToken(token);
+			if (Objects.nonNull(canonical)) {
+				retval.add(canonical);
+			}
+		}
+		return retval;
+	}
+
+	/**
+	 * @param text license text
+	 * @return IDs of the licenses which may match the text in the order of the license list - any license not
+	 * returned does not match the text
+	 */
+	public List<String> getCandidateLicenseIds(String text) {
+		Set<String> tokens = textTokens(text);
+		boolean[] candidates = new boolean[licenseIds.size()];
+		for (Family family:families) {
+			if (!tokens.containsAll(family.core)) {
+				continue;
+			}
+			for (int i = 0; i < family.members.length; i++) {
+				if (tokens.containsAll(family.discriminating[i])) {
+					candidates[family.members[i]] = true;
+				}
+			}
+		}
+		List<String> retval = new ArrayList<>();
+		for (int i = 0; i < candidates.length; i++) {
+			if (candidates[i]) {
+				retval.add(licenseIds.get(i));
+			}
+		}
+		return retval;
+	}
+
+	/**
+	 * @return number of license families
+	 */
+	public int getNumFamilies() {
+		return families.size();
+	}
+
+	/**
+	 * @return version of the license list the classifier was built from
+	 */
+	public String getLicenseListVersion() {
+		return licenseListVersion;
+	}
+}
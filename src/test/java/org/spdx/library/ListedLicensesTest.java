@@ -1,6 +1,15 @@
 package org.spdx.library;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
 
 import org.spdx.core.InvalidSPDXAnalysisException;
 import org.spdx.library.model.v2.SpdxConstantsCompatV2;
@@ -9,6 +18,11 @@ import org.spdx.library.model.v2.license.SpdxListedLicense;
 import org.spdx.library.model.v3_0_1.expandedlicensing.ListedLicense;
 import org.spdx.library.model.v3_0_1.expandedlicensing.ListedLicenseException;
 import org.spdx.storage.compatv2.CompatibleModelStoreWrapper;
+import org.spdx.storage.listedlicense.LicenseJsonTOC;
+import org.spdx.storage.listedlicense.SpdxListedLicensePathStore;
+import org.spdx.utility.StubHttpServer;
+
+import com.google.gson.Gson;
 
 import junit.framework.TestCase;
 
@@ -98,6 +112,45 @@ public class ListedLicensesTest extends TestCase {
 		List<String> result = ListedLicenses.getListedLicenses().getSpdxListedLicenseIds();
 		assertTrue(result.size() >= NUM_3_7_LICENSES);
 		assertTrue(result.contains("Apache-2.0"));
+		// the list is shared and unmodifiable
+		assertSame(result, ListedLicenses.getListedLicenses().getSpdxListedLicenseIds());
+		try {
+			result.add("NotAListedLicense");
+			fail("Listed license IDs should not be modifiable");
+		} catch (UnsupportedOperationException ex) {
+			// expected
+		}
+	}
+	
+	public void testModelObjectsShared() throws InvalidSPDXAnalysisException {
+		ListedLicenses listedLicenses = ListedLicenses.resetListedLicenses();
+		ListedLicense license = listedLicenses.getListedLicenseById("Apache-2.0");
+		assertSame(license, listedLicenses.getListedLicenseById("Apache-2.0"));
+		assertSame(listedLicenses.getListedExceptionById("Classpath-exception-2.0"), 
+				listedLicenses.getListedExceptionById("Classpath-exception-2.0"));
+		assertSame(listedLicenses.getListedLicenseByIdCompatV2("Apache-2.0"), 
+				listedLicenses.getListedLicenseByIdCompatV2("Apache-2.0"));
+		assertSame(listedLicenses.getListedExceptionByIdCompatV2("Classpath-exception-2.0"), 
+				listedLicenses.getListedExceptionByIdCompatV2("Classpath-exception-2.0"));
+		assertNull(listedLicenses.getListedLicenseById("NotAListedLicense"));
+		// invalidated on reset
+		ListedLicense afterReset = ListedLicenses.resetListedLicenses().getListedLicenseById("Apache-2.0");
+		assertNotSame(license, afterReset);
+		assertEquals(license.getObjectUri(), afterReset.getObjectUri());
+	}
+	
+	public void testModelObjectsSharedAcrossCase() throws InvalidSPDXAnalysisException {
+		ListedLicenses listedLicenses = ListedLicenses.resetListedLicenses();
+		ListedLicense license = listedLicenses.getListedLicenseById("Apache-2.0");
+		assertSame(license, listedLicenses.getListedLicenseById("apache-2.0"));
+		assertSame(license, listedLicenses.getListedLicenseById("APACHE-2.0"));
+		assertSame(listedLicenses.getListedLicenseByIdCompatV2("MIT"), listedLicenses.getListedLicenseByIdCompatV2("mit"));
+		assertSame(listedLicenses.getListedExceptionById("Classpath-exception-2.0"), 
+				listedLicenses.getListedExceptionById("classpath-EXCEPTION-2.0"));
+		assertSame(listedLicenses.getListedExceptionByIdCompatV2("Classpath-exception-2.0"), 
+				listedLicenses.getListedExceptionByIdCompatV2("CLASSPATH-exception-2.0"));
+		assertNull(listedLicenses.getListedExceptionById("not-an-exception"));
+		assertNull(listedLicenses.getListedLicenseByIdCompatV2("not-a-license"));
 	}
 	
 	public void testGetListedExceptionById() throws InvalidSPDXAnalysisException {
@@ -167,4 +220,121 @@ public class ListedLicensesTest extends TestCase {
 	        assertTrue(idProp.get() instanceof String);
 	        assertEquals(id, idProp.get());
 	    }
-}
\ No newline at end of file
+
+	public void testBackgroundLoad() throws Exception {
+		try (StubHttpServer server = new StubHttpServer(Paths.get("resources", "stdlicenses").toAbsolutePath())) {
+			System.setProperty("org.spdx.listedLicenseBackgroundLoad", "true");
+			System.setProperty("org.spdx.listedLicenseUrl", server.getBaseUrl());
+			// notified once for the reset and once for the background swap
+			CountDownLatch swapped = new CountDownLatch(2);
+			IListedLicensesListener listener = (listedLicenses, previousVersion) -> swapped.countDown();
+			ListedLicenses.addListener(listener);
+			try {
+				ListedLicenses.resetListedLicenses();
+				// served immediately from the local store
+				assertTrue(ListedLicenses.getListedLicenses().isSpdxListedLicenseId("Apache-2.0"));
+				assertTrue(swapped.await(30, TimeUnit.SECONDS));
+				assertTrue(server.getRequestCount() > 0);
+				assertEquals("Apache License 2.0", ListedLicenses.getListedLicenses().getListedLicenseById("Apache-2.0").getName().get());
+			} finally {
+				ListedLicenses.removeListener(listener);
+				System.clearProperty("org.spdx.listedLicenseBackgroundLoad");
+				System.clearProperty("org.spdx.listedLicenseUrl");
+				ListedLicenses.resetListedLicenses();
+			}
+		}
+	}
+
+	public void testInitDeadline() throws Exception {
+		try (StubHttpServer server = new StubHttpServer(Paths.get("resources", "stdlicenses").toAbsolutePath())) {
+			server.setDelayMillis(2000);
+			System.setProperty("org.spdx.listedLicenseInitTimeoutMillis", "100");
+			System.setProperty("org.spdx.listedLicenseUrl", server.getBaseUrl());
+			// notified once for the reset and once when the web store is loaded after the deadline
+			CountDownLatch swapped = new CountDownLatch(2);
+			IListedLicensesListener listener = (listedLicenses, previousVersion) -> swapped.countDown();
+			ListedLicenses.addListener(listener);
+			try {
+				ListedLicenses.resetListedLicenses();
+				// the deadline passed before the server responded - served from the local store
+				assertEquals(1, swapped.getCount());
+				assertTrue(ListedLicenses.getListedLicenses().isSpdxListedLicenseId("Apache-2.0"));
+				assertTrue(swapped.await(30, TimeUnit.SECONDS));
+				assertTrue(server.getRequestCount() > 0);
+				assertEquals("Apache License 2.0", ListedLicenses.getListedLicenses().getListedLicenseById("Apache-2.0").getName().get());
+			} finally {
+				ListedLicenses.removeListener(listener);
+				System.clearProperty("org.spdx.listedLicenseInitTimeoutMillis");
+				System.clearProperty("org.spdx.listedLicenseUrl");
+				ListedLicenses.resetListedLicenses();
+			}
+		}
+	}
+
+	public void testLicenseListVersions() throws Exception {
+		Path stdLicenses = Paths.get("resources", "stdlicenses");
+		Path versionsDir = Files.createTempDirectory("license-list-versions");
+		Path zipFile = versionsDir.resolve("license-list-data-99.1.zip");
+		LicenseJsonTOC toc = new Gson().fromJson(new String(Files.readAllBytes(stdLicenses.resolve("licenses.json")),
+				StandardCharsets.UTF_8), LicenseJsonTOC.class);
+		toc.setLicenseListVersion("99.1");
+		try (ZipOutputStream zip = new ZipOutputStream(Files.newOutputStream(zipFile))) {
+			zip.putNextEntry(new ZipEntry("json/licenses.json"));
+			zip.write(new Gson().toJson(toc).getBytes(StandardCharsets.UTF_8));
+			zip.closeEntry();
+			zip.putNextEntry(new ZipEntry("json/exceptions.json"));
+			zip.write(Files.readAllBytes(stdLicenses.resolve("exceptions.json")));
+			zip.closeEntry();
+			zip.putNextEntry(new ZipEntry("json/details/Apache-2.0.json"));
+			zip.write(Files.readAllBytes(stdLicenses.resolve("Apache-2.0.json")));
+			zip.closeEntry();
+		}
+		System.setProperty("org.spdx.listedLicenseVersionsPath", versionsDir.toString());
+		String registeredVersion = null;
+		try {
+			ListedLicenses registered = ListedLicenses.registerLicenseListVersion(new SpdxListedLicensePathStore(stdLicenses));
+			registeredVersion = registered.getLicenseListVersion();
+			assertSame(registered, ListedLicenses.getListedLicenses(registeredVersion));
+			ListedLicenses loaded = ListedLicenses.getListedLicenses("99.1");
+			assertNotNull(loaded);
+			assertEquals("99.1", loaded.getLicenseListVersion());
+			assertSame(loaded, ListedLicenses.getListedLicenses("99.1"));
+			assertTrue(ListedLicenses.getRegisteredLicenseListVersions().contains("99.1"));
+			assertNull(ListedLicenses.getListedLicenses("98.0"));
+			String loadedText = loaded.getListedLicenseById("Apache-2.0").getLicenseText();
+			String registeredText = registered.getListedLicenseById("Apache-2.0").getLicenseText();
+			assertEquals(registeredText, loadedText);
+			assertSame(registeredText, loadedText);
+		} finally {
+			System.clearProperty("org.spdx.listedLicenseVersionsPath");
+			assertTrue(ListedLicenses.unregisterLicenseListVersion("99.1"));
+			if (registeredVersion != null) {
+				ListedLicenses.unregisterLicenseListVersion(registeredVersion);
+			}
+			Files.deleteIfExists(zipFile);
+			Files.deleteIfExists(versionsDir);
+		}
+		assertFalse(ListedLicenses.getRegisteredLicenseListVersions().contains("99.1"));
+	}
+
+	public void testRegisterLicenseListVersionClosesReplaced() throws Exception {
+		Path stdLicenses = Paths.get("resources", "stdlicenses");
+		AtomicBoolean firstClosed = new AtomicBoolean(false);
+		ListedLicenses first = ListedLicenses.registerLicenseListVersion(new SpdxListedLicensePathStore(stdLicenses) {
+			@Override
+			public void close() throws Exception {
+				firstClosed.set(true);
+				super.close();
+			}
+		});
+		String version = first.getLicenseListVersion();
+		try {
+			assertFalse(firstClosed.get());
+			ListedLicenses second = ListedLicenses.registerLicenseListVersion(new SpdxListedLicensePathStore(stdLicenses));
+			assertTrue(firstClosed.get());
+			assertSame(second, ListedLicenses.getListedLicenses(version));
+		} finally {
+			ListedLicenses.unregisterLicenseListVersion(version);
+		}
+	}
+}
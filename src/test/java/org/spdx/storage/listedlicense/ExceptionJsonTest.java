@@ -130,6 +130,12 @@ public class ExceptionJsonTest extends TestCase {
 		}
 	}
 
+	public void testPropertyOrdinals() {
+		for (Map.Entry<PropertyDescriptor, String> entry:ExceptionJson.PROPERTY_DESCRIPTOR_TO_VALUE_NAME.entrySet()) {
+			assertEquals(entry.getValue(), ExceptionJson.VALUE_NAMES[ExceptionJson.PROPERTY_TABLE.ordinalOf(entry.getKey())]);
+		}
+	}
+	
 	public void testSetTypedProperty() {
 		String exceptionId = "SpdxexceptionId1";
 		ExceptionJson ej = new ExceptionJson(exceptionId);
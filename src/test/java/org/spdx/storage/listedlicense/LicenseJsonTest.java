@@ -137,6 +137,12 @@ public class LicenseJsonTest extends TestCase {
 	/**
 	 * Test method for {@link org.spdx.storage.listedlicense.LicenseJson#setTypedProperty(java.lang.String, java.lang.String, java.lang.String)}.
 	 */
+	public void testPropertyOrdinals() {
+		for (Map.Entry<PropertyDescriptor, String> entry:LicenseJson.PROPERTY_DESCRIPTOR_TO_VALUE_NAME.entrySet()) {
+			assertEquals(entry.getValue(), LicenseJson.VALUE_NAMES[LicenseJson.PROPERTY_TABLE.ordinalOf(entry.getKey())]);
+		}
+	}
+	
 	public void testSetTypedProperty() {
 		String licenseId = "SpdxLicenseId1";
 		LicenseJson lj = new LicenseJson(licenseId);
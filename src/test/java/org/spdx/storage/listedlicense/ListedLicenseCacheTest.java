@@ -0,0 +1,113 @@
+/**
+ * Copyright (c) 2026 agent
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package org.spdx.storage.listedlicense;
+
+import org.spdx.library.model.v2.SpdxConstantsCompatV2;
+
+import junit.framework.TestCase;
+
+/**
+ * @author agent
+ *
+ */
+public class ListedLicenseCacheTest extends TestCase {
+
+	public void testGetPut() {
+		ListedLicenseCache<String> cache = new ListedLicenseCache<>(ListedLicenseCache.UNBOUNDED, false, String::length);
+		assertNull(cache.get("a"));
+		cache.put("a", "value");
+		assertEquals("value", cache.get("a"));
+		assertEquals(1, cache.getHitCount());
+		assertEquals(1, cache.getMissCount());
+		assertEquals(0, cache.getEvictionCount());
+		assertEquals(5, cache.getTotalWeight());
+	}
+
+	public void testPeekNotCounted() {
+		ListedLicenseCache<String> cache = new ListedLicenseCache<>(ListedLicenseCache.UNBOUNDED, false, String::length);
+		assertNull(cache.peek("a"));
+		cache.put("a", "value");
+		assertEquals("value", cache.peek("a"));
+		assertEquals(0, cache.getHitCount());
+		assertEquals(0, cache.getMissCount());
+	}
+
+	public void testStoreCountsOneMissPerLoad() throws Exception {
+		SpdxListedLicenseLocalStore store = new SpdxListedLicenseLocalStore();
+		store.setListedLicenseCache(new ListedLicenseCache<>(ListedLicenseCache.UNBOUNDED, false, LicenseJson::estimatedTextBytes));
+		String apacheUri = SpdxConstantsCompatV2.LISTED_LICENSE_NAMESPACE_PREFIX + "Apache-2.0";
+		store.getValue(apacheUri, SpdxConstantsCompatV2.PROP_NAME);
+		assertEquals(1, store.getListedLicenseCache().getMissCount());
+		assertEquals(0, store.getListedLicenseCache().getHitCount());
+		store.getValue(apacheUri, SpdxConstantsCompatV2.PROP_NAME);
+		assertEquals(1, store.getListedLicenseCache().getMissCount());
+		assertEquals(1, store.getListedLicenseCache().getHitCount());
+		store.close();
+	}
+
+	public void testWeightEviction() {
+		ListedLicenseCache<String> cache = new ListedLicenseCache<>(10, false, String::length);
+		cache.put("a", "12345");
+		cache.put("b", "12345");
+		assertEquals("12345", cache.get("a"));	// a is now most recently used
+		cache.put("c", "12345");
+		assertNull(cache.get("b"));
+		assertEquals("12345", cache.get("a"));
+		assertEquals("12345", cache.get("c"));
+		assertEquals(1, cache.getEvictionCount());
+		assertEquals(10, cache.getTotalWeight());
+		// an entry larger than the maximum is kept until the next put
+		cache.put("d", "12345678901");
+		assertEquals(1, cache.size());
+		assertEquals("12345678901", cache.get("d"));
+	}
+
+	public void testPin() {
+		ListedLicenseCache<String> cache = new ListedLicenseCache<>(5, true, String::length);
+		cache.pin("a", "12345");
+		assertTrue(cache.isPinned("a"));
+		cache.put("b", "12345");
+		cache.put("c", "12345");
+		assertEquals("12345", cache.get("a"));
+		assertNull(cache.get("b"));
+		assertEquals(5, cache.getTotalWeight());
+		cache.put("a", "changed");
+		assertEquals("changed", cache.get("a"));
+		assertEquals("changed", cache.remove("a"));
+		assertFalse(cache.isPinned("a"));
+		cache.clear();
+		assertEquals(0, cache.size());
+		assertEquals(0, cache.getTotalWeight());
+	}
+
+	public void testStoreReloadsEvicted() throws Exception {
+		SpdxListedLicenseLocalStore store = new SpdxListedLicenseLocalStore();
+		store.setListedLicenseCache(new ListedLicenseCache<>(1, false, LicenseJson::estimatedTextBytes));
+		String apacheUri = SpdxConstantsCompatV2.LISTED_LICENSE_NAMESPACE_PREFIX + "Apache-2.0";
+		String mitUri = SpdxConstantsCompatV2.LISTED_LICENSE_NAMESPACE_PREFIX + "MIT";
+		assertEquals("Apache License 2.0", store.getValue(apacheUri, SpdxConstantsCompatV2.PROP_NAME).get());
+		assertEquals("MIT License", store.getValue(mitUri, SpdxConstantsCompatV2.PROP_NAME).get());
+		assertTrue(store.getListedLicenseCache().getEvictionCount() > 0);
+		assertEquals("Apache License 2.0", store.getValue(apacheUri, SpdxConstantsCompatV2.PROP_NAME).get());
+		// modified licenses are pinned and not evicted
+		store.setValue(mitUri, SpdxConstantsCompatV2.PROP_NAME, "new name");
+		store.getValue(apacheUri, SpdxConstantsCompatV2.PROP_NAME);
+		assertEquals("new name", store.getValue(mitUri, SpdxConstantsCompatV2.PROP_NAME).get());
+		store.close();
+	}
+}
@@ -0,0 +1,70 @@
+/**
+ * Copyright (c) 2026 agent
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package org.spdx.storage.listedlicense;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import junit.framework.TestCase;
+
+/**
+ * @author agent
+ *
+ */
+public class ListedLicenseIdIndexTest extends TestCase {
+
+	public void testLookup() {
+		ListedLicenseIdIndex index = ListedLicenseIdIndex.build(Arrays.asList("Apache-2.0", "MIT", "GPL-2.0+"),
+				Arrays.asList("Classpath-exception-2.0"));
+		assertEquals(4, index.size());
+		assertTrue(index.isLicenseId("apache-2.0"));
+		assertTrue(index.isLicenseId("APACHE-2.0"));
+		assertFalse(index.isExceptionId("apache-2.0"));
+		assertTrue(index.isExceptionId("classpath-EXCEPTION-2.0"));
+		assertFalse(index.isLicenseId("classpath-exception-2.0"));
+		assertEquals("GPL-2.0+", index.getLicenseId("gpl-2.0+"));
+		assertNull(index.getExceptionId("gpl-2.0+"));
+		assertEquals("Classpath-exception-2.0", index.getExceptionId("CLASSPATH-exception-2.0"));
+		assertEquals(-1, index.indexOf("Apache-2"));
+		assertEquals(-1, index.indexOf(""));
+		int position = index.indexOf("mit");
+		assertEquals("MIT", index.idAt(position));
+		assertFalse(index.isExceptionAt(position));
+	}
+
+	public void testRegion() {
+		ListedLicenseIdIndex index = ListedLicenseIdIndex.build(Arrays.asList("MIT"), Collections.emptyList());
+		String uri = "http://spdx.org/licenses/mit";
+		assertTrue(index.indexOf(uri, uri.length() - 3, uri.length()) >= 0);
+		assertEquals(-1, index.indexOf(uri, uri.length() - 4, uri.length()));
+	}
+
+	public void testEmpty() {
+		assertEquals(-1, ListedLicenseIdIndex.EMPTY.indexOf("MIT"));
+		ListedLicenseIdIndex index = ListedLicenseIdIndex.build(Collections.emptyList(), Collections.emptyList());
+		assertEquals(0, index.size());
+		assertFalse(index.isLicenseId("MIT"));
+	}
+
+	public void testDuplicateCase() {
+		ListedLicenseIdIndex index = ListedLicenseIdIndex.build(Arrays.asList("MIT", "mit"), Arrays.asList("Mit"));
+		assertEquals(1, index.size());
+		assertEquals("MIT", index.getLicenseId("mIT"));
+		assertFalse(index.isExceptionId("mit"));
+	}
+}
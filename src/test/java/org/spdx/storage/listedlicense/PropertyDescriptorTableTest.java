@@ -0,0 +1,60 @@
+/**
+ * Copyright (c) 2026 agent
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package org.spdx.storage.listedlicense;
+
+import java.util.Arrays;
+
+import org.spdx.library.model.v2.SpdxConstantsCompatV2;
+import org.spdx.library.model.v3_0_1.SpdxConstantsV3;
+import org.spdx.storage.PropertyDescriptor;
+
+import junit.framework.TestCase;
+
+/**
+ * @author agent
+ *
+ */
+public class PropertyDescriptorTableTest extends TestCase {
+
+	public void testOrdinalOf() {
+		PropertyDescriptorTable table = new PropertyDescriptorTable(Arrays.asList(SpdxConstantsCompatV2.PROP_NAME,
+				SpdxConstantsV3.PROP_NAME, SpdxConstantsCompatV2.PROP_NAME));
+		assertEquals(0, table.ordinalOf(SpdxConstantsCompatV2.PROP_NAME));
+		assertEquals(1, table.ordinalOf(SpdxConstantsV3.PROP_NAME));
+		assertEquals(2, table.getDescriptors().size());
+		PropertyDescriptor equivalent = new PropertyDescriptor(SpdxConstantsCompatV2.PROP_NAME.getName(),
+				SpdxConstantsCompatV2.PROP_NAME.getNameSpace());
+		assertEquals(0, table.ordinalOf(equivalent));
+		assertTrue(table.contains(equivalent));
+		assertEquals(PropertyDescriptorTable.NOT_FOUND, table.ordinalOf(SpdxConstantsV3.PROP_COMMENT));
+		assertFalse(table.contains(SpdxConstantsV3.PROP_COMMENT));
+	}
+
+	public void testJsonOrdinals() {
+		for (PropertyDescriptor descriptor:LicenseJson.ALL_PROPERTY_DESCRIPTORS) {
+			int ordinal = LicenseJson.PROPERTY_TABLE.ordinalOf(descriptor);
+			assertEquals(LicenseJson.PROPERTY_DESCRIPTOR_TO_VALUE_NAME.get(descriptor), LicenseJson.VALUE_NAMES[ordinal]);
+		}
+		for (PropertyDescriptor descriptor:ExceptionJson.ALL_PROPERTY_DESCRIPTORS) {
+			int ordinal = ExceptionJson.PROPERTY_TABLE.ordinalOf(descriptor);
+			assertEquals(ExceptionJson.PROPERTY_DESCRIPTOR_TO_VALUE_NAME.get(descriptor), ExceptionJson.VALUE_NAMES[ordinal]);
+		}
+		assertEquals(LicenseJson.VALUE_NAMES.length, LicenseJson.SUMMARY + 1);
+		assertEquals(ExceptionJson.VALUE_NAMES.length, ExceptionJson.SUMMARY + 1);
+	}
+}
@@ -21,6 +21,9 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Iterator;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
 
 import org.spdx.core.InvalidSPDXAnalysisException;
 import org.spdx.core.TypedValue;
@@ -38,6 +41,7 @@ import org.spdx.library.model.v3_0_1.expandedlicensing.ListedLicenseException;
 import org.spdx.licenseTemplate.InvalidLicenseTemplateException;
 import org.spdx.storage.IModelStore;
 import org.spdx.storage.IModelStore.IdType;
+import org.spdx.storage.PropertyDescriptor;
 import org.spdx.storage.simple.InMemSpdxStore;
 import org.spdx.utility.compare.UnitTestHelper;
 
@@ -429,6 +433,91 @@ public class SpdxListedLicenseLocalStoreTest extends TestCase {
 		slll.close();
 	}
 	
+	public void testCrossRefIds() throws Exception {
+		SpdxListedLicenseLocalStore slll = new SpdxListedLicenseLocalStore();
+		List<Object> first = new ArrayList<>();
+		slll.listValues(LICENSE_LIST_URI + APACHE_ID, SpdxConstantsCompatV2.PROP_CROSS_REF).forEachRemaining(first::add);
+		assertFalse(first.isEmpty());
+		List<Object> second = new ArrayList<>();
+		slll.listValues(LICENSE_LIST_URI + APACHE_ID, SpdxConstantsCompatV2.PROP_CROSS_REF).forEachRemaining(second::add);
+		assertEquals(first, second);
+		assertTrue(slll.crossRefs.isEmpty());
+		String crossRefId = ((TypedValue)first.get(0)).getObjectUri();
+		assertEquals(SpdxListedLicenseModelStore.crossRefId(APACHE_ID, 0), crossRefId);
+		String url = (String)slll.getValue(crossRefId, new PropertyDescriptor("url", SpdxConstantsCompatV2.SPDX_NAMESPACE)).get();
+		// the ID still resolves after the license is evicted and read again
+		slll.listedLicenseCache.remove(APACHE_ID);
+		assertTrue(slll.exists(crossRefId));
+		assertEquals(url, slll.getValue(crossRefId, new PropertyDescriptor("url", SpdxConstantsCompatV2.SPDX_NAMESPACE)).get());
+		assertFalse(slll.exists(SpdxListedLicenseModelStore.crossRefId(APACHE_ID, 1000)));
+		slll.close();
+	}
+	
+	public void testCrossRefIdsNotReused() throws Exception {
+		SpdxListedLicenseLocalStore slll = new SpdxListedLicenseLocalStore();
+		PropertyDescriptor urlProperty = new PropertyDescriptor("url", SpdxConstantsCompatV2.SPDX_NAMESPACE);
+		List<Object> crossRefs = new ArrayList<>();
+		slll.listValues(LICENSE_LIST_URI + APACHE_ID, SpdxConstantsCompatV2.PROP_CROSS_REF).forEachRemaining(crossRefs::add);
+		assertEquals(2, crossRefs.size());
+		String secondId = ((TypedValue)crossRefs.get(1)).getObjectUri();
+		String secondUrl = (String)slll.getValue(secondId, urlProperty).get();
+		assertTrue(slll.removeValueFromCollection(LICENSE_LIST_URI + APACHE_ID, SpdxConstantsCompatV2.PROP_CROSS_REF, crossRefs.get(0)));
+		// a cross reference copied into the license without an ID takes the position of the second cross reference
+		CrossRefJson added = new CrossRefJson();
+		added.setPrimativeValue(urlProperty, "http://added.url");
+		slll.listedLicenseCache.peek(APACHE_ID).crossRef.add(added);
+		List<Object> updated = new ArrayList<>();
+		slll.listValues(LICENSE_LIST_URI + APACHE_ID, SpdxConstantsCompatV2.PROP_CROSS_REF).forEachRemaining(updated::add);
+		assertEquals(2, updated.size());
+		assertEquals(secondId, ((TypedValue)updated.get(0)).getObjectUri());
+		String addedId = ((TypedValue)updated.get(1)).getObjectUri();
+		assertFalse(secondId.equals(addedId));
+		assertFalse(((TypedValue)crossRefs.get(0)).getObjectUri().equals(addedId));
+		assertEquals(secondUrl, slll.getValue(secondId, urlProperty).get());
+		assertEquals("http://added.url", slll.getValue(addedId, urlProperty).get());
+		slll.close();
+	}
+	
+	public void testModifiedCrossRefNotEvicted() throws Exception {
+		System.setProperty(SpdxListedLicenseModelStore.CONFIG_PROPERTY_CACHE_MAX_BYTES, "1");
+		try {
+			SpdxListedLicenseLocalStore slll = new SpdxListedLicenseLocalStore();
+			PropertyDescriptor urlProperty = new PropertyDescriptor("url", SpdxConstantsCompatV2.SPDX_NAMESPACE);
+			List<Object> crossRefs = new ArrayList<>();
+			slll.listValues(LICENSE_LIST_URI + APACHE_ID, SpdxConstantsCompatV2.PROP_CROSS_REF).forEachRemaining(crossRefs::add);
+			String crossRefId = ((TypedValue)crossRefs.get(0)).getObjectUri();
+			slll.setValue(crossRefId, urlProperty, "http://changed.url");
+			// reading other licenses evicts all unpinned licenses from the tiny cache
+			assertEquals("MIT License", slll.getValue(LICENSE_LIST_URI + "MIT", SpdxConstantsCompatV2.PROP_NAME).get());
+			assertEquals("BSD 3-Clause \"New\" or \"Revised\" License", 
+					slll.getValue(LICENSE_LIST_URI + "BSD-3-Clause", SpdxConstantsCompatV2.PROP_NAME).get());
+			assertEquals("http://changed.url", slll.getValue(crossRefId, urlProperty).get());
+			slll.close();
+		} finally {
+			System.clearProperty(SpdxListedLicenseModelStore.CONFIG_PROPERTY_CACHE_MAX_BYTES);
+		}
+	}
+	
+	public void testGetAllItems() throws Exception {
+		SpdxListedLicenseLocalStore slll = new SpdxListedLicenseLocalStore();
+		assertEquals(slll.getSpdxListedLicenseIds().size(), 
+				slll.getAllItems(null, SpdxConstantsV3.EXPANDED_LICENSING_LISTED_LICENSE).count());
+		assertEquals(slll.getSpdxListedExceptionIds().size(), 
+				slll.getAllItems(null, SpdxConstantsV3.EXPANDED_LICENSING_LISTED_LICENSE_EXCEPTION).count());
+		assertEquals(slll.getSpdxListedExceptionIds().size(), 
+				slll.getAllItems(null, SpdxConstantsCompatV2.CLASS_SPDX_LISTED_LICENSE_EXCEPTION).count());
+		assertEquals(0, slll.listedLicenseCache.size());
+		// only the licenses needed for the requested cross refs are read
+		List<TypedValue> crossRefs = slll.getAllItems(null, SpdxConstantsCompatV2.CLASS_CROSS_REF).limit(2)
+				.collect(Collectors.toList());
+		assertEquals(2, crossRefs.size());
+		assertTrue(slll.listedLicenseCache.size() <= 2);
+		for (TypedValue crossRef:crossRefs) {
+			assertTrue(slll.exists(crossRef.getObjectUri()));
+		}
+		slll.close();
+	}
+	
 	public void testCreationInfo() throws Exception {
 		SpdxListedLicenseLocalStore slll = new SpdxListedLicenseLocalStore();
 		SpdxV3ListedLicenseModelStore modelStore = new SpdxV3ListedLicenseModelStore(slll);
@@ -442,4 +531,41 @@ public class SpdxListedLicenseLocalStoreTest extends TestCase {
 		assertFalse(createdBys.get(0).getName().get().isEmpty());
 	}
 
+	public void testMetrics() throws Exception {
+		AtomicInteger hits = new AtomicInteger();
+		AtomicInteger misses = new AtomicInteger();
+		AtomicInteger classpathLoads = new AtomicInteger();
+		AtomicLong bytesRead = new AtomicLong();
+		SpdxListedLicenseModelStore.setMetrics(new IListedLicenseMetrics() {
+			@Override
+			public void cacheHit(IListedLicenseStore store, String id, boolean isException) {
+				hits.incrementAndGet();
+			}
+			@Override
+			public void cacheMiss(IListedLicenseStore store, String id, boolean isException) {
+				misses.incrementAndGet();
+			}
+			@Override
+			public void loaded(IListedLicenseStore store, String resource, LoadSource source, long durationNanos, long bytes) {
+				if (LoadSource.CLASSPATH.equals(source)) {
+					classpathLoads.incrementAndGet();
+				}
+				assertTrue(durationNanos >= 0);
+				bytesRead.addAndGet(bytes);
+			}
+		});
+		try (SpdxListedLicenseLocalStore slll = new SpdxListedLicenseLocalStore()) {
+			// both tables of contents
+			assertEquals(2, classpathLoads.get());
+			slll.getValue(LICENSE_LIST_URI + APACHE_ID, SpdxConstantsCompatV2.PROP_NAME);
+			slll.getValue(LICENSE_LIST_URI + APACHE_ID, SpdxConstantsCompatV2.PROP_NAME);
+			assertEquals(1, misses.get());
+			assertTrue(hits.get() >= 1);
+			assertEquals(3, classpathLoads.get());
+			assertTrue(bytesRead.get() > 0);
+		} finally {
+			SpdxListedLicenseModelStore.setMetrics(null);
+		}
+		assertSame(IListedLicenseMetrics.NOOP, SpdxListedLicenseModelStore.getMetrics());
+	}
 }
@@ -0,0 +1,154 @@
+/**
+ * Copyright (c) 2026 agent
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package org.spdx.storage.listedlicense;
+
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import org.spdx.core.InvalidSPDXAnalysisException;
+import org.spdx.library.SpdxModelFactory;
+import org.spdx.library.model.v2.SpdxConstantsCompatV2;
+import org.spdx.library.model.v2.license.SpdxListedLicenseException;
+
+import com.google.gson.Gson;
+
+import junit.framework.TestCase;
+
+/**
+ * @author agent
+ *
+ */
+public class SpdxListedLicensePathStoreTest extends TestCase {
+
+	private static final Path STD_LICENSES = Paths.get("resources", "stdlicenses");
+	private static final String APACHE_ID = "Apache-2.0";
+	private static final String APACHE_LICENSE_NAME = "Apache License 2.0";
+	private static final String ECOS_EXCEPTION_ID = "eCos-exception-2.0";
+	private static final String ECOS_LICENSE_NAME = "eCos exception 2.0";
+	private static final String ZIP_VERSION = "99.1";
+
+	Path zipFile;
+
+	protected void setUp() throws Exception {
+		super.setUp();
+		SpdxModelFactory.init();
+		zipFile = Files.createTempFile("license-list-data", ".zip");
+		LicenseJsonTOC toc = new Gson().fromJson(new String(Files.readAllBytes(STD_LICENSES.resolve("licenses.json")),
+				StandardCharsets.UTF_8), LicenseJsonTOC.class);
+		toc.setLicenseListVersion(ZIP_VERSION);
+		try (ZipOutputStream zip = new ZipOutputStream(Files.newOutputStream(zipFile))) {
+			addZipEntry(zip, "license-list-data-" + ZIP_VERSION + "/json/licenses.json",
+					new Gson().toJson(toc).getBytes(StandardCharsets.UTF_8));
+			addZipEntry(zip, "license-list-data-" + ZIP_VERSION + "/json/exceptions.json",
+					Files.readAllBytes(STD_LICENSES.resolve("exceptions.json")));
+			addZipEntry(zip, "license-list-data-" + ZIP_VERSION + "/json/details/" + APACHE_ID + ".json",
+					Files.readAllBytes(STD_LICENSES.resolve(APACHE_ID + ".json")));
+			addZipEntry(zip, "license-list-data-" + ZIP_VERSION + "/json/exceptions/" + ECOS_EXCEPTION_ID + ".json",
+					Files.readAllBytes(STD_LICENSES.resolve(ECOS_EXCEPTION_ID + ".json")));
+		}
+	}
+
+	private static void addZipEntry(ZipOutputStream zip, String name, byte[] content) throws Exception {
+		zip.putNextEntry(new ZipEntry(name));
+		zip.write(content);
+		zip.closeEntry();
+	}
+
+	protected void tearDown() throws Exception {
+		super.tearDown();
+		Files.deleteIfExists(zipFile);
+	}
+
+	public void testDirectory() throws Exception {
+		SpdxListedLicensePathStore store = new SpdxListedLicensePathStore(STD_LICENSES);
+		try (SpdxListedLicenseLocalStore localStore = new SpdxListedLicenseLocalStore()) {
+			assertEquals(localStore.getLicenseListVersion(), store.getLicenseListVersion());
+			assertEquals(localStore.getSpdxListedLicenseIds().size(), store.getSpdxListedLicenseIds().size());
+			assertEquals(localStore.getSpdxListedExceptionIds().size(), store.getSpdxListedExceptionIds().size());
+		}
+		assertEquals(APACHE_LICENSE_NAME, store.getValue(SpdxConstantsCompatV2.LISTED_LICENSE_NAMESPACE_PREFIX + APACHE_ID,
+				SpdxConstantsCompatV2.PROP_NAME).get());
+		assertEquals(ECOS_LICENSE_NAME, store.getValue(SpdxConstantsCompatV2.LISTED_LICENSE_NAMESPACE_PREFIX + ECOS_EXCEPTION_ID,
+				SpdxConstantsCompatV2.PROP_NAME).get());
+		store.close();
+	}
+
+	public void testZipSideBySide() throws Exception {
+		SpdxListedLicensePathStore zipStore = new SpdxListedLicensePathStore(zipFile);
+		SpdxListedLicensePathStore dirStore = new SpdxListedLicensePathStore(STD_LICENSES);
+		assertEquals(ZIP_VERSION, zipStore.getLicenseListVersion());
+		assertFalse(ZIP_VERSION.equals(dirStore.getLicenseListVersion()));
+		assertEquals(APACHE_LICENSE_NAME, zipStore.getValue(SpdxConstantsCompatV2.LISTED_LICENSE_NAMESPACE_PREFIX + APACHE_ID,
+				SpdxConstantsCompatV2.PROP_NAME).get());
+		assertEquals(ECOS_LICENSE_NAME, zipStore.getValue(SpdxConstantsCompatV2.LISTED_LICENSE_NAMESPACE_PREFIX + ECOS_EXCEPTION_ID,
+				SpdxConstantsCompatV2.PROP_NAME).get());
+		assertEquals(APACHE_LICENSE_NAME, dirStore.getValue(SpdxConstantsCompatV2.LISTED_LICENSE_NAMESPACE_PREFIX + APACHE_ID,
+				SpdxConstantsCompatV2.PROP_NAME).get());
+		zipStore.close();
+		dirStore.close();
+	}
+
+	public void testReadAfterClose() throws Exception {
+		SpdxListedLicensePathStore zipStore = new SpdxListedLicensePathStore(zipFile);
+		zipStore.close();
+		try {
+			zipStore.getValue(SpdxConstantsCompatV2.LISTED_LICENSE_NAMESPACE_PREFIX + APACHE_ID, SpdxConstantsCompatV2.PROP_NAME);
+			fail("Expected exception reading from a closed archive");
+		} catch (InvalidSPDXAnalysisException ex) {
+			// expected
+		}
+	}
+
+	public void testMissingToc() throws Exception {
+		Path emptyZip = Files.createTempFile("empty", ".zip");
+		try {
+			try (OutputStream os = Files.newOutputStream(emptyZip);
+					ZipOutputStream zip = new ZipOutputStream(os)) {
+				addZipEntry(zip, "readme.txt", "no licenses".getBytes(StandardCharsets.UTF_8));
+			}
+			try {
+				new SpdxListedLicensePathStore(emptyZip).close();
+				fail("Expected exception for missing table of contents");
+			} catch (SpdxListedLicenseException ex) {
+				// expected
+			}
+		} finally {
+			Files.delete(emptyZip);
+		}
+	}
+
+	public void testNotZipFile() throws Exception {
+		Path tarFile = Files.createTempFile("license-list-data", ".tar.gz");
+		try {
+			Files.write(tarFile, "not a zip file".getBytes(StandardCharsets.UTF_8));
+			try {
+				new SpdxListedLicensePathStore(tarFile).close();
+				fail("Expected exception for a file which is not a zip file");
+			} catch (SpdxListedLicenseException ex) {
+				// expected
+			}
+		} finally {
+			Files.delete(tarFile);
+		}
+	}
+}
@@ -17,10 +17,16 @@
  */
 package org.spdx.storage.listedlicense;
 
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Iterator;
 import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import org.spdx.core.InvalidSPDXAnalysisException;
 import org.spdx.core.TypedValue;
@@ -39,8 +45,12 @@ import org.spdx.licenseTemplate.InvalidLicenseTemplateException;
 import org.spdx.storage.IModelStore;
 import org.spdx.storage.IModelStore.IdType;
 import org.spdx.storage.simple.InMemSpdxStore;
+import org.spdx.utility.StubHttpServer;
 import org.spdx.utility.compare.UnitTestHelper;
 
+import com.google.gson.Gson;
+import com.google.gson.JsonObject;
+
 import junit.framework.TestCase;
 
 /**
@@ -444,4 +454,134 @@ public class SpdxListedLicenseWebStoreTest extends TestCase {
 		assertEquals(1, createdBys.size());
 		assertFalse(createdBys.get(0).getName().get().isEmpty());
 	}
+
+	public void testPrefetchAll() throws Exception {
+		try (StubHttpServer server = new StubHttpServer(Paths.get("resources", "stdlicenses").toAbsolutePath())) {
+			SpdxListedLicenseWebStore sllw = new SpdxListedLicenseWebStore(server.getBaseUrl());
+			assertEquals(server.getBaseUrl(), sllw.getBaseUrl());
+			int numIds = sllw.getSpdxListedLicenseIds().size() + sllw.getSpdxListedExceptionIds().size();
+			int numFetched = sllw.prefetchAll(4).get();
+			assertEquals(numIds, numFetched);
+			int requestCount = server.getRequestCount();
+			assertEquals(APACHE_LICENSE_NAME, sllw.getValue(LICENSE_LIST_URI + APACHE_ID, SpdxConstantsCompatV2.PROP_NAME).get());
+			assertEquals(ECOS_LICENSE_NAME, sllw.getValue(LICENSE_LIST_URI + ECOS_EXCEPTION_ID, SpdxConstantsCompatV2.PROP_NAME).get());
+			assertEquals(requestCount, server.getRequestCount());
+			assertEquals(1, server.getRequestCount("/" + APACHE_ID + ".json"));
+			// already cached licenses are not fetched again
+			assertEquals(numIds, sllw.prefetchAll().get().intValue());
+			assertEquals(requestCount, server.getRequestCount());
+			sllw.close();
+		}
+	}
+
+	public void testUpdateLicenseList() throws Exception {
+		Path dir = Files.createTempDirectory("spdx-license-list");
+		try {
+			Path source = Paths.get("resources", "stdlicenses");
+			for (String fileName:new String[] {"licenses.json", "exceptions.json", APACHE_ID + ".json", "MIT.json", ECOS_EXCEPTION_ID + ".json"}) {
+				Files.copy(source.resolve(fileName), dir.resolve(fileName));
+			}
+			try (StubHttpServer server = new StubHttpServer(dir)) {
+				SpdxListedLicenseWebStore sllw = new SpdxListedLicenseWebStore(server.getBaseUrl());
+				String previousVersion = sllw.getLicenseListVersion();
+				assertEquals(APACHE_LICENSE_NAME, sllw.getValue(LICENSE_LIST_URI + APACHE_ID, SpdxConstantsCompatV2.PROP_NAME).get());
+				assertEquals("MIT License", sllw.getValue(LICENSE_LIST_URI + "MIT", SpdxConstantsCompatV2.PROP_NAME).get());
+				assertEquals(ECOS_LICENSE_NAME, sllw.getValue(LICENSE_LIST_URI + ECOS_EXCEPTION_ID, SpdxConstantsCompatV2.PROP_NAME).get());
+				
+				// no changes
+				LicenseListDiff diff = sllw.updateLicenseList();
+				assertFalse(diff.hasChanges());
+				
+				// new version: MIT renamed, 0BSD removed, a new license added
+				Gson gson = new Gson();
+				LicenseJsonTOC toc = gson.fromJson(new String(Files.readAllBytes(dir.resolve("licenses.json")), StandardCharsets.UTF_8), LicenseJsonTOC.class);
+				toc.setLicenseListVersion("99.0");
+				LicenseJsonTOC.LicenseJson newLicense = null;
+				for (Iterator<LicenseJsonTOC.LicenseJson> iter = toc.getLicenses().iterator(); iter.hasNext();) {
+					LicenseJsonTOC.LicenseJson entry = iter.next();
+					if ("MIT".equals(entry.getLicenseId())) {
+						entry.setName("MIT License Renamed");
+						newLicense = gson.fromJson(gson.toJson(entry), LicenseJsonTOC.LicenseJson.class);
+						newLicense.setLicenseId("New-License");
+					} else if ("0BSD".equals(entry.getLicenseId())) {
+						iter.remove();
+					}
+					entry.setReferenceNumber(entry.getReferenceNumber() + 1);
+				}
+				toc.getLicenses().add(newLicense);
+				Files.write(dir.resolve("licenses.json"), gson.toJson(toc).getBytes(StandardCharsets.UTF_8));
+				String mitJson = new String(Files.readAllBytes(dir.resolve("MIT.json")), StandardCharsets.UTF_8);
+				Files.write(dir.resolve("MIT.json"), mitJson.replace("\"MIT License\"", "\"MIT License Renamed\"").getBytes(StandardCharsets.UTF_8));
+				
+				int apacheRequests = server.getRequestCount("/" + APACHE_ID + ".json");
+				int mitRequests = server.getRequestCount("/MIT.json");
+				LicenseJson apache = sllw.listedLicenseCache.peek(APACHE_ID);
+				diff = sllw.updateLicenseList();
+				assertTrue(diff.hasChanges());
+				assertEquals(previousVersion, diff.getPreviousVersion());
+				assertEquals("99.0", diff.getVersion());
+				assertEquals("99.0", sllw.getLicenseListVersion());
+				assertEquals(Arrays.asList("New-License"), diff.getAddedIds());
+				assertEquals(Arrays.asList("MIT"), diff.getChangedIds());
+				assertEquals(Arrays.asList("0BSD"), diff.getRemovedIds());
+				assertEquals(mitRequests + 1, server.getRequestCount("/MIT.json"));
+				assertEquals("MIT License Renamed", sllw.getValue(LICENSE_LIST_URI + "MIT", SpdxConstantsCompatV2.PROP_NAME).get());
+				assertEquals(APACHE_LICENSE_NAME, sllw.getValue(LICENSE_LIST_URI + APACHE_ID, SpdxConstantsCompatV2.PROP_NAME).get());
+				assertEquals(ECOS_LICENSE_NAME, sllw.getValue(LICENSE_LIST_URI + ECOS_EXCEPTION_ID, SpdxConstantsCompatV2.PROP_NAME).get());
+				// unchanged licenses are read again to compare the JSON but the parsed license is kept
+				assertEquals(apacheRequests + 1, server.getRequestCount("/" + APACHE_ID + ".json"));
+				assertSame(apache, sllw.listedLicenseCache.peek(APACHE_ID));
+				assertTrue(sllw.isSpdxListedLicenseId(LICENSE_LIST_URI, "new-license"));
+				assertFalse(sllw.isSpdxListedLicenseId(LICENSE_LIST_URI, "0BSD"));
+				sllw.close();
+			}
+		} finally {
+			try (Stream<Path> files = Files.list(dir)) {
+				for (Path file:files.collect(Collectors.toList())) {
+					Files.delete(file);
+				}
+			}
+			Files.delete(dir);
+		}
+	}
+
+	public void testUpdateLicenseListTextOnly() throws Exception {
+		Path dir = Files.createTempDirectory("spdx-license-list");
+		try {
+			Path source = Paths.get("resources", "stdlicenses");
+			for (String fileName:new String[] {"licenses.json", "exceptions.json", APACHE_ID + ".json"}) {
+				Files.copy(source.resolve(fileName), dir.resolve(fileName));
+			}
+			try (StubHttpServer server = new StubHttpServer(dir)) {
+				SpdxListedLicenseWebStore sllw = new SpdxListedLicenseWebStore(server.getBaseUrl());
+				String previousText = (String)sllw.getValue(LICENSE_LIST_URI + APACHE_ID, SpdxConstantsCompatV2.PROP_LICENSE_TEXT).get();
+				
+				// new version where only the license text changed
+				Gson gson = new Gson();
+				LicenseJsonTOC toc = gson.fromJson(new String(Files.readAllBytes(dir.resolve("licenses.json")), StandardCharsets.UTF_8), LicenseJsonTOC.class);
+				toc.setLicenseListVersion("99.0");
+				Files.write(dir.resolve("licenses.json"), gson.toJson(toc).getBytes(StandardCharsets.UTF_8));
+				JsonObject apacheJson = gson.fromJson(new String(Files.readAllBytes(dir.resolve(APACHE_ID + ".json")), StandardCharsets.UTF_8), JsonObject.class);
+				apacheJson.addProperty("licenseText", "Updated license text");
+				Files.write(dir.resolve(APACHE_ID + ".json"), gson.toJson(apacheJson).getBytes(StandardCharsets.UTF_8));
+				
+				int apacheRequests = server.getRequestCount("/" + APACHE_ID + ".json");
+				LicenseListDiff diff = sllw.updateLicenseList();
+				assertEquals("99.0", sllw.getLicenseListVersion());
+				assertEquals(Arrays.asList(APACHE_ID), diff.getChangedIds());
+				String text = (String)sllw.getValue(LICENSE_LIST_URI + APACHE_ID, SpdxConstantsCompatV2.PROP_LICENSE_TEXT).get();
+				assertFalse(previousText.equals(text));
+				assertEquals("Updated license text", text);
+				assertEquals(apacheRequests + 1, server.getRequestCount("/" + APACHE_ID + ".json"));
+				sllw.close();
+			}
+		} finally {
+			try (Stream<Path> files = Files.list(dir)) {
+				for (Path file:files.collect(Collectors.toList())) {
+					Files.delete(file);
+				}
+			}
+			Files.delete(dir);
+		}
+	}
 }
@@ -23,6 +23,7 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Spliterator;
 import java.util.Spliterators;
 import java.util.stream.Collectors;
@@ -622,6 +623,86 @@ public class InMemSpdxStoreTest extends TestCase {
 		}
 	}
 	
+	public void testGetAllItemsInsertionOrder() throws Exception {
+		try (InMemSpdxStore store = new InMemSpdxStore()) {
+			List<String> expected = new ArrayList<>();
+			for (int i = 0; i < 10; i++) {
+				String objectUri = TEST_NAMESPACE1 + "#id" + i;
+				store.create(new TypedValue(objectUri, SpdxConstantsCompatV2.CLASS_SPDX_EXTRACTED_LICENSING_INFO, "SPDX-2.3"));
+				expected.add(objectUri);
+			}
+			for (int i = 0; i < 8; i++) {
+				store.delete(expected.remove(0));
+			}
+			// re-created items move to the end
+			String recreated = TEST_NAMESPACE1 + "#id0";
+			store.create(new TypedValue(recreated, SpdxConstantsCompatV2.CLASS_SPDX_EXTRACTED_LICENSING_INFO, "SPDX-2.3"));
+			expected.add(recreated);
+			assertEquals(expected, store.getAllItems(null, null).map(TypedValue::getObjectUri).collect(Collectors.toList()));
+		}
+	}
+
+	public void testGetAllItemsByType() throws Exception {
+		try (InMemSpdxStore store = new InMemSpdxStore()) {
+			List<String> expectedType1 = new ArrayList<>();
+			for (int i = 0; i < 20; i++) {
+				String objectUri = (i % 3 == 0 ? TEST_NAMESPACE2 : TEST_NAMESPACE1) + "#id" + i;
+				if (i % 2 == 0) {
+					store.create(new TypedValue(objectUri, TEST_TYPE1, "SPDX-2.3"));
+					expectedType1.add(objectUri);
+				} else {
+					store.create(new TypedValue(objectUri, TEST_TYPE2, "SPDX-2.3"));
+				}
+			}
+			assertEquals(expectedType1, store.getAllItems(null, TEST_TYPE1).map(TypedValue::getObjectUri).collect(Collectors.toList()));
+			assertEquals(10, store.getAllItems(null, TEST_TYPE2).count());
+			assertEquals(0, store.getAllItems(null, SpdxConstantsCompatV2.CLASS_SPDX_FILE).count());
+			assertTrue(store.getAllItems(TEST_NAMESPACE1, TEST_TYPE1).allMatch(tv -> 
+					tv.getType().equals(TEST_TYPE1) && tv.getObjectUri().startsWith(TEST_NAMESPACE1)));
+			assertEquals(6, store.getAllItems(TEST_NAMESPACE1, TEST_TYPE1).count());
+			// delete enough items to compact the type index
+			for (int i = 0; i < 8; i++) {
+				store.delete(expectedType1.remove(0));
+			}
+			assertEquals(expectedType1, store.getAllItems(null, TEST_TYPE1).map(TypedValue::getObjectUri).collect(Collectors.toList()));
+			assertEquals(10, store.getAllItems(null, TEST_TYPE2).count());
+			store.clear();
+			assertEquals(0, store.getAllItems(null, TEST_TYPE1).count());
+		}
+	}
+
+	public void testConcurrentCreate() throws Exception {
+		try (InMemSpdxStore store = new InMemSpdxStore()) {
+			int numThreads = 8;
+			int itemsPerThread = 500;
+			Waiter waiter = new Waiter();
+			for (int t = 0; t < numThreads; t++) {
+				final String nameSpace = "http://test.document.uri/thread" + t;
+				new Thread(() -> {
+					try {
+						for (int i = 0; i < itemsPerThread; i++) {
+							store.create(new TypedValue(nameSpace + "#id" + i, TEST_TYPE1, "SPDX-2.3"));
+							waiter.assertTrue(store.exists(nameSpace + "#id" + i));
+						}
+					} catch (InvalidSPDXAnalysisException e) {
+						waiter.fail(e);
+					}
+					waiter.resume();
+				}).start();
+			}
+			waiter.await(TIMEOUT, numThreads);
+			assertEquals(numThreads * itemsPerThread, store.getAllItems(null, TEST_TYPE1).count());
+			for (int t = 0; t < numThreads; t++) {
+				String nameSpace = "http://test.document.uri/thread" + t;
+				List<String> ids = store.getAllItems(nameSpace, null).map(TypedValue::getObjectUri).collect(Collectors.toList());
+				assertEquals(itemsPerThread, ids.size());
+				for (int i = 0; i < itemsPerThread; i++) {
+					assertEquals(nameSpace + "#id" + i, ids.get(i));
+				}
+			}
+		}
+	}
+
 	public void testDeleteInUse() throws Exception {
 		try (InMemSpdxStore store = new InMemSpdxStore()) {
 			String id1 = "TestId1";
@@ -731,4 +812,19 @@ public class InMemSpdxStoreTest extends TestCase {
 		        store.delete(TEST_OBJECT_URI1);
 	        }
 	    }
+
+	public void testGetTypedValueMap() throws Exception {
+		try (InMemSpdxStore store = new InMemSpdxStore()) {
+			store.create(new TypedValue(TEST_OBJECT_URI1, TEST_TYPE1, "SPDX-2.3"));
+			Map<String, StoredTypedItem> typedValueMap = store.getTypedValueMap();
+			assertEquals(1, typedValueMap.size());
+			assertEquals(TEST_TYPE1, typedValueMap.get(TEST_OBJECT_URI1.toLowerCase()).getType());
+			try {
+				typedValueMap.clear();
+				fail("Expected the typed value map to be read only");
+			} catch (UnsupportedOperationException ex) {
+				// expected
+			}
+		}
+	}
 }
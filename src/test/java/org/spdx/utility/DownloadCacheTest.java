@@ -0,0 +1,433 @@
+/**
+ * Copyright (c) 2026 agent
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package org.spdx.utility;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.ServerSocket;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import junit.framework.TestCase;
+
+/**
+ * @author agent
+ *
+ */
+public class DownloadCacheTest extends TestCase {
+
+	static final String CONTENT = "Cached license list content";
+	static final String UPDATED_CONTENT = "Updated license list content";
+	static final int NUM_THREADS = 8;
+
+	Path serverDir;
+	Path cacheDir;
+
+	protected void setUp() throws Exception {
+		super.setUp();
+		serverDir = Files.createTempDirectory("spdx-download-server");
+		cacheDir = Files.createTempDirectory("spdx-download-cache");
+		Files.write(serverDir.resolve("licenses.json"), CONTENT.getBytes(StandardCharsets.UTF_8));
+	}
+
+	protected void tearDown() throws Exception {
+		super.tearDown();
+		deleteAll(serverDir);
+		deleteAll(cacheDir);
+	}
+
+	private static void deleteAll(Path dir) throws IOException {
+		try (Stream<Path> paths = Files.walk(dir)) {
+			paths.sorted((a, b) -> b.compareTo(a)).forEach(path -> path.toFile().delete());
+		}
+	}
+
+	private static DownloadCache newCache(Path dir, long checkIntervalSecs, long memoryMaxBytes, long maxStaleSecs,
+			long maxBytes, boolean compress) {
+		return newCache(dir, checkIntervalSecs, memoryMaxBytes, maxStaleSecs, maxBytes, compress, 5);
+	}
+
+	private static DownloadCache newCache(Path dir, long checkIntervalSecs, long memoryMaxBytes, long maxStaleSecs,
+			long maxBytes, boolean compress, int maxConnections) {
+		return new DownloadCache(dir.toString(), cacheProperties(checkIntervalSecs, memoryMaxBytes, maxStaleSecs,
+				maxBytes, compress, maxConnections)::get);
+	}
+
+	private static Map<String, String> cacheProperties(long checkIntervalSecs, long memoryMaxBytes, long maxStaleSecs,
+			long maxBytes, boolean compress, int maxConnections) {
+		Map<String, String> properties = new HashMap<>();
+		properties.put("org.spdx.downloadCacheEnabled", "true");
+		properties.put("org.spdx.downloadCacheCheckIntervalSecs", String.valueOf(checkIntervalSecs));
+		properties.put("org.spdx.downloadCacheMemoryMaxBytes", String.valueOf(memoryMaxBytes));
+		properties.put("org.spdx.downloadCacheMaxStaleSecs", String.valueOf(maxStaleSecs));
+		properties.put("org.spdx.downloadCacheMaxBytes", String.valueOf(maxBytes));
+		properties.put("org.spdx.downloadCacheCompress", String.valueOf(compress));
+		properties.put("org.spdx.downloadMaxConnections", String.valueOf(maxConnections));
+		return properties;
+	}
+
+	private List<Path> contentFiles() throws IOException {
+		try (Stream<Path> paths = Files.walk(cacheDir)) {
+			return paths.filter(path -> path.getFileName().toString().matches("[0-9a-f]{64}")).collect(Collectors.toList());
+		}
+	}
+
+	private static String read(InputStream is) throws IOException {
+		try {
+			StringBuilder sb = new StringBuilder();
+			byte[] buf = new byte[1024];
+			int len;
+			while ((len = is.read(buf)) > 0) {
+				sb.append(new String(buf, 0, len, StandardCharsets.UTF_8));
+			}
+			return sb.toString();
+		} finally {
+			is.close();
+		}
+	}
+
+	public void testMemoryTier() throws Exception {
+		try (StubHttpServer server = new StubHttpServer(serverDir)) {
+			URL url = new URL(server.getBaseUrl() + "licenses.json");
+			DownloadCache cache = newCache(cacheDir, 3600, 1024, 0, 0, false);
+			assertEquals(CONTENT, read(cache.getUrlInputStream(url, false)));
+			assertEquals(1, server.getRequestCount());
+			// warm hits are served from memory even if the cache directory is removed
+			deleteAll(cacheDir);
+			assertEquals(CONTENT, read(cache.getUrlInputStream(url, false)));
+			assertEquals(1, server.getRequestCount());
+
+			// without the memory tier the cached file is read from disk
+			DownloadCache diskOnly = newCache(cacheDir, 3600, 0, 0, 0, false);
+			assertEquals(CONTENT, read(diskOnly.getUrlInputStream(url, false)));
+			assertEquals(2, server.getRequestCount());
+			assertTrue(cacheDir.toFile().list().length > 0);
+		}
+	}
+
+	public void testSharedIndex() throws Exception {
+		try (StubHttpServer server = new StubHttpServer(serverDir)) {
+			URL url = new URL(server.getBaseUrl() + "licenses.json");
+			DownloadCache cache = newCache(cacheDir, 3600, 0, 0, 0, false);
+			assertEquals(CONTENT, read(cache.getUrlInputStream(url, false)));
+			// another cache sharing the directory finds the entry through the index
+			DownloadCache other = newCache(cacheDir, 3600, 0, 0, 0, false);
+			assertEquals(CONTENT, read(other.getUrlInputStream(url, false)));
+			assertEquals(1, server.getRequestCount());
+			assertTrue(cacheDir.resolve(DownloadCacheIndex.INDEX_FILE_NAME).toFile().isFile());
+			List<Path> contentFiles = contentFiles();
+			assertEquals(1, contentFiles.size());
+			// content is sharded by the first characters of the key
+			assertEquals(contentFiles.get(0).getFileName().toString().substring(0, 2),
+					contentFiles.get(0).getParent().getFileName().toString());
+		}
+	}
+
+	public void testIndexCompaction() throws Exception {
+		DownloadCacheIndex index = new DownloadCacheIndex(cacheDir.toFile());
+		DownloadCacheIndex other = new DownloadCacheIndex(cacheDir.toFile());
+		Instant now = Instant.ofEpochMilli(System.currentTimeMillis());	// the index records milliseconds
+		DownloadCacheIndex.Record record = new DownloadCacheIndex.Record("abc", "http://example.com/a\tb", "\"etag\"",
+				now, now, now, 10, true);
+		index.put(record);
+		assertEquals("\"etag\"", other.refreshAndGet("abc").eTag);
+		assertEquals("http://example.com/a\tb", other.refreshAndGet("abc").sourceUrl);
+		for (int i = 0; i < 2000; i++) {
+			index.put(record.accessed(now.plusSeconds(i)));
+		}
+		index.put(new DownloadCacheIndex.Record("def", "http://example.com/d", null, now, now, now, 20, false));
+		// the log is compacted rather than growing without bound
+		assertTrue(Files.readAllLines(cacheDir.resolve(DownloadCacheIndex.INDEX_FILE_NAME)).size() < 1100);
+		assertEquals(now.plusSeconds(1999), other.refreshAndGet("abc").lastAccessed);
+		assertNull(other.get("def").eTag);
+		other.remove("abc");
+		assertNull(index.refreshAndGet("abc"));
+		assertEquals(20, index.get("def").size);
+	}
+
+	public void testSeedArchive() throws Exception {
+		Path seededDir = Files.createTempDirectory("spdx-download-seeded");
+		try (StubHttpServer server = new StubHttpServer(serverDir)) {
+			URL url = new URL(server.getBaseUrl() + "licenses.json");
+			DownloadCache cache = newCache(cacheDir, 3600, 0, 0, 0, true);
+			assertEquals(CONTENT, read(cache.getUrlInputStream(url, false)));
+			ByteArrayOutputStream archive = new ByteArrayOutputStream();
+			assertEquals(1, cache.exportCache(archive));
+
+			DownloadCache seeded = newCache(seededDir, 3600, 0, 0, 0, false);
+			assertEquals(1, seeded.importCache(new ByteArrayInputStream(archive.toByteArray())));
+			assertEquals(CONTENT, read(seeded.getUrlInputStream(url, false)));
+			assertEquals(1, server.getRequestCount());
+			try {
+				seeded.importCache(new ByteArrayInputStream(new byte[0]));
+				fail("Expected an invalid archive to be rejected");
+			} catch (IOException e) {
+				// expected
+			}
+		} finally {
+			deleteAll(seededDir);
+		}
+	}
+
+	public void testAsyncDownloads() throws Exception {
+		List<URL> urls = new ArrayList<>();
+		try (StubHttpServer server = new StubHttpServer(serverDir)) {
+			for (int i = 0; i < NUM_THREADS; i++) {
+				Files.write(serverDir.resolve("license" + i + ".json"), (CONTENT + i).getBytes(StandardCharsets.UTF_8));
+				urls.add(new URL(server.getBaseUrl() + "license" + i + ".json"));
+			}
+			server.setDelayMillis(100);
+			DownloadCache cache = newCache(cacheDir, 1, 0, 0, 0, false, 2);
+			List<CompletableFuture<InputStream>> results = new ArrayList<>();
+			for (URL url : urls) {
+				results.add(cache.getUrlInputStreamAsync(url, false));
+			}
+			for (int i = 0; i < NUM_THREADS; i++) {
+				assertEquals(CONTENT + i, read(results.get(i).get()));
+			}
+			assertTrue(server.getMaxConcurrentRequests() <= 2);
+			Thread.sleep(2100);	// past the cache check interval
+			for (int i = 0; i < NUM_THREADS; i++) {
+				assertEquals(CONTENT + i, read(cache.getUrlInputStreamAsync(urls.get(i), false).get()));
+			}
+			assertEquals(2 * NUM_THREADS, server.getRequestCount());
+			// responses are fully read so that connections are kept alive and reused
+			assertTrue(server.getConnectionCount() < server.getRequestCount());
+		}
+	}
+
+	public void testRetries() throws Exception {
+		List<IDownloadMetrics.Outcome> outcomes = Collections.synchronizedList(new ArrayList<>());
+		DownloadCache.setMetrics(new IDownloadMetrics() {
+			@Override
+			public void requestOutcome(URL url, Outcome outcome, long durationNanos) {
+				outcomes.add(outcome);
+			}
+		});
+		try (StubHttpServer server = new StubHttpServer(serverDir)) {
+			URL url = new URL(server.getBaseUrl() + "licenses.json");
+			Map<String, String> properties = cacheProperties(3600, 0, 0, 0, false, 5);
+			properties.put("org.spdx.downloadMaxRetries", "2");
+			properties.put("org.spdx.downloadRetryBackoffMillis", "10");
+			DownloadCache cache = new DownloadCache(cacheDir.toString(), properties::get);
+			server.failNextRequests(2);
+			assertEquals(CONTENT, read(cache.getUrlInputStream(url, false)));
+			assertEquals(3, server.getRequestCount());
+			assertEquals(Arrays.asList(IDownloadMetrics.Outcome.RETRY, IDownloadMetrics.Outcome.RETRY,
+					IDownloadMetrics.Outcome.SUCCESS), outcomes);
+
+			outcomes.clear();
+			server.failNextRequests(3);
+			try {
+				read(cache.getUrlInputStream(new URL(server.getBaseUrl() + "other.json"), false));
+				fail("Expected the request to fail once retries are exhausted");
+			} catch (IOException e) {
+				// expected
+			}
+			assertEquals(IDownloadMetrics.Outcome.FAILURE, outcomes.get(outcomes.size() - 1));
+
+			// refused connections are not retried
+			outcomes.clear();
+			int closedPort;
+			try (ServerSocket socket = new ServerSocket(0)) {
+				closedPort = socket.getLocalPort();
+			}
+			try {
+				read(cache.getUrlInputStream(new URL("http://localhost:" + closedPort + "/licenses.json"), false));
+				fail("Expected the connection to be refused");
+			} catch (IOException e) {
+				// expected
+			}
+			assertEquals(Collections.singletonList(IDownloadMetrics.Outcome.FAILURE), outcomes);
+		} finally {
+			DownloadCache.setMetrics(null);
+		}
+	}
+
+	public void testTimeoutRetried() throws Exception {
+		List<IDownloadMetrics.Outcome> outcomes = Collections.synchronizedList(new ArrayList<>());
+		DownloadCache.setMetrics(new IDownloadMetrics() {
+			@Override
+			public void requestOutcome(URL url, Outcome outcome, long durationNanos) {
+				outcomes.add(outcome);
+			}
+		});
+		try (StubHttpServer server = new StubHttpServer(serverDir)) {
+			URL url = new URL(server.getBaseUrl() + "licenses.json");
+			Map<String, String> properties = cacheProperties(3600, 0, 0, 0, false, 5);
+			properties.put("org.spdx.downloadReadTimeoutMillis", "500");
+			properties.put("org.spdx.downloadMaxRetries", "2");
+			properties.put("org.spdx.downloadRetryBackoffMillis", "10");
+			DownloadCache cache = new DownloadCache(cacheDir.toString(), properties::get);
+			// the first response stalls past the read timeout
+			server.delayNextRequests(1, 2000);
+			assertEquals(CONTENT, read(cache.getUrlInputStream(url, false)));
+			assertEquals(2, server.getRequestCount());
+			assertEquals(Arrays.asList(IDownloadMetrics.Outcome.RETRY, IDownloadMetrics.Outcome.SUCCESS), outcomes);
+		} finally {
+			DownloadCache.setMetrics(null);
+		}
+	}
+
+	public void testHedging() throws Exception {
+		List<IDownloadMetrics.Outcome> outcomes = Collections.synchronizedList(new ArrayList<>());
+		DownloadCache.setMetrics(new IDownloadMetrics() {
+			@Override
+			public void requestOutcome(URL url, Outcome outcome, long durationNanos) {
+				outcomes.add(outcome);
+			}
+		});
+		try (StubHttpServer server = new StubHttpServer(serverDir)) {
+			URL url = new URL(server.getBaseUrl() + "licenses.json");
+			Map<String, String> properties = cacheProperties(3600, 0, 0, 0, false, 5);
+			properties.put("org.spdx.downloadHedgePercentile", "95");
+			properties.put("org.spdx.downloadHedgeDelayMillis", "100");
+			DownloadCache cache = new DownloadCache(cacheDir.toString(), properties::get);
+			server.delayNextRequests(1, 5000);
+			long start = System.currentTimeMillis();
+			assertEquals(CONTENT, read(cache.getUrlInputStream(url, false)));
+			assertTrue(System.currentTimeMillis() - start < 4000);
+			assertEquals(2, server.getRequestCount());
+			assertTrue(outcomes.contains(IDownloadMetrics.Outcome.HEDGE));
+			assertTrue(outcomes.contains(IDownloadMetrics.Outcome.HEDGE_WIN));
+		} finally {
+			DownloadCache.setMetrics(null);
+		}
+	}
+
+	public void testConcurrentMisses() throws Exception {
+		try (StubHttpServer server = new StubHttpServer(serverDir)) {
+			server.setDelayMillis(500);
+			URL url = new URL(server.getBaseUrl() + "licenses.json");
+			DownloadCache cache = newCache(cacheDir, 3600, 0, 0, 0, false);
+			ExecutorService executor = Executors.newFixedThreadPool(NUM_THREADS);
+			try {
+				List<Future<String>> results = new ArrayList<>();
+				for (int i = 0; i < NUM_THREADS; i++) {
+					results.add(executor.submit(() -> read(cache.getUrlInputStream(url, false))));
+				}
+				for (Future<String> result : results) {
+					assertEquals(CONTENT, result.get());
+				}
+			} finally {
+				executor.shutdown();
+			}
+			assertEquals(1, server.getRequestCount());
+			try (Stream<Path> paths = Files.walk(cacheDir)) {
+				assertFalse(paths.anyMatch(path -> path.toString().endsWith(".tmp")));
+			}
+		}
+	}
+
+	public void testStaleWhileRevalidate() throws Exception {
+		try (StubHttpServer server = new StubHttpServer(serverDir)) {
+			URL url = new URL(server.getBaseUrl() + "licenses.json");
+			DownloadCache cache = newCache(cacheDir, 1, 1024, 3600, 0, false);
+			assertEquals(CONTENT, read(cache.getUrlInputStream(url, false)));
+			assertEquals(1, server.getRequestCount());
+			Files.write(serverDir.resolve("licenses.json"), UPDATED_CONTENT.getBytes(StandardCharsets.UTF_8));
+			server.setDelayMillis(500);
+			Thread.sleep(2100);	// past the cache check interval
+			// stale content is served immediately while the update is downloaded in the background
+			assertEquals(CONTENT, read(cache.getUrlInputStream(url, false)));
+			long deadline = System.currentTimeMillis() + 10000;
+			String content = CONTENT;
+			while (!UPDATED_CONTENT.equals(content) && System.currentTimeMillis() < deadline) {
+				Thread.sleep(50);
+				content = read(cache.getUrlInputStream(url, false));
+			}
+			assertEquals(UPDATED_CONTENT, content);
+			assertEquals(2, server.getRequestCount());
+		}
+	}
+
+	public void testCompressedEntries() throws Exception {
+		try (StubHttpServer server = new StubHttpServer(serverDir)) {
+			URL url = new URL(server.getBaseUrl() + "licenses.json");
+			DownloadCache cache = newCache(cacheDir, 3600, 0, 0, 0, true);
+			assertEquals(CONTENT, read(cache.getUrlInputStream(url, false)));
+			assertEquals(CONTENT, read(cache.getUrlInputStream(url, false)));
+			DownloadCache memoryCache = newCache(cacheDir, 3600, 1024, 0, 0, true);
+			assertEquals(CONTENT, read(memoryCache.getUrlInputStream(url, false)));
+			assertEquals(1, server.getRequestCount());
+			List<Path> contentFiles = contentFiles();
+			assertEquals(1, contentFiles.size());
+			byte[] stored = Files.readAllBytes(contentFiles.get(0));
+			assertEquals((byte)0x1f, stored[0]);	// GZIP magic number
+			assertEquals((byte)0x8b, stored[1]);
+		}
+	}
+
+	public void testSizeLimit() throws Exception {
+		char[] chars = new char[400];
+		Arrays.fill(chars, 'x');
+		for (String name : new String[] {"a.json", "b.json", "c.json"}) {
+			Files.write(serverDir.resolve(name), new String(chars).getBytes(StandardCharsets.UTF_8));
+		}
+		try (StubHttpServer server = new StubHttpServer(serverDir)) {
+			DownloadCache cache = newCache(cacheDir, 3600, 10000, 0, 1000, false);
+			read(cache.getUrlInputStream(new URL(server.getBaseUrl() + "a.json"), false));
+			Thread.sleep(1100);	// repeated accesses to an entry are recorded at most once a second
+			read(cache.getUrlInputStream(new URL(server.getBaseUrl() + "b.json"), false));
+			Thread.sleep(1100);
+			// served from memory - the access is still recorded
+			read(cache.getUrlInputStream(new URL(server.getBaseUrl() + "a.json"), false));
+			read(cache.getUrlInputStream(new URL(server.getBaseUrl() + "c.json"), false));
+			assertEquals(3, server.getRequestCount());
+			// the least recently accessed entry is evicted
+			read(cache.getUrlInputStream(new URL(server.getBaseUrl() + "c.json"), false));
+			read(cache.getUrlInputStream(new URL(server.getBaseUrl() + "a.json"), false));
+			assertEquals(3, server.getRequestCount());
+			read(cache.getUrlInputStream(new URL(server.getBaseUrl() + "b.json"), false));
+			assertEquals(4, server.getRequestCount());
+		}
+	}
+
+	public void testMemoryCacheEviction() {
+		DownloadMemoryCache memoryCache = new DownloadMemoryCache(10);
+		memoryCache.put("a", new DownloadMemoryCache.Entry(new byte[4], null));
+		memoryCache.put("b", new DownloadMemoryCache.Entry(new byte[4], null));
+		assertNotNull(memoryCache.get("a"));	// a is now most recently used
+		memoryCache.put("c", new DownloadMemoryCache.Entry(new byte[4], null));
+		assertNotNull(memoryCache.get("a"));
+		assertNull(memoryCache.get("b"));
+		assertNotNull(memoryCache.get("c"));
+		assertEquals(8, memoryCache.getTotalBytes());
+		memoryCache.put("d", new DownloadMemoryCache.Entry(new byte[11], null));
+		assertNull(memoryCache.get("d"));
+		assertEquals(2, memoryCache.size());
+		assertFalse(new DownloadMemoryCache(0).isEnabled());
+	}
+}
@@ -0,0 +1,175 @@
+/**
+ * Copyright (c) 2026 agent
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package org.spdx.utility;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * Local HTTP server for unit tests which serves files from a directory
+ *
+ * Each file is served with an ETag derived from its content and supports <code>If-None-Match</code>
+ * requests.  Request counts are recorded per path.
+ *
+ * @author agent
+ *
+ */
+public class StubHttpServer implements AutoCloseable {
+
+	private final HttpServer server;
+	private final Path root;
+	private final AtomicInteger requestCount = new AtomicInteger();
+	private final Map<String, AtomicInteger> pathRequestCounts = new ConcurrentHashMap<>();
+	private final Set<InetSocketAddress> clients = ConcurrentHashMap.newKeySet();
+	private final AtomicInteger activeRequests = new AtomicInteger();
+	private final AtomicInteger maxConcurrentRequests = new AtomicInteger();
+	private volatile long delayMillis = 0;
+	private final AtomicInteger requestsToFail = new AtomicInteger();
+	private final AtomicInteger requestsToDelay = new AtomicInteger();
+	private volatile long nextRequestsDelayMillis = 0;
+
+	/**
+	 * Start a server on an ephemeral local port
+	 * @param root directory containing the files to serve
+	 * @throws IOException on error starting the server
+	 */
+	public StubHttpServer(Path root) throws IOException {
+		this.root = root;
+		server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+		server.setExecutor(Executors.newCachedThreadPool());
+		server.createContext("/", this::handle);
+		server.start();
+	}
+
+	private void handle(HttpExchange exchange) throws IOException {
+		try {
+			String path = exchange.getRequestURI().getPath();
+			requestCount.incrementAndGet();
+			clients.add(exchange.getRemoteAddress());
+			maxConcurrentRequests.accumulateAndGet(activeRequests.incrementAndGet(), Math::max);
+			pathRequestCounts.computeIfAbsent(path, p -> new AtomicInteger()).incrementAndGet();
+			long delay = requestsToDelay.getAndUpdate(n -> Math.max(0, n - 1)) > 0 ? nextRequestsDelayMillis : delayMillis;
+			if (delay > 0) {
+				try {
+					Thread.sleep(delay);
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+			}
+			if (requestsToFail.getAndUpdate(n -> Math.max(0, n - 1)) > 0) {
+				exchange.sendResponseHeaders(503, -1);
+				return;
+			}
+			Path file = root.resolve(path.substring(1)).normalize();
+			if (!file.startsWith(root) || !Files.isRegularFile(file)) {
+				exchange.sendResponseHeaders(404, -1);
+				return;
+			}
+			byte[] content = Files.readAllBytes(file);
+			String eTag = "\"" + Integer.toHexString(java.util.Arrays.hashCode(content)) + "\"";
+			exchange.getResponseHeaders().add("ETag", eTag);
+			if (eTag.equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+				exchange.sendResponseHeaders(304, -1);
+				return;
+			}
+			exchange.sendResponseHeaders(200, content.length);
+			try (OutputStream os = exchange.getResponseBody()) {
+				os.write(content);
+			}
+		} finally {
+			activeRequests.decrementAndGet();
+			exchange.close();
+		}
+	}
+
+	/**
+	 * @return base URL for the server ending in a slash
+	 */
+	public String getBaseUrl() {
+		return "http://127.0.0.1:" + server.getAddress().getPort() + "/";
+	}
+
+	/**
+	 * @return total number of requests received
+	 */
+	public int getRequestCount() {
+		return requestCount.get();
+	}
+
+	/**
+	 * @param path request path including the leading slash
+	 * @return number of requests received for the path
+	 */
+	public int getRequestCount(String path) {
+		AtomicInteger count = pathRequestCounts.get(path);
+		return count == null ? 0 : count.get();
+	}
+
+	/**
+	 * @return number of distinct client connections which made requests
+	 */
+	public int getConnectionCount() {
+		return clients.size();
+	}
+
+	/**
+	 * @return maximum number of requests handled at the same time
+	 */
+	public int getMaxConcurrentRequests() {
+		return maxConcurrentRequests.get();
+	}
+
+	/**
+	 * @param delayMillis delay before responding to each request
+	 */
+	public void setDelayMillis(long delayMillis) {
+		this.delayMillis = delayMillis;
+	}
+
+	/**
+	 * @param count number of following requests to answer with a 503 (service unavailable) response
+	 */
+	public void failNextRequests(int count) {
+		requestsToFail.set(count);
+	}
+
+	/**
+	 * @param count number of following requests to delay
+	 * @param delayMillis delay before responding to each of those requests
+	 */
+	public void delayNextRequests(int count, long delayMillis) {
+		nextRequestsDelayMillis = delayMillis;
+		requestsToDelay.set(count);
+	}
+
+	@Override
+	public void close() {
+		server.stop(0);
+	}
+}
@@ -0,0 +1,89 @@
+/**
+ * Copyright (c) 2026 agent
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package org.spdx.utility.compare;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+
+import org.spdx.library.SpdxModelFactory;
+
+import junit.framework.TestCase;
+
+/**
+ * @author agent
+ *
+ */
+public class LicenseFamilyClassifierTest extends TestCase {
+
+	static final String BSD_2_CLAUSE_TEXT = "TestFiles" + File.separator + "BSD-2-Clause.txt";
+
+	protected void setUp() throws Exception {
+		super.setUp();
+		SpdxModelFactory.init();
+	}
+
+	public void testFamilyKey() {
+		assertEquals("BSD", LicenseFamilyClassifier.familyKey("BSD-3-Clause"));
+		assertEquals("GPL", LicenseFamilyClassifier.familyKey("GPL-2.0-only"));
+		assertEquals("LGPL", LicenseFamilyClassifier.familyKey("LGPL-2.1-or-later"));
+		assertEquals("MIT", LicenseFamilyClassifier.familyKey("MIT"));
+		assertEquals("0BSD", LicenseFamilyClassifier.familyKey("0BSD"));
+	}
+
+	public void testRequiredTokens() {
+		Set<String> tokens = LicenseFamilyClassifier.requiredTokens("Test",
+				"first required words here <<beginOptional>> optional words <<endOptional>> then more required text "
+				+ "<<var;name=\"holder\";original=\"The Holder\";match=\".+\">> and last");
+		assertTrue(tokens.contains("required"));
+		assertTrue(tokens.contains("words"));
+		assertTrue(tokens.contains("more"));
+		assertFalse(tokens.contains("optional"));
+		assertFalse(tokens.contains("holder"));
+		// first and last token of each segment are not required
+		assertFalse(tokens.contains("first"));
+		assertFalse(tokens.contains("here"));
+		assertFalse(tokens.contains("then"));
+		assertFalse(tokens.contains("last"));
+	}
+
+	public void testCandidates() {
+		List<String> ids = Arrays.asList("Test-1", "Test-2", "Other");
+		List<Set<String>> required = Arrays.asList(
+				LicenseFamilyClassifier.requiredTokens("Test-1", "start shared core words plus alpha end"),
+				LicenseFamilyClassifier.requiredTokens("Test-2", "start shared core words plus beta end"),
+				LicenseFamilyClassifier.requiredTokens("Other", "start something else entirely end"));
+		LicenseFamilyClassifier classifier = new LicenseFamilyClassifier(ids, "1.0", required);
+		assertEquals(2, classifier.getNumFamilies());
+		assertEquals(Arrays.asList("Test-1"), classifier.getCandidateLicenseIds("Shared core words plus alpha"));
+		assertEquals(Arrays.asList("Test-1", "Test-2"), classifier.getCandidateLicenseIds("shared core words plus alpha and beta"));
+		assertTrue(classifier.getCandidateLicenseIds("core words alpha").isEmpty());
+		assertEquals(Arrays.asList("Other"), classifier.getCandidateLicenseIds("something else entirely"));
+	}
+
+	public void testListedLicenseCandidates() throws Exception {
+		LicenseFamilyClassifier classifier = LicenseFamilyClassifier.getListedLicenseClassifier();
+		assertSame(classifier, LicenseFamilyClassifier.getListedLicenseClassifier());
+		List<String> candidates = classifier.getCandidateLicenseIds(UnitTestHelper.fileToText(BSD_2_CLAUSE_TEXT));
+		assertTrue(candidates.contains("BSD-2-Clause"));
+		assertTrue(candidates.size() < 5);
+		assertEquals(Arrays.asList("BSD-2-Clause"),
+				Arrays.asList(LicenseCompareHelper.matchingStandardLicenseIds(UnitTestHelper.fileToText(BSD_2_CLAUSE_TEXT))));
+	}
+}